@@ -27,11 +27,14 @@ dependencies {
     implementation("org.bstats:bstats-bukkit:2.2.1")
     implementation("com.github.j256:ormlite-core:master-SNAPSHOT")
     implementation("com.j256.ormlite:ormlite-jdbc:5.6")
+    implementation("com.h2database:h2:1.4.200")
     implementation("de.jeff_media:SpigotUpdateChecker:1.2.4")
 
     // Other dependencies that are not required or already available at runtime
     compileOnly("org.projectlombok:lombok:1.18.20")
     compileOnly("org.spigotmc:spigot-api:1.17-R0.1-SNAPSHOT")
+    // The SQLite driver is bundled with Spigot, the WAL and busy timeout options need at least 3.7
+    compileOnly("org.xerial:sqlite-jdbc:3.36.0.3")
     compileOnly("me.clip:placeholderapi:2.9.2")
     compileOnly("be.maximvdw:MVdWPlaceholderAPI:2.1.1-SNAPSHOT") {
         exclude("org.spigotmc")
@@ -52,6 +55,10 @@ dependencies {
 
     // Enable lombok annotation processing
     annotationProcessor("org.projectlombok:lombok:1.18.20")
+
+    // Unit tests of the data structures, which don't need a server
+    testImplementation("org.junit.jupiter:junit-jupiter:5.8.2")
+    testImplementation("org.spigotmc:spigot-api:1.17-R0.1-SNAPSHOT")
 }
 
 tasks {
@@ -69,11 +76,14 @@ tasks {
 
         // Relocate dependencies
         relocate("com.j256.ormlite")
+        relocate("org.h2")
         relocate("org.bstats")
         relocate("de.jeff_media")
 
-        // Remove unnecessary files from the jar
-        minimize()
+        // Remove unnecessary files from the jar, the H2 driver is only loaded by name
+        minimize {
+            exclude(dependency("com.h2database:h2:.*"))
+        }
     }
 
     // Set UTF-8 as the encoding
@@ -81,6 +91,10 @@ tasks {
         options.encoding = "UTF-8"
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
     // Process Placeholders for the plugin.yml
     processResources {
         filesMatching("**/plugin.yml") {
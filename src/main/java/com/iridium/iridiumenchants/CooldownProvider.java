@@ -1,22 +1,28 @@
 package com.iridium.iridiumenchants;
 
-import org.apache.commons.lang.NotImplementedException;
+import com.iridium.iridiumenchants.utils.CooldownTable;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Entity;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
 
 /**
  * Provides various cooldown features.
+ * Cooldowns are keyed by the uuid of the entity, every entity without one (e.g. the console) shares a single cooldown.
  *
  * @param <T> The type that can have this cooldown
  */
 public class CooldownProvider<T> {
 
-    private final Map<T, Duration> cooldownTimes = new HashMap<>();
-    private final String name; // Required for database support
+    // The key of entities without a uuid, e.g. the console
+    private static final UUID NIL = new UUID(0, 0);
+
+    private final CooldownTable cooldownTimes = new CooldownTable();
+    private final String name;
     private final Duration duration;
-    private final boolean persistent; // Required for database support
+    private final long durationMillis;
+    private final boolean persistent;
 
     /**
      * The default constructor.
@@ -26,8 +32,9 @@ public class CooldownProvider<T> {
      * @param persistent    True if the cooldowns of this provider should be saved to the database
      */
     private CooldownProvider(String name, Duration duration, boolean persistent) {
-        this.name = null;
+        this.name = name;
         this.duration = duration;
+        this.durationMillis = duration.toMillis();
         this.persistent = persistent;
     }
 
@@ -38,7 +45,7 @@ public class CooldownProvider<T> {
      * @return  True if the entity has a valid cooldown
      */
     public boolean isOnCooldown(T t) {
-        return cooldownTimes.containsKey(t) && cooldownTimes.get(t).toMillis() > System.currentTimeMillis();
+        return getRemainingMillis(t) > 0;
     }
 
     /**
@@ -49,9 +56,28 @@ public class CooldownProvider<T> {
      * @return  The duration of the cooldown, can be ZERO
      */
     public Duration getRemainingTime(T t) {
-        if (!isOnCooldown(t)) return Duration.ZERO;
+        long remaining = getRemainingMillis(t);
+        return remaining > 0 ? Duration.ofMillis(remaining) : Duration.ZERO;
+    }
 
-        return cooldownTimes.get(t).minusMillis(System.currentTimeMillis());
+    /**
+     * Returns the remaining time of the cooldown for the provided entity without allocating.
+     *
+     * @param t The entity which should be checked
+     * @return  The remaining time in milliseconds, 0 if there is no cooldown
+     */
+    public long getRemainingMillis(T t) {
+        if (durationMillis <= 0) return 0;
+        UUID uuid = getKey(t);
+        long now = CooldownTable.currentTime();
+        long remaining = cooldownTimes.getRemaining(uuid, now);
+        if (remaining > 0 || !persistent || !(t instanceof OfflinePlayer)) return remaining;
+        // Cooldowns from previous sessions are only stored in the user, copy them into the table on first access
+        long expiry = IridiumEnchants.getInstance().getUserManager().getUser((OfflinePlayer) t).getCooldown(name);
+        remaining = expiry - System.currentTimeMillis();
+        if (remaining <= 0) return 0;
+        cooldownTimes.put(uuid, now + remaining, now);
+        return remaining;
     }
 
     /**
@@ -61,7 +87,28 @@ public class CooldownProvider<T> {
      * @param t The entity which should be checked
      */
     public void applyCooldown(T t) {
-        cooldownTimes.put(t, duration.plusMillis(System.currentTimeMillis()));
+        if (durationMillis <= 0) return;
+        long now = CooldownTable.currentTime();
+        cooldownTimes.put(getKey(t), now + durationMillis, now);
+        if (persistent && t instanceof OfflinePlayer) {
+            IridiumEnchants.getInstance().getUserManager().getUser((OfflinePlayer) t).setCooldown(name, System.currentTimeMillis() + durationMillis);
+        }
+    }
+
+    /**
+     * Gets the duration which cooldowns from this provider have.
+     *
+     * @return The duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    private static UUID getKey(Object t) {
+        if (t instanceof UUID) return (UUID) t;
+        if (t instanceof OfflinePlayer) return ((OfflinePlayer) t).getUniqueId();
+        if (t instanceof Entity) return ((Entity) t).getUniqueId();
+        return NIL;
     }
 
     /**
@@ -79,6 +126,7 @@ public class CooldownProvider<T> {
     /**
      * Creates a new CooldownProvider and returns it.
      * It will have the specified cooldown duration.
+     * Cooldowns of players are saved to the database, other entities are only kept in memory.
      *
      * @param name     The name of this CooldownProvider in the database
      * @param duration The duration of the new cooldown
@@ -86,8 +134,7 @@ public class CooldownProvider<T> {
      * @return         The new CooldownProvider
      */
     public static <T> CooldownProvider<T> newPersistentInstance(String name, Duration duration) {
-        throw new NotImplementedException();
-        // return new CooldownManager<>(name, duration, true);
+        return new CooldownProvider<>(name, duration, true);
     }
 
 }
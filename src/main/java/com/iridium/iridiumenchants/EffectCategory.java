@@ -0,0 +1,11 @@
+package com.iridium.iridiumenchants;
+
+/**
+ * The kinds of world changes effects make, which are rate limited per chunk and per world.
+ */
+public enum EffectCategory {
+    EXPLOSION,
+    LIGHTNING,
+    BLOCK_MUTATION,
+    ENTITY_SPAWN
+}
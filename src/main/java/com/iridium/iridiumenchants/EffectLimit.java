@@ -0,0 +1,14 @@
+package com.iridium.iridiumenchants;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+public class EffectLimit {
+    // Tokens refilled per second and the maximum amount of tokens, per chunk and per world. A rate of 0 disables the limit
+    public double chunkRate;
+    public double chunkBurst;
+    public double worldRate;
+    public double worldBurst;
+}
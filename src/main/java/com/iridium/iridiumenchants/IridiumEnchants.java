@@ -2,26 +2,44 @@ package com.iridium.iridiumenchants;
 
 import com.iridium.iridiumcore.IridiumCore;
 import com.iridium.iridiumcore.dependencies.paperlib.PaperLib;
-import com.iridium.iridiumcore.gui.GUI;
 import com.iridium.iridiumenchants.commands.customenchants.CommandManager;
 import com.iridium.iridiumenchants.commands.gkits.GkitsCommandManager;
 import com.iridium.iridiumenchants.conditions.*;
 import com.iridium.iridiumenchants.configs.*;
 import com.iridium.iridiumenchants.effects.*;
 import com.iridium.iridiumenchants.listeners.*;
+import com.iridium.iridiumenchants.managers.AttributionManager;
 import com.iridium.iridiumenchants.managers.CustomEnchantManager;
+import com.iridium.iridiumenchants.managers.DatabaseManager;
+import com.iridium.iridiumenchants.managers.DispatchTracker;
+import com.iridium.iridiumenchants.managers.EffectLimiter;
+import com.iridium.iridiumenchants.managers.GUIManager;
 import com.iridium.iridiumenchants.managers.GkitsManager;
+import com.iridium.iridiumenchants.managers.ItemTemplateManager;
+import com.iridium.iridiumenchants.managers.LoadGovernor;
+import com.iridium.iridiumenchants.managers.MetricsManager;
+import com.iridium.iridiumenchants.managers.ProcLimiter;
+import com.iridium.iridiumenchants.managers.ProfilingManager;
+import com.iridium.iridiumenchants.managers.RegistryManager;
+import com.iridium.iridiumenchants.managers.ScheduledEffectManager;
+import com.iridium.iridiumenchants.managers.TemporaryBlockManager;
+import com.iridium.iridiumenchants.managers.TriggerManager;
 import com.iridium.iridiumenchants.managers.UserManager;
+import com.iridium.iridiumenchants.managers.WatchdogManager;
+import com.iridium.iridiumenchants.profiling.Probes;
+import com.iridium.iridiumenchants.registry.EnchantRegistry;
 import com.iridium.iridiumenchants.support.*;
+import com.iridium.iridiumenchants.utils.PhaseTimer;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.block.BlockState;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.InventoryHolder;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,14 +52,24 @@ public class IridiumEnchants extends IridiumCore {
     private GkitsCommandManager gkitsCommandManager;
     private CustomEnchantManager customEnchantManager;
     private UserManager userManager;
+    private DatabaseManager databaseManager;
     private GkitsManager gkitsManager;
+    private TriggerManager triggerManager;
+    private DispatchTracker dispatchTracker;
+    private GUIManager guiManager;
+    private ProfilingManager profilingManager;
+    private AttributionManager attributionManager;
+    private LoadGovernor loadGovernor;
+    private EffectLimiter effectLimiter;
+    private final ProcLimiter procLimiter = new ProcLimiter();
+    private final MetricsManager metricsManager = new MetricsManager();
+    private final WatchdogManager watchdogManager = new WatchdogManager();
+    private final RegistryManager registryManager = new RegistryManager();
+    private final ItemTemplateManager itemTemplateManager = new ItemTemplateManager();
+    private final TemporaryBlockManager temporaryBlockManager = new TemporaryBlockManager();
+    private final ScheduledEffectManager scheduledEffectManager = new ScheduledEffectManager();
 
-    private Configuration configuration;
-    private Messages messages;
-    private Commands commands;
-    private CustomEnchants customEnchants;
-    private Inventories inventories;
-    private GKits gKits;
+    private volatile EnchantRegistry registry;
 
     private Map<String, Effect> effects;
     private Map<String, Condition> conditions;
@@ -49,39 +77,73 @@ public class IridiumEnchants extends IridiumCore {
     private List<BuildSupport> buildSupport;
     private List<FriendlySupport> friendlySupport;
 
+    @Override
+    public void onLoad() {
+        instance = this;
+        // Effects and conditions have to be known before the configs are compiled
+        registerEffects();
+        registerConditions();
+        super.onLoad();
+    }
+
     @Override
     public void onEnable() {
         instance = this;
+        PhaseTimer phaseTimer = new PhaseTimer("Enabling");
         this.commandManager = new CommandManager("iridiumenchants");
         this.gkitsCommandManager = new GkitsCommandManager("gkits");
         this.customEnchantManager = new CustomEnchantManager();
+        this.databaseManager = new DatabaseManager();
         this.userManager = new UserManager();
         this.gkitsManager = new GkitsManager();
+        this.triggerManager = new TriggerManager();
+        this.dispatchTracker = new DispatchTracker();
+        this.guiManager = new GUIManager();
+        this.profilingManager = new ProfilingManager();
+        this.attributionManager = new AttributionManager();
+        this.loadGovernor = new LoadGovernor();
+        this.effectLimiter = new EffectLimiter();
+        SQL sql = databaseManager.connect();
+        phaseTimer.phase("managers");
 
         if (!PaperLib.isSpigot()) {
             getLogger().warning("CraftBukkit isn't supported, please use spigot or one of its forks");
             Bukkit.getPluginManager().disablePlugin(this);
         } else {
             Bukkit.getScheduler().runTaskTimerAsynchronously(this, this::saveData, 0L, 6000L);
+            long flushInterval = Math.max(sql.flushInterval, 1) * 20L;
+            Bukkit.getScheduler().runTaskTimer(this, userManager::flush, flushInterval, flushInterval);
+            int statsDumpInterval = getConfiguration().statsDumpInterval;
+            if (statsDumpInterval > 0) {
+                Bukkit.getScheduler().runTaskTimerAsynchronously(this, metricsManager::dump, statsDumpInterval * 1200L, statsDumpInterval * 1200L);
+            }
+            long attributionWindow = Math.max(getConfiguration().attributionWindow, 1) * 20L;
+            Bukkit.getScheduler().runTaskTimer(this, attributionManager::rotate, attributionWindow, attributionWindow);
+            watchdogManager.start();
+            long quarantineWindow = Math.max(getConfiguration().quarantineWindow, 1) * 20L;
+            Bukkit.getScheduler().runTaskTimer(this, watchdogManager::checkBudgets, quarantineWindow, quarantineWindow);
+            if (databaseManager.isShared()) {
+                long pollInterval = Math.max(sql.pollInterval, 1) * 20L;
+                Bukkit.getScheduler().runTaskTimer(this, userManager::poll, pollInterval, pollInterval);
+            }
+            Bukkit.getScheduler().runTaskTimer(this, temporaryBlockManager::tick, 0L, 1L);
+            Bukkit.getScheduler().runTaskTimer(this, scheduledEffectManager::tick, 0L, 1L);
+            Bukkit.getScheduler().runTaskTimer(this, triggerManager::tick, 0L, 1L);
+            Bukkit.getScheduler().runTaskTimer(this, loadGovernor::tick, 0L, 1L);
+            Bukkit.getScheduler().runTaskTimer(this, effectLimiter::tick, 0L, 1L);
+            registryManager.updateEnchantsDirectoryWatcher();
             this.registerListeners();
-            Bukkit.getScheduler().scheduleSyncRepeatingTask(this, () -> {
-                Bukkit.getServer().getOnlinePlayers().forEach((player) -> {
-                    InventoryHolder inventoryHolder = player.getOpenInventory().getTopInventory().getHolder();
-                    if (inventoryHolder instanceof GUI) {
-                        ((GUI) inventoryHolder).addContent(player.getOpenInventory().getTopInventory());
-                    }
-
-                });
-            }, 0L, 1L);
+            phaseTimer.phase("listeners");
         }
 
         for (Player player : Bukkit.getOnlinePlayers()) {
             userManager.getUser(player);
         }
+        phaseTimer.phase("users");
 
-        registerEffects();
-        registerConditions();
         registerSupport();
+        phaseTimer.phase("support");
+        getLogger().info(phaseTimer.getSummary());
 
         getLogger().info("----------------------------------------");
         getLogger().info("");
@@ -94,12 +156,23 @@ public class IridiumEnchants extends IridiumCore {
     @Override
     public void onDisable() {
         super.onDisable();
-        for (BlockState blockState : ReplaceNear.blockStates.keySet()) {
-            blockState.update(true, false);
-        }
-        for (BlockState blockState : Coat.blockStates.keySet()) {
-            blockState.update(true, false);
+        registryManager.stopEnchantsDirectoryWatcher();
+        if (profilingManager != null) profilingManager.stop();
+        watchdogManager.stop();
+        if (databaseManager != null) {
+            // The database is closed right after, so the cooldowns have to be written before that
+            try {
+                userManager.flushAll().get(10, TimeUnit.SECONDS);
+            } catch (TimeoutException exception) {
+                getLogger().warning("Timed out while saving the cooldowns, some of them may be lost");
+            } catch (ExecutionException exception) {
+                getLogger().log(java.util.logging.Level.WARNING, "Failed to save the cooldowns", exception.getCause());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            databaseManager.close();
         }
+        temporaryBlockManager.restoreAll();
     }
 
     @Override
@@ -107,34 +180,78 @@ public class IridiumEnchants extends IridiumCore {
         Bukkit.getPluginManager().registerEvents(new PlayerInteractListener(), this);
         Bukkit.getPluginManager().registerEvents(new InventoryClickListener(), this);
         Bukkit.getPluginManager().registerEvents(new PlayerJoinLeaveListener(), this);
-        Bukkit.getPluginManager().registerEvents(new EntityDamageListener(), this);
-        Bukkit.getPluginManager().registerEvents(new BlockBreakListener(), this);
-        Bukkit.getPluginManager().registerEvents(new EntityDeathListener(), this);
-        Bukkit.getPluginManager().registerEvents(new EntityShootBowListener(), this);
+        Bukkit.getPluginManager().registerEvents(new InventoryOpenCloseListener(), this);
+        Bukkit.getPluginManager().registerEvents(new TemporaryBlockListener(), this);
         Bukkit.getPluginManager().registerEvents(new CraftItemListener(), this);
         Bukkit.getPluginManager().registerEvents(new PrepareAnvilListener(), this);
         Bukkit.getPluginManager().registerEvents(new PlayerCommandListener(), this);
         Bukkit.getPluginManager().registerEvents(new EnchantItemListener(), this);
+        Bukkit.getPluginManager().registerEvents(new WorldUnloadListener(), this);
+        Bukkit.getPluginManager().registerEvents(new ScheduledEffectListener(), this);
+        Bukkit.getPluginManager().registerEvents(new EquipmentChangeListener(), this);
+
+        triggerManager.addListener(new EntityDamageListener(), TriggerType.PLAYER_DAMAGE, TriggerType.DEFENCE, TriggerType.PLAYER_DAMAGE_PROJECTILE);
+        triggerManager.addListener(new BlockBreakListener(), TriggerType.BLOCK_BREAK);
+        triggerManager.addListener(new EntityDeathListener(), TriggerType.PLAYER_KILL, TriggerType.ENTITY_KILL, TriggerType.PLAYER_DEATH);
+        triggerManager.addListener(new EntityShootBowListener(), TriggerType.BOW_FIRE);
+        triggerManager.update(registry);
     }
 
     @Override
     public void loadConfigs() {
-        this.configuration = getPersist().load(Configuration.class);
-        this.messages = getPersist().load(Messages.class);
-        this.commands = getPersist().load(Commands.class);
-        this.customEnchants = getPersist().load(CustomEnchants.class);
-        this.inventories = getPersist().load(Inventories.class);
-        this.gKits = getPersist().load(GKits.class);
+        RegistryManager.LoadResult loadResult = registryManager.load();
+        loadResult.getErrors().forEach(error -> getLogger().warning(error));
+        publishRegistry(loadResult.getRegistry());
     }
 
     @Override
     public void saveConfigs() {
-        getPersist().save(configuration);
-        getPersist().save(messages);
-        getPersist().save(commands);
-        getPersist().save(customEnchants);
-        getPersist().save(inventories);
-        getPersist().save(gKits);
+        getPersist().save(registry.getConfiguration());
+        getPersist().save(registry.getMessages());
+        getPersist().save(registry.getCommands());
+        if (!registry.getConfiguration().enchantsDirectory) {
+            getPersist().save(registry.getCustomEnchants());
+        }
+        getPersist().save(registry.getInventories());
+        getPersist().save(registry.getGKits());
+    }
+
+    /**
+     * Replaces every configuration at once with the ones from the specified registry.
+     *
+     * @param registry The new registry
+     */
+    public void publishRegistry(EnchantRegistry registry) {
+        this.registry = registry;
+        if (triggerManager != null) triggerManager.update(registry);
+        if (gkitsManager != null) gkitsManager.compile(registry);
+        procLimiter.update(registry);
+        metricsManager.update(registry);
+        watchdogManager.update(registry);
+    }
+
+    public Configuration getConfiguration() {
+        return registry.getConfiguration();
+    }
+
+    public Messages getMessages() {
+        return registry.getMessages();
+    }
+
+    public Commands getCommands() {
+        return registry.getCommands();
+    }
+
+    public CustomEnchants getCustomEnchants() {
+        return registry.getCustomEnchants();
+    }
+
+    public Inventories getInventories() {
+        return registry.getInventories();
+    }
+
+    public GKits getGKits() {
+        return registry.getGKits();
     }
 
     @Override
@@ -165,14 +282,20 @@ public class IridiumEnchants extends IridiumCore {
 
     public boolean isFriendly(LivingEntity livingEntity, LivingEntity livingEntity2) {
         for (FriendlySupport friendlySupport : friendlySupport) {
-            if (friendlySupport.isFriendly(livingEntity, livingEntity2)) return true;
+            Probes.SupportCall supportCallProbe = ProfilingManager.beginSupportCall();
+            boolean friendly = friendlySupport.isFriendly(livingEntity, livingEntity2);
+            supportCallProbe.finish(friendlySupport, "isFriendly", friendly);
+            if (friendly) return true;
         }
         return false;
     }
 
     public boolean canBuild(Player player, Location location) {
         for (BuildSupport buildSupport : buildSupport) {
-            if (!buildSupport.canBuild(player, location)) return false;
+            Probes.SupportCall supportCallProbe = ProfilingManager.beginSupportCall();
+            boolean canBuild = buildSupport.canBuild(player, location);
+            supportCallProbe.finish(buildSupport, "canBuild", canBuild);
+            if (!canBuild) return false;
         }
         return true;
     }
@@ -195,6 +318,8 @@ public class IridiumEnchants extends IridiumCore {
         effects.put("REPLACE_NEAR", new ReplaceNear());
         effects.put("COAT", new Coat());
         effects.put("TELEPATHY", new Telepathy());
+        effects.put("DELAY", new Delay());
+        effects.put("REPEAT", new Repeat());
     }
 
     public void registerConditions() {
@@ -1,12 +1,14 @@
 package com.iridium.iridiumenchants;
 
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Getter
+@EqualsAndHashCode
 @NoArgsConstructor
 @AllArgsConstructor
 public class Level {
@@ -14,4 +16,14 @@ public class Level {
     public List<String> tiers;
     public List<String> effects;
     public List<String> conditions;
+    // The minimum time between two procs in seconds, 0 for none
+    public double cooldown;
+    // The maximum amount of procs per second, 0 for no limit
+    public int maxProcsPerSecond;
+    // If COAT and REPLACE_NEAR only send their blocks to nearby players instead of changing the world
+    public boolean ghostBlocks;
+
+    public Level(double chance, List<String> tiers, List<String> effects, List<String> conditions) {
+        this(chance, tiers, effects, conditions, 0, 0, false);
+    }
 }
@@ -0,0 +1,16 @@
+package com.iridium.iridiumenchants;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoadLevel {
+    // This level is entered once the mspt reaches enterMspt, and left again once it drops below exitMspt
+    public double enterMspt;
+    public double exitMspt;
+    public int passivePeriodMultiplier = 1;
+    public double radiusScale = 1;
+    public boolean deferNonCombat;
+    public boolean suppressCosmetic;
+}
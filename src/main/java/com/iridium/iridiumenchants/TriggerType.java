@@ -0,0 +1,39 @@
+package com.iridium.iridiumenchants;
+
+import java.util.Optional;
+
+/**
+ * Every trigger an enchant can be configured with.
+ * The configured trigger may carry arguments separated by a colon, e.g. PASSIVE:20
+ */
+public enum TriggerType implements Trigger {
+    PASSIVE,
+    BLOCK_BREAK,
+    PLAYER_DAMAGE,
+    PLAYER_DAMAGE_PROJECTILE,
+    DEFENCE,
+    BOW_FIRE,
+    PLAYER_KILL,
+    ENTITY_KILL,
+    PLAYER_DEATH;
+
+    @Override
+    public boolean isTrigger(String trigger) {
+        return name().equalsIgnoreCase(trigger);
+    }
+
+    /**
+     * Gets the TriggerType of a configured trigger, ignoring any arguments.
+     *
+     * @param trigger The configured trigger
+     * @return The TriggerType, or empty if the trigger is unknown
+     */
+    public static Optional<TriggerType> fromTrigger(String trigger) {
+        if (trigger == null) return Optional.empty();
+        String name = trigger.split(":")[0].toUpperCase();
+        for (TriggerType triggerType : values()) {
+            if (triggerType.name().equals(name)) return Optional.of(triggerType);
+        }
+        return Optional.empty();
+    }
+}
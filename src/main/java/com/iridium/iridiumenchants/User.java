@@ -1,63 +1,103 @@
 package com.iridium.iridiumenchants;
 
+import com.iridium.iridiumenchants.database.CooldownRecord;
 import lombok.Getter;
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 public class User {
+    @Getter
     private final UUID uuid;
-    private final HashMap<String, LocalDateTime> gkitsCooldown;
+    // The end of every cooldown in epoch milliseconds, gkits are prefixed with gkit:
+    private final Map<String, Long> cooldowns;
+    // The cooldowns which changed since the last save
+    private final Set<String> dirtyCooldowns = new HashSet<>();
     @Getter
-    private final BukkitTask bukkitTask;
-    // the cycle number the passive task is on
-    private int tickCycle = 0;
+    private final long loadTime = System.currentTimeMillis();
 
     public User(UUID uuid) {
+        this(uuid, new HashMap<>());
+    }
+
+    public User(UUID uuid, Map<String, Long> cooldowns) {
         this.uuid = uuid;
-        this.gkitsCooldown = new HashMap<>();
-        bukkitTask = Bukkit.getScheduler().runTaskTimer(IridiumEnchants.getInstance(), this::passive, 0, 0);
+        this.cooldowns = cooldowns;
     }
 
     public void applyCooldown(String gkit, int seconds) {
-        gkitsCooldown.put(gkit, LocalDateTime.now().plusSeconds(seconds));
-    }
-
-    public LocalDateTime getCooldown(String gkit) {
-        return gkitsCooldown.getOrDefault(gkit, LocalDateTime.now());
-    }
-
-    private void passive() {
-        Player player = Bukkit.getPlayer(uuid);
-        if (player != null) {
-            List<ItemStack> itemStackList = Arrays.asList(
-                    player.getItemInHand(),
-                    player.getInventory().getBoots(),
-                    player.getInventory().getLeggings(),
-                    player.getInventory().getChestplate(),
-                    player.getInventory().getHelmet()
-            );
-            for (ItemStack itemStack : itemStackList) {
-                IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> {
-                    String[] args = trigger.toUpperCase().split(":");
-                    if (!args[0].equals("PASSIVE")) return false;
-                    int cycleTime;
-                    try {
-                        cycleTime = args.length > 1 ? Integer.parseInt(args[1]) : 1;
-                    } catch (NumberFormatException exception) {
-                        cycleTime = 1;
-                    }
-                    return tickCycle % cycleTime == 0;
-                }, player, player, null);
-            }
+        setCooldown("gkit:" + gkit, System.currentTimeMillis() + seconds * 1000L);
+    }
+
+    /**
+     * Gets the remaining cooldown of a gkit.
+     *
+     * @param gkit The gkit
+     * @param now  The current time in epoch milliseconds
+     * @return The remaining cooldown in milliseconds, 0 or less if there is none
+     */
+    public long getRemainingCooldown(String gkit, long now) {
+        return getCooldown("gkit:" + gkit) - now;
+    }
+
+    /**
+     * Gets the end of a cooldown.
+     *
+     * @param name The name of the cooldown
+     * @return The end of the cooldown in epoch milliseconds, 0 if there is none
+     */
+    public long getCooldown(String name) {
+        return cooldowns.getOrDefault(name, 0L);
+    }
+
+    /**
+     * Sets the end of a cooldown and marks it to be saved.
+     *
+     * @param name   The name of the cooldown
+     * @param expiry The end of the cooldown in epoch milliseconds
+     */
+    public void setCooldown(String name, long expiry) {
+        cooldowns.put(name, expiry);
+        dirtyCooldowns.add(name);
+    }
+
+    /**
+     * Returns if this user changed since the last save.
+     *
+     * @return True if this user has to be saved
+     */
+    public boolean isDirty() {
+        return !dirtyCooldowns.isEmpty();
+    }
+
+    /**
+     * Gets every cooldown which changed since the last save and marks them as saved.
+     *
+     * @return The changed cooldowns
+     */
+    public List<CooldownRecord> takeDirtyCooldowns() {
+        List<CooldownRecord> cooldownRecords = new ArrayList<>(dirtyCooldowns.size());
+        for (String name : dirtyCooldowns) {
+            cooldownRecords.add(new CooldownRecord(uuid, name, getCooldown(name)));
         }
-        tickCycle++;
+        dirtyCooldowns.clear();
+        return cooldownRecords;
+    }
+
+    /**
+     * Marks a cooldown to be saved again, e.g. after saving it failed.
+     *
+     * @param name The name of the cooldown
+     */
+    public void markDirty(String name) {
+        dirtyCooldowns.add(name);
+    }
+
+    /**
+     * Adds cooldowns which were loaded after this user was created, keeping whichever ends later.
+     *
+     * @param loaded The loaded cooldowns
+     */
+    public void mergeCooldowns(Map<String, Long> loaded) {
+        loaded.forEach((name, expiry) -> cooldowns.merge(name, expiry, Math::max));
     }
 }
@@ -65,7 +65,9 @@ public abstract class Command {
 
     public CooldownProvider<CommandSender> getCooldownProvider() {
         if (cooldownProvider == null) {
-            this.cooldownProvider = CooldownProvider.newInstance(Duration.ofSeconds(cooldownInSeconds));
+            this.cooldownProvider = cooldownInSeconds > 0
+                    ? CooldownProvider.newPersistentInstance("command:" + aliases.get(0), Duration.ofSeconds(cooldownInSeconds))
+                    : CooldownProvider.newInstance(Duration.ofSeconds(cooldownInSeconds));
         }
 
         return cooldownProvider;
@@ -68,6 +68,8 @@ public class GiveCommand extends Command {
         for (ItemStack itemStack : itemStacks) {
             player.getWorld().dropItem(player.getLocation(), itemStack);
         }
+        // The crystal may have landed in the hand of the player without an equipment event
+        IridiumEnchants.getInstance().getTriggerManager().markEquipmentChanged();
         if (sender instanceof Player) {
             sender.sendMessage(StringUtils.color(IridiumEnchants.getInstance().getMessages().gavePlayerEnchantment
                     .replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)
@@ -97,9 +99,7 @@ public class GiveCommand extends Command {
                     .collect(Collectors.toList());
         }
         if (args.length == 3) {
-            return IridiumEnchants.getInstance().getCustomEnchants().customEnchants.keySet().stream()
-                    .filter(s -> s.toLowerCase().contains(args[2].toLowerCase()))
-                    .collect(Collectors.toList());
+            return IridiumEnchants.getInstance().getRegistry().getSearchIndex().complete(args[2], 50);
         }
         if (args.length == 4) {
             Optional<Map.Entry<String, CustomEnchant>> customEnchant = IridiumEnchants.getInstance().getCustomEnchants().customEnchants.entrySet().stream()
@@ -0,0 +1,90 @@
+package com.iridium.iridiumenchants.commands.customenchants;
+
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.commands.Command;
+import com.iridium.iridiumenchants.managers.ProfilingManager;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * Command which starts and stops a Java Flight Recorder recording with the events of this plugin.
+ */
+public class ProfileCommand extends Command {
+
+    /**
+     * The default constructor.
+     */
+    public ProfileCommand() {
+        super(Collections.singletonList("profile"), "Record a flight recording of the enchants", "%prefix% &7/ce profile <start|stop>", "iridiumenchants.profile", false, Duration.ZERO);
+    }
+
+    /**
+     * Executes the command for the specified {@link CommandSender} with the provided arguments.
+     * Not called when the command execution was invalid (no permission, no player or command disabled).
+     * The recording is written on a worker thread when it is stopped.
+     *
+     * @param sender The CommandSender which executes this command
+     * @param args   The arguments used with this command. They contain the sub-command
+     */
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        String prefix = plugin.getConfiguration().prefix;
+        if (!ProfilingManager.isAvailable()) {
+            sender.sendMessage(StringUtils.color(plugin.getMessages().profileUnavailable.replace("%prefix%", prefix)));
+            return false;
+        }
+        if (args.length == 2 && args[1].equalsIgnoreCase("start")) {
+            try {
+                String message = plugin.getProfilingManager().start() ? plugin.getMessages().profileStarted : plugin.getMessages().profileAlreadyRunning;
+                sender.sendMessage(StringUtils.color(message.replace("%prefix%", prefix)));
+                return true;
+            } catch (IOException | ParseException exception) {
+                plugin.getLogger().log(Level.WARNING, "Failed to start profiling", exception);
+                sender.sendMessage(StringUtils.color(plugin.getMessages().profileFailed.replace("%prefix%", prefix)));
+                return false;
+            }
+        }
+        if (args.length == 2 && args[1].equalsIgnoreCase("stop")) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                File file = plugin.getProfilingManager().stop();
+                String message = file == null ? plugin.getMessages().profileNotRunning : plugin.getMessages().profileStopped.replace("%file%", file.getName());
+                Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(StringUtils.color(message.replace("%prefix%", prefix))));
+            });
+            return true;
+        }
+        sender.sendMessage(StringUtils.color(syntax.replace("%prefix%", prefix)));
+        return false;
+    }
+
+    /**
+     * Handles tab-completion for this command.
+     *
+     * @param commandSender The CommandSender which tries to tab-complete
+     * @param command       The command
+     * @param label         The label of the command
+     * @param args          The arguments already provided by the sender
+     * @return The list of tab completions for this command
+     */
+    @Override
+    public List<String> onTabComplete(CommandSender commandSender, org.bukkit.command.Command command, String label, String[] args) {
+        if (args.length == 2) {
+            return Arrays.asList("start", "stop").stream()
+                    .filter(option -> option.startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+
+}
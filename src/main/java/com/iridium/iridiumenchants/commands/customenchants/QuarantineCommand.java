@@ -0,0 +1,86 @@
+package com.iridium.iridiumenchants.commands.customenchants;
+
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.commands.Command;
+import org.bukkit.command.CommandSender;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Command which lists the quarantined enchants and releases them from the quarantine.
+ */
+public class QuarantineCommand extends Command {
+
+    /**
+     * The default constructor.
+     */
+    public QuarantineCommand() {
+        super(Collections.singletonList("quarantine"), "List or release quarantined enchants", "%prefix% &7/ce quarantine [release <enchant>]", "iridiumenchants.quarantine", false, Duration.ZERO);
+    }
+
+    /**
+     * Executes the command for the specified {@link CommandSender} with the provided arguments.
+     * Not called when the command execution was invalid (no permission, no player or command disabled).
+     * Lists the quarantined enchants, or releases one of them.
+     *
+     * @param sender The CommandSender which executes this command
+     * @param args   The arguments used with this command. They contain the sub-command
+     */
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        String prefix = plugin.getConfiguration().prefix;
+        if (args.length < 2) {
+            List<String> quarantined = plugin.getWatchdogManager().getQuarantined();
+            String message = quarantined.isEmpty() ? plugin.getMessages().noQuarantinedEnchants : plugin.getMessages().quarantineList.replace("%enchants%", String.join(", ", quarantined));
+            sender.sendMessage(StringUtils.color(message.replace("%prefix%", prefix)));
+            return true;
+        }
+        if (args.length != 3 || !args[1].equalsIgnoreCase("release")) {
+            sender.sendMessage(StringUtils.color(syntax.replace("%prefix%", prefix)));
+            return false;
+        }
+        if (!plugin.getWatchdogManager().release(args[2])) {
+            sender.sendMessage(StringUtils.color(plugin.getMessages().notQuarantined
+                    .replace("%prefix%", prefix)
+                    .replace("%enchant%", args[2])
+            ));
+            return false;
+        }
+        sender.sendMessage(StringUtils.color(plugin.getMessages().quarantineReleased
+                .replace("%prefix%", prefix)
+                .replace("%enchant%", args[2])
+        ));
+        return true;
+    }
+
+    /**
+     * Handles tab-completion for this command.
+     *
+     * @param commandSender The CommandSender which tries to tab-complete
+     * @param command       The command
+     * @param label         The label of the command
+     * @param args          The arguments already provided by the sender
+     * @return The list of tab completions for this command
+     */
+    @Override
+    public List<String> onTabComplete(CommandSender commandSender, org.bukkit.command.Command command, String label, String[] args) {
+        if (args.length == 2) {
+            return Arrays.asList("release").stream()
+                    .filter(option -> option.startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        if (args.length == 3 && args[1].equalsIgnoreCase("release")) {
+            return IridiumEnchants.getInstance().getWatchdogManager().getQuarantined().stream()
+                    .filter(key -> key.toLowerCase().startsWith(args[2].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.iridium.iridiumenchants.commands.customenchants;
 
-import com.iridium.iridiumcore.utils.StringUtils;
 import com.iridium.iridiumenchants.IridiumEnchants;
 import com.iridium.iridiumenchants.commands.Command;
 import org.bukkit.command.CommandSender;
@@ -24,15 +23,14 @@ public class ReloadCommand extends Command {
     /**
      * Executes the command for the specified {@link CommandSender} with the provided arguments.
      * Not called when the command execution was invalid (no permission, no player or command disabled).
-     * Reloads all configuration files.
+     * Reloads all configuration files on a worker thread, the result is reported once the reload is done.
      *
      * @param sender The CommandSender which executes this command
      * @param args   The arguments used with this command. They contain the sub-command
      */
     @Override
     public boolean execute(CommandSender sender, String[] args) {
-        IridiumEnchants.getInstance().loadConfigs();
-        sender.sendMessage(StringUtils.color(IridiumEnchants.getInstance().getMessages().reloaded.replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)));
+        IridiumEnchants.getInstance().getRegistryManager().reload(sender);
         return true;
     }
 
@@ -0,0 +1,82 @@
+package com.iridium.iridiumenchants.commands.customenchants;
+
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.commands.Command;
+import com.iridium.iridiumenchants.gui.EnchantmentSearchGUI;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Command which searches the enchantments by key, name, type and description.
+ */
+public class SearchCommand extends Command {
+
+    private static final int MAX_RESULTS = 500;
+    private static final int MAX_TAB_COMPLETIONS = 20;
+
+    /**
+     * The default constructor.
+     */
+    public SearchCommand() {
+        super(Collections.singletonList("search"), "Search the custom enchantments", "%prefix% &7/ce search <query>", "", false, Duration.ZERO);
+    }
+
+    /**
+     * Executes the command for the specified {@link CommandSender} with the provided arguments.
+     * Not called when the command execution was invalid (no permission, no player or command disabled).
+     * Opens the search results for players and lists them for the console.
+     *
+     * @param sender The CommandSender which executes this command
+     * @param args   The arguments used with this command. They contain the sub-command
+     */
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(StringUtils.color(syntax.replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)));
+            return false;
+        }
+        String query = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+        List<String> results = IridiumEnchants.getInstance().getRegistry().getSearchIndex().search(query, MAX_RESULTS);
+        if (results.isEmpty()) {
+            sender.sendMessage(StringUtils.color(IridiumEnchants.getInstance().getMessages().noSearchResults
+                    .replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)
+                    .replace("%query%", query)
+            ));
+            return true;
+        }
+        if (sender instanceof Player) {
+            ((Player) sender).openInventory(new EnchantmentSearchGUI(results, query).getInventory());
+        } else {
+            sender.sendMessage(StringUtils.color(IridiumEnchants.getInstance().getMessages().searchResults
+                    .replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)
+                    .replace("%query%", query)
+                    .replace("%results%", String.join(", ", results))
+            ));
+        }
+        return true;
+    }
+
+    /**
+     * Handles tab-completion for this command.
+     *
+     * @param commandSender The CommandSender which tries to tab-complete
+     * @param command       The command
+     * @param label         The label of the command
+     * @param args          The arguments already provided by the sender
+     * @return The list of tab completions for this command
+     */
+    @Override
+    public List<String> onTabComplete(CommandSender commandSender, org.bukkit.command.Command command, String label, String[] args) {
+        if (args.length == 2) {
+            return IridiumEnchants.getInstance().getRegistry().getSearchIndex().search(args[1], MAX_TAB_COMPLETIONS);
+        }
+        return Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.iridium.iridiumenchants.commands.customenchants;
+
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.commands.Command;
+import com.iridium.iridiumenchants.metrics.EnchantMetrics;
+import org.bukkit.command.CommandSender;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Command which shows how often triggers, enchants and effects ran and how long they took.
+ */
+public class StatsCommand extends Command {
+
+    private static final int MAX_ENTRIES = 10;
+    private static final int MAX_TAB_COMPLETIONS = 20;
+
+    /**
+     * The default constructor.
+     */
+    public StatsCommand() {
+        super(Collections.singletonList("stats"), "Show the enchant statistics", "%prefix% &7/ce stats [enchant]", "iridiumenchants.stats", false, Duration.ZERO);
+    }
+
+    /**
+     * Executes the command for the specified {@link CommandSender} with the provided arguments.
+     * Not called when the command execution was invalid (no permission, no player or command disabled).
+     * Shows the most expensive enchants and effects, or the statistics of a single enchant.
+     *
+     * @param sender The CommandSender which executes this command
+     * @param args   The arguments used with this command. They contain the sub-command
+     */
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            IridiumEnchants.getInstance().getMetricsManager().getReport(MAX_ENTRIES).forEach(line ->
+                    sender.sendMessage(StringUtils.color(line.replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)))
+            );
+            return true;
+        }
+        Optional<EnchantMetrics> enchantMetrics = IridiumEnchants.getInstance().getMetricsManager().getEnchantMetrics(args[1]);
+        if (!enchantMetrics.isPresent()) {
+            sender.sendMessage(StringUtils.color(IridiumEnchants.getInstance().getMessages().noStats
+                    .replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)
+                    .replace("%enchant%", args[1])
+            ));
+            return false;
+        }
+        sender.sendMessage(StringUtils.color(IridiumEnchants.getInstance().getMetricsManager().formatEnchant(enchantMetrics.get())));
+        return true;
+    }
+
+    /**
+     * Handles tab-completion for this command.
+     *
+     * @param commandSender The CommandSender which tries to tab-complete
+     * @param command       The command
+     * @param label         The label of the command
+     * @param args          The arguments already provided by the sender
+     * @return The list of tab completions for this command
+     */
+    @Override
+    public List<String> onTabComplete(CommandSender commandSender, org.bukkit.command.Command command, String label, String[] args) {
+        if (args.length == 2) {
+            return IridiumEnchants.getInstance().getRegistry().getSearchIndex().complete(args[1], MAX_TAB_COMPLETIONS);
+        }
+        return Collections.emptyList();
+    }
+
+}
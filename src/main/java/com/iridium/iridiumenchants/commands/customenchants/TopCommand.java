@@ -0,0 +1,95 @@
+package com.iridium.iridiumenchants.commands.customenchants;
+
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.commands.Command;
+import com.iridium.iridiumenchants.metrics.SpaceSaving;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Command which shows the players and chunks which spent the most time on enchants recently.
+ */
+public class TopCommand extends Command {
+
+    private static final int MAX_ENTRIES = 10;
+
+    /**
+     * The default constructor.
+     */
+    public TopCommand() {
+        super(Collections.singletonList("top"), "Show who and where spends the most time on enchants", "%prefix% &7/ce top <players|chunks>", "iridiumenchants.top", false, Duration.ZERO);
+    }
+
+    /**
+     * Executes the command for the specified {@link CommandSender} with the provided arguments.
+     * Not called when the command execution was invalid (no permission, no player or command disabled).
+     *
+     * @param sender The CommandSender which executes this command
+     * @param args   The arguments used with this command. They contain the sub-command
+     */
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        if (args.length == 2 && args[1].equalsIgnoreCase("players")) {
+            sendTop(sender, "Players", plugin.getAttributionManager().getTopPlayers(MAX_ENTRIES), uuid -> {
+                String name = Bukkit.getOfflinePlayer(uuid).getName();
+                return name != null ? name : uuid.toString();
+            });
+            return true;
+        }
+        if (args.length == 2 && args[1].equalsIgnoreCase("chunks")) {
+            sendTop(sender, "Chunks", plugin.getAttributionManager().getTopChunks(MAX_ENTRIES), Object::toString);
+            return true;
+        }
+        sender.sendMessage(StringUtils.color(syntax.replace("%prefix%", plugin.getConfiguration().prefix)));
+        return false;
+    }
+
+    private <K> void sendTop(CommandSender sender, String type, List<SpaceSaving.Estimate<K>> estimates, Function<K, String> name) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        if (estimates.isEmpty()) {
+            sender.sendMessage(StringUtils.color(plugin.getMessages().noTopEntries.replace("%prefix%", plugin.getConfiguration().prefix)));
+            return;
+        }
+        long total = Math.max(plugin.getAttributionManager().getTotal(), 1);
+        sender.sendMessage(StringUtils.color(plugin.getMessages().topHeader.replace("%type%", type)));
+        for (int i = 0; i < estimates.size(); i++) {
+            SpaceSaving.Estimate<K> estimate = estimates.get(i);
+            sender.sendMessage(StringUtils.color(plugin.getMessages().topEntry
+                    .replace("%rank%", String.valueOf(i + 1))
+                    .replace("%name%", name.apply(estimate.getKey()))
+                    .replace("%time%", String.format("%.2fms", estimate.getWeight() / 1_000_000.0))
+                    .replace("%error%", String.format("%.2fms", estimate.getError() / 1_000_000.0))
+                    .replace("%share%", String.format("%.1f%%", Math.min(estimate.getWeight() * 100.0 / total, 100)))
+            ));
+        }
+    }
+
+    /**
+     * Handles tab-completion for this command.
+     *
+     * @param commandSender The CommandSender which tries to tab-complete
+     * @param command       The command
+     * @param label         The label of the command
+     * @param args          The arguments already provided by the sender
+     * @return The list of tab completions for this command
+     */
+    @Override
+    public List<String> onTabComplete(CommandSender commandSender, org.bukkit.command.Command command, String label, String[] args) {
+        if (args.length == 2) {
+            return Arrays.asList("players", "chunks").stream()
+                    .filter(option -> option.startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+
+}
@@ -14,7 +14,6 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -122,16 +121,16 @@ public class GkitsCommandManager implements CommandExecutor, TabCompleter {
 
             // Check cooldown
             CooldownProvider<CommandSender> cooldownProvider = command.getCooldownProvider();
-            if (commandSender instanceof Player && cooldownProvider.isOnCooldown(commandSender)) {
-                Duration remainingTime = cooldownProvider.getRemainingTime(commandSender);
-                String formattedTime = TimeUtils.formatDuration(IridiumEnchants.getInstance().getMessages().activeCooldown, remainingTime);
+            long remainingTime = commandSender instanceof Player ? cooldownProvider.getRemainingMillis(commandSender) : 0;
+            if (remainingTime > 0) {
+                String formattedTime = TimeUtils.formatCountdown(IridiumEnchants.getInstance().getMessages().activeCooldown, remainingTime);
 
                 commandSender.sendMessage(StringUtils.color(formattedTime.replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)));
                 return false;
             }
 
             boolean success = command.execute(commandSender, args);
-            if (success) cooldownProvider.applyCooldown(commandSender);
+            if (success && commandSender instanceof Player) cooldownProvider.applyCooldown(commandSender);
             return true;
         }
 
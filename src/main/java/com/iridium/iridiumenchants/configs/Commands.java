@@ -8,4 +8,9 @@ public class Commands {
     public GiveCommand giveCommand = new GiveCommand();
     public ListCommand listCommand = new ListCommand();
     public AboutCommand aboutCommand = new AboutCommand();
+    public SearchCommand searchCommand = new SearchCommand();
+    public StatsCommand statsCommand = new StatsCommand();
+    public ProfileCommand profileCommand = new ProfileCommand();
+    public QuarantineCommand quarantineCommand = new QuarantineCommand();
+    public TopCommand topCommand = new TopCommand();
 }
@@ -4,7 +4,11 @@ import com.google.common.collect.ImmutableMap;
 import com.iridium.iridiumcore.Item;
 import com.iridium.iridiumcore.dependencies.xseries.XMaterial;
 import com.iridium.iridiumcore.dependencies.xseries.XSound;
+import com.iridium.iridiumenchants.EffectCategory;
+import com.iridium.iridiumenchants.EffectLimit;
+import com.iridium.iridiumenchants.LoadLevel;
 import com.iridium.iridiumenchants.Tier;
+import com.iridium.iridiumenchants.TriggerType;
 
 import java.util.Arrays;
 import java.util.List;
@@ -17,6 +21,45 @@ public class Configuration {
     public boolean enchantmentTable = true;
     public int enchantingTableMin = 1;
     public int enchantingTableMax = 3;
+    public boolean enchantsDirectory = false;
+    public boolean watchEnchantsDirectory = true;
+    public boolean registrySnapshot = true;
+    public int syntheticEventBudget = 64;
+    // How often stats.txt is written in minutes, 0 to disable
+    public int statsDumpInterval = 10;
+    // Effect executions slower than this many milliseconds are logged and shown in /ce stats, 0 to disable
+    public double slowEffectThreshold = 20;
+    // Disables enchants whose p99 in the last window exceeded their budget in milliseconds, until /ce quarantine release
+    public boolean quarantine = false;
+    public double quarantineBudget = 10;
+    public Map<String, Double> quarantineBudgets = ImmutableMap.<String, Double>builder().build();
+    // The length of a window in seconds, and how often an enchant has to be used in a window before it can be quarantined
+    public int quarantineWindow = 60;
+    public int quarantineMinSamples = 50;
+    // How many players and chunks /ce top tracks, and the length of a window in seconds
+    public int attributionSize = 64;
+    public int attributionWindow = 60;
+    // Degrades the enchants one level at a time while the server is overloaded. The mspt is the real tick time on Paper,
+    // but the time between ticks on Spigot, which never drops below 50, so thresholds below 50 only work on Paper
+    public boolean loadGovernor = true;
+    public List<LoadLevel> loadLevels = Arrays.asList(
+            new LoadLevel(55, 51, 2, 1, false, false),
+            new LoadLevel(70, 60, 4, 0.5, true, false),
+            new LoadLevel(90, 75, 8, 0.5, true, true)
+    );
+    public int deferredEffectsPerTick = 50;
+    public List<String> deferrableEffects = Arrays.asList("POTION", "FEED", "COAT", "REPLACE_NEAR");
+    public List<String> cosmeticEffects = Arrays.asList("COAT", "REPLACE_NEAR");
+    // Token buckets per chunk and per world for the world changes of effects, explosions closer than explosionMergeRadius in a tick are merged
+    public Map<EffectCategory, EffectLimit> effectLimits = ImmutableMap.<EffectCategory, EffectLimit>builder()
+            .put(EffectCategory.EXPLOSION, new EffectLimit(2, 4, 20, 40))
+            .put(EffectCategory.LIGHTNING, new EffectLimit(2, 4, 10, 20))
+            .put(EffectCategory.BLOCK_MUTATION, new EffectLimit(500, 1000, 5000, 10000))
+            .put(EffectCategory.ENTITY_SPAWN, new EffectLimit(20, 40, 200, 400))
+            .build();
+    public double explosionMergeRadius = 3;
+    // The most effects DELAY and REPEAT may have scheduled at once, further ones are dropped
+    public int maxScheduledEffects = 20000;
     public Item enchantmentCrystal = new Item(XMaterial.NETHER_STAR, 1, "&e&l%enchant%", Arrays.asList("&7Type: %type%", "&7Description: %description%"));
 
     public Map<XMaterial, XMaterial> smelt = ImmutableMap.<XMaterial, XMaterial>builder()
@@ -29,6 +72,16 @@ public class Configuration {
             .put(XMaterial.DEEPSLATE_GOLD_ORE, XMaterial.GOLD_INGOT)
             .put(XMaterial.SAND, XMaterial.GLASS)
             .build();
+    public Map<TriggerType, Integer> maxDispatchDepth = ImmutableMap.<TriggerType, Integer>builder()
+            .put(TriggerType.BLOCK_BREAK, 2)
+            .put(TriggerType.BOW_FIRE, 2)
+            .put(TriggerType.PLAYER_DAMAGE, 2)
+            .put(TriggerType.PLAYER_DAMAGE_PROJECTILE, 2)
+            .put(TriggerType.DEFENCE, 2)
+            .put(TriggerType.PLAYER_KILL, 1)
+            .put(TriggerType.ENTITY_KILL, 1)
+            .put(TriggerType.PLAYER_DEATH, 1)
+            .build();
     public List<XMaterial> infusionBlacklist = Arrays.asList(XMaterial.BEDROCK, XMaterial.SPAWNER, XMaterial.CHEST, XMaterial.TRAPPED_CHEST, XMaterial.WATER, XMaterial.LAVA);
     public Map<String, Tier> tiers = ImmutableMap.<String, Tier>builder()
             .put("Common", new Tier(new Item(XMaterial.ENCHANTED_BOOK, 11, 1, "&b&lCOMMON ENCHANTMENT", Arrays.asList("&e&lCOST: &7%cost% levels", "", "&e&l[!] &7Left Click to purchase a random common enchantment", "&e&l[!] &7Right Click to view all common enchantments")), 20))
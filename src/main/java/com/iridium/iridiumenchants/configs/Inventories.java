@@ -69,19 +69,22 @@ public class Inventories {
             .build());
 
     public SingleItemGUI enchantsListGUI = new SingleItemGUI(54, "&7Custom Enchants List", background, new Item(
-            XMaterial.NETHER_STAR, 1, "&e&l%enchant_name%",
+            XMaterial.NETHER_STAR, 1, "&e&l%enchant_name%%enchant_status%",
             Arrays.asList(
                     "&7Type: %enchant_type%",
                     "&7Description: %enchant_description%"
             )));
 
     public SingleItemGUI enchantsTierListGUI = new SingleItemGUI(54, "&7%tier% Custom Enchants List", background, new Item(
-            XMaterial.NETHER_STAR, 1, "&e&l%enchant_name% %enchant_level%",
+            XMaterial.NETHER_STAR, 1, "&e&l%enchant_name% %enchant_level%%enchant_status%",
             Arrays.asList(
                     "&7Type: %enchant_type%",
                     "&7Description: %enchant_description%"
             )));
+    // Replaces %enchant_status% in the list GUIs for quarantined enchants
+    public String quarantinedStatus = " &c&l(Quarantined)";
     public String enchantmentSelectGUITitle = "&7IridiumEnchants";
+    public String enchantsSearchGUITitle = "&7Search: %query%";
 
     public AnimatedBackgroundGUI enchantsTierGUI = new AnimatedBackgroundGUI(27, "&7Iridium Enchants", animatedBackground, 5);
 
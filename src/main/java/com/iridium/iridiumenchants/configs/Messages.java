@@ -2,6 +2,10 @@ package com.iridium.iridiumenchants.configs;
 
 public class Messages {
     public String reloaded = "%prefix% &7Configuration has been reloaded.";
+    public String reloadInProgress = "%prefix% &7The configuration is already being reloaded.";
+    public String reloadFailed = "%prefix% &7Reload failed with %errors% error(s), the current configuration was kept.";
+    public String reloadError = "&c- &7%error%";
+    public String reloadDiff = "%prefix% &7Added: &a%added% &7Changed: &e%changed% &7Removed: &c%removed%";
     public String noPermission = "%prefix% &7You don't have permission for that.";
     public String mustBeAPlayer = "%prefix% &7You must be a player to execute this command.";
     public String notAPlayer = "%prefix% &7That player doesn't exist.";
@@ -21,5 +25,32 @@ public class Messages {
     public String gotEnchantmentFromTier = "%prefix% &7You purchased a &e%tier% &7enchantment and received a &e%enchant% %level% &7crystal.";
     public String gavePlayerEnchantment = "%prefix% &7You gave %player% a &e%enchant% %level% &7crystal.";
     public String noTier = "%prefix% &7No tier by that name exists.";
+    public String searchResults = "%prefix% &7Enchantments matching &e%query%&7: %results%";
+    public String noSearchResults = "%prefix% &7No enchantments match &e%query%&7.";
+    public String statsHeader = "&8===== &e&lIridiumEnchants Stats &r&8=====";
+    public String statsTriggers = "&7Triggers: &e%triggers%";
+    public String statsDispatch = "&7Depth overflows: &e%depth_overflows% &7Budget overflows: &e%budget_overflows%";
+    public String statsLoad = "&7Load level: &e%level% &7at %mspt% mspt, %deferred% deferred, %dropped% dropped";
+    public String statsLimits = "&7Limited: &e%limits% &7Merged explosions: &e%merged%";
+    public String statsScheduled = "&7Scheduled effects: &e%scheduled% &7Dropped: &e%dropped% &7Failed: &e%failed%";
+    public String statsEnchant = "%status%&e%enchant%&7: %evaluations% evaluated, %suppressed% suppressed, %won% won, %lost% lost, %condition_failures% failed conditions, %procs% procs, %slow% slow, total %total% p50 %p50% p99 %p99% max %max%";
+    public String statsQuarantinedStatus = "&c[Quarantined] ";
+    public String statsQuarantined = "&7Quarantined: &c%enchants%";
+    public String statsSlowExecution = "&7Slow: &e%effect% &7of &e%enchant% &7took %duration% for %player% at %location%";
+    public String statsEffect = "&e%effect%&7: %executions% executions, total %total% p50 %p50% p99 %p99% max %max%";
+    public String noStats = "%prefix% &7%enchant% hasn't been used yet.";
+    public String profileStarted = "%prefix% &7Started profiling, use /ce profile stop to save the recording.";
+    public String profileStopped = "%prefix% &7Saved the recording to &eprofiles/%file%&7.";
+    public String profileAlreadyRunning = "%prefix% &7Profiling is already running.";
+    public String profileNotRunning = "%prefix% &7Profiling isn't running.";
+    public String profileUnavailable = "%prefix% &7Profiling needs Java Flight Recorder, which this Java runtime doesn't have.";
+    public String profileFailed = "%prefix% &7Failed to start profiling, check the console for details.";
+    public String topHeader = "&8===== &e&lIridiumEnchants Top %type% &r&8=====";
+    public String topEntry = "&e%rank%. %name%&7: %time% (error %error%), %share% of the enchant time";
+    public String noTopEntries = "%prefix% &7No enchants were used recently.";
+    public String quarantineList = "%prefix% &7Quarantined enchants: &c%enchants%";
+    public String noQuarantinedEnchants = "%prefix% &7No enchants are quarantined.";
+    public String quarantineReleased = "%prefix% &7Released &e%enchant% &7from the quarantine.";
+    public String notQuarantined = "%prefix% &7%enchant% isn't quarantined.";
     public String gkitOnCooldown = "%prefix% &7The %gkit% Gkit is on cooldown for %days% Days %hours% Hours %minutes% Minutes and %seconds% Seconds";
 }
@@ -0,0 +1,49 @@
+package com.iridium.iridiumenchants.configs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.File;
+
+public class SQL {
+    public Driver driver = Driver.SQLITE;
+    public String host = "localhost";
+    public int port = 3306;
+    public String database = "IridiumEnchants";
+    public String username = "";
+    public String password = "";
+    public boolean useSSL = false;
+    public int flushInterval = 5;
+    public int poolSize = 4;
+    // Shares cooldowns between every server using the same database, requires MYSQL or H2_SERVER
+    public boolean shared = false;
+    public int pollInterval = 2;
+
+    /**
+     * Gets the JDBC url of the configured database.
+     *
+     * @param folder The folder of local database files
+     * @return The JDBC url
+     */
+    public String getUrl(File folder) {
+        return driver.getUrl()
+                .replace("%file%", new File(folder, database).getAbsolutePath())
+                .replace("%host%", host)
+                .replace("%port%", String.valueOf(port))
+                .replace("%database%", database)
+                .replace("%ssl%", String.valueOf(useSSL));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public enum Driver {
+        SQLITE("jdbc:sqlite:%file%.db?journal_mode=WAL&busy_timeout=5000", true),
+        H2("jdbc:h2:file:%file%", true),
+        H2_SERVER("jdbc:h2:tcp://%host%:%port%/%database%", false),
+        MYSQL("jdbc:mysql://%host%:%port%/%database%?useSSL=%ssl%", false);
+
+        private final String url;
+        // Local databases are files which only this server can use
+        private final boolean local;
+    }
+}
@@ -0,0 +1,44 @@
+package com.iridium.iridiumenchants.database;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A cooldown written by one server, which the other servers sharing the database poll to update their cached users.
+ */
+@Getter
+@NoArgsConstructor
+@DatabaseTable(tableName = "cooldown_changes")
+public class CooldownChange {
+
+    @DatabaseField(columnName = "id", generatedId = true)
+    private long id;
+
+    @DatabaseField(columnName = "owner", canBeNull = false)
+    private UUID owner;
+
+    @DatabaseField(columnName = "name", canBeNull = false)
+    private String name;
+
+    @DatabaseField(columnName = "expiry", canBeNull = false)
+    private long expiry;
+
+    @DatabaseField(columnName = "server", canBeNull = false)
+    private String server;
+
+    // When the change was written in epoch milliseconds
+    @DatabaseField(columnName = "time", canBeNull = false, index = true)
+    private long time;
+
+    public CooldownChange(CooldownRecord cooldownRecord, String server, long time) {
+        this.owner = cooldownRecord.getOwner();
+        this.name = cooldownRecord.getName();
+        this.expiry = cooldownRecord.getExpiry();
+        this.server = server;
+        this.time = time;
+    }
+}
@@ -0,0 +1,43 @@
+package com.iridium.iridiumenchants.database;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A single cooldown of a player, stored in the cooldowns table.
+ */
+@Getter
+@NoArgsConstructor
+@DatabaseTable(tableName = "cooldowns")
+public class CooldownRecord {
+
+    @DatabaseField(columnName = "id", id = true)
+    private String id;
+
+    @DatabaseField(columnName = "owner", canBeNull = false, index = true)
+    private UUID owner;
+
+    @DatabaseField(columnName = "name", canBeNull = false)
+    private String name;
+
+    // The end of the cooldown in epoch milliseconds
+    @Setter
+    @DatabaseField(columnName = "expiry", canBeNull = false)
+    private long expiry;
+
+    // Incremented by every update, which only succeeds if nobody else updated the row in between
+    @DatabaseField(columnName = "version", version = true)
+    private long version;
+
+    public CooldownRecord(UUID owner, String name, long expiry) {
+        this.id = owner + ":" + name;
+        this.owner = owner;
+        this.name = name;
+        this.expiry = expiry;
+    }
+}
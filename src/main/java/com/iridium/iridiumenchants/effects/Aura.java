@@ -1,6 +1,7 @@
 package com.iridium.iridiumenchants.effects;
 
 import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
 import com.iridium.iridiumenchants.support.FriendlySupport;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
@@ -8,9 +9,9 @@ import org.bukkit.event.Event;
 
 import java.util.Arrays;
 
-public class Aura implements Effect {
+public class Aura implements WrapperEffect {
     @Override
-    public void apply(LivingEntity player, LivingEntity target, String[] args, Event event) {
+    public void apply(LivingEntity player, LivingEntity target, String[] args, Event event, CompiledEnchant compiledEnchant, boolean ghost) {
         AuraType auraType = AuraType.valueOf(args[1].toUpperCase());
         int range;
         try {
@@ -18,6 +19,7 @@ public class Aura implements Effect {
         } catch (NumberFormatException exception) {
             range = 1;
         }
+        range = IridiumEnchants.getInstance().getLoadGovernor().scaleRadius(range);
         String[] newArgs = Arrays.copyOfRange(args, 3, args.length);
         for (Entity entity : player.getNearbyEntities(range, range, range)) {
             if (!(entity instanceof LivingEntity)) continue;
@@ -25,7 +27,7 @@ public class Aura implements Effect {
             if (auraType.isValid(player, livingEntity)) {
                 Effect effect = IridiumEnchants.getInstance().getEffects().get(newArgs[0]);
                 if (effect != null) {
-                    effect.apply(player, livingEntity, newArgs, event);
+                    WrapperEffect.apply(effect, player, livingEntity, newArgs, event, compiledEnchant, ghost);
                 }
             }
         }
@@ -0,0 +1,29 @@
+package com.iridium.iridiumenchants.effects;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.registry.CompiledEffect;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.Event;
+
+import java.util.Arrays;
+
+/**
+ * DELAY:ticks:effect applies the effect once after the delay.
+ */
+public class Delay implements WrapperEffect {
+    @Override
+    public void apply(LivingEntity player, LivingEntity target, String[] args, Event event, CompiledEnchant compiledEnchant, boolean ghost) {
+        int ticks;
+        try {
+            ticks = Integer.parseInt(args[1]);
+        } catch (NumberFormatException exception) {
+            ticks = 1;
+        }
+        String[] newArgs = Arrays.copyOfRange(args, 2, args.length);
+        Effect effect = IridiumEnchants.getInstance().getEffects().get(newArgs[0]);
+        if (effect != null) {
+            IridiumEnchants.getInstance().getScheduledEffectManager().schedule(compiledEnchant, new CompiledEffect(newArgs[0], effect, newArgs, ghost), player, target, ticks, 1, 1);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.iridium.iridiumenchants.effects;
 
 import com.iridium.iridiumcore.dependencies.xseries.XMaterial;
+import com.iridium.iridiumenchants.EffectCategory;
+import com.iridium.iridiumenchants.IridiumEnchants;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.Event;
 import org.bukkit.inventory.ItemStack;
@@ -16,6 +18,7 @@ public class DropHead implements Effect {
             SkullMeta meta = (SkullMeta) head.getItemMeta();
             meta.setOwner(target.getName());
             head.setItemMeta(meta);
+            if (!IridiumEnchants.getInstance().getEffectLimiter().tryAcquire(EffectCategory.ENTITY_SPAWN, target.getLocation())) return;
             target.getLocation().getWorld().dropItem(target.getLocation(), head);
         } else {
             if (player == null) return;
@@ -24,6 +27,7 @@ public class DropHead implements Effect {
             SkullMeta meta = (SkullMeta) head.getItemMeta();
             meta.setOwner(player.getName());
             head.setItemMeta(meta);
+            if (!IridiumEnchants.getInstance().getEffectLimiter().tryAcquire(EffectCategory.ENTITY_SPAWN, player.getLocation())) return;
             player.getLocation().getWorld().dropItem(player.getLocation(), head);
         }
     }
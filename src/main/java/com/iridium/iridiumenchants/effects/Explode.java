@@ -1,5 +1,6 @@
 package com.iridium.iridiumenchants.effects;
 
+import com.iridium.iridiumenchants.IridiumEnchants;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.Event;
 
@@ -15,9 +16,9 @@ public class Explode implements Effect {
         boolean fire = args[2].equalsIgnoreCase("true");
         boolean breakBlocks = args[3].equalsIgnoreCase("true");
         if (args.length == 5 && args[4].equalsIgnoreCase("target")) {
-            target.getWorld().createExplosion(target.getLocation().getX(), target.getLocation().getY(), target.getLocation().getZ(), power, fire, breakBlocks);
+            IridiumEnchants.getInstance().getEffectLimiter().explode(target.getLocation(), power, fire, breakBlocks);
         } else {
-            player.getWorld().createExplosion(player.getLocation().getX(), player.getLocation().getY(), player.getLocation().getZ(), power, fire, breakBlocks);
+            IridiumEnchants.getInstance().getEffectLimiter().explode(player.getLocation(), power, fire, breakBlocks);
         }
     }
 }
@@ -1,9 +1,14 @@
 package com.iridium.iridiumenchants.effects;
 
 import com.iridium.iridiumcore.dependencies.xseries.XMaterial;
+import com.iridium.iridiumenchants.EffectCategory;
 import com.iridium.iridiumenchants.IridiumEnchants;
 import com.iridium.iridiumenchants.listeners.BlockBreakListener;
-import org.bukkit.Bukkit;
+import com.iridium.iridiumenchants.listeners.TemporaryBlockListener;
+import com.iridium.iridiumenchants.managers.DispatchTracker;
+import com.iridium.iridiumenchants.managers.EffectLimiter;
+import com.iridium.iridiumenchants.managers.ProfilingManager;
+import com.iridium.iridiumenchants.profiling.Probes;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -17,38 +22,45 @@ import java.util.List;
 
 public class Infusion implements Effect {
 
-    private final List<BlockBreakEvent> events = new ArrayList<>();
-
     @Override
     public void apply(LivingEntity player, LivingEntity target, String[] args, Event event) {
         if (player instanceof Player && event instanceof BlockBreakEvent) {
             BlockBreakEvent blockBreakEvent = (BlockBreakEvent) event;
-            if (events.contains(blockBreakEvent)) {
-                events.remove(blockBreakEvent);
-                return;
-            }
+            DispatchTracker dispatchTracker = IridiumEnchants.getInstance().getDispatchTracker();
+            if (dispatchTracker.isSynthetic(blockBreakEvent)) return;
             int radius;
             try {
                 radius = Integer.parseInt(args[1]);
             } catch (NumberFormatException exception) {
                 radius = 1;
             }
+            radius = IridiumEnchants.getInstance().getLoadGovernor().scaleRadius(radius);
             boolean instantMine = args[2].equalsIgnoreCase("true");
+            Probes.AreaOperation areaOperationProbe = ProfilingManager.beginAreaOperation();
+            int blockCount = 0;
+            EffectLimiter effectLimiter = IridiumEnchants.getInstance().getEffectLimiter();
             for (Block block : getSquare(blockBreakEvent.getBlock().getLocation(), radius)) {
                 XMaterial material = XMaterial.matchXMaterial(block.getType());
                 if (IridiumEnchants.getInstance().getConfiguration().infusionBlacklist.contains(material)) continue;
                 if (IridiumEnchants.getInstance().canBuild(((Player) player), block.getLocation())) {
                     BlockBreakEvent breakEvent = new BlockBreakEvent(block, (Player) player);
-                    events.add(breakEvent);
-                    new BlockBreakListener().onBlockBreak(breakEvent);
+                    new TemporaryBlockListener().onBlockBreak(breakEvent);
+                    if (breakEvent.isCancelled()) continue;
+                    // Checked before the enchants of the block run, but only blocks which really change use up tokens
+                    if (!effectLimiter.canAcquire(EffectCategory.BLOCK_MUTATION, block.getLocation())) break;
+                    if (!dispatchTracker.dispatchSynthetic(breakEvent, () -> new BlockBreakListener().onBlockBreak(breakEvent))) break;
                     if (breakEvent.isCancelled()) continue;
+                    // The enchants of the block may have used up the last token themselves
+                    if (!effectLimiter.tryAcquire(EffectCategory.BLOCK_MUTATION, block.getLocation())) break;
                     if (instantMine) {
                         block.setType(Material.AIR);
                     } else {
                         block.breakNaturally(((Player) player).getItemInHand());
                     }
+                    blockCount++;
                 }
             }
+            areaOperationProbe.finish("INFUSION", blockCount, blockBreakEvent.getBlock().getLocation(), player);
         }
     }
 
@@ -1,15 +1,15 @@
 package com.iridium.iridiumenchants.effects;
 
+import com.iridium.iridiumenchants.EffectCategory;
+import com.iridium.iridiumenchants.IridiumEnchants;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.Event;
 
 public class Lightning implements Effect {
     @Override
     public void apply(LivingEntity player, LivingEntity target, String[] args, Event event) {
-        if (args.length == 2 && args[1].equalsIgnoreCase("target")) {
-            target.getWorld().strikeLightning(target.getLocation());
-        } else {
-            player.getWorld().strikeLightning(player.getLocation());
-        }
+        LivingEntity livingEntity = args.length == 2 && args[1].equalsIgnoreCase("target") ? target : player;
+        if (!IridiumEnchants.getInstance().getEffectLimiter().tryAcquire(EffectCategory.LIGHTNING, livingEntity.getLocation())) return;
+        livingEntity.getWorld().strikeLightning(livingEntity.getLocation());
     }
 }
@@ -1,6 +1,9 @@
 package com.iridium.iridiumenchants.effects;
 
+import com.iridium.iridiumenchants.EffectCategory;
+import com.iridium.iridiumenchants.IridiumEnchants;
 import com.iridium.iridiumenchants.listeners.EntityShootBowListener;
+import com.iridium.iridiumenchants.managers.DispatchTracker;
 import org.bukkit.Material;
 import org.bukkit.entity.AbstractArrow;
 import org.bukkit.entity.Arrow;
@@ -11,21 +14,14 @@ import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class Multishot implements Effect {
 
-    private final List<EntityShootBowEvent> events = new ArrayList<>();
-
     @Override
     public void apply(LivingEntity p, LivingEntity target, String[] args, Event event) {
         if (!(event instanceof EntityShootBowEvent) || !(p instanceof Player)) return;
         EntityShootBowEvent entityShootBowEvent = (EntityShootBowEvent) event;
-        if (events.contains(entityShootBowEvent)) {
-            events.remove(entityShootBowEvent);
-            return;
-        }
+        DispatchTracker dispatchTracker = IridiumEnchants.getInstance().getDispatchTracker();
+        if (dispatchTracker.isSynthetic(entityShootBowEvent)) return;
         Player player = (Player) p;
         int amount;
         try {
@@ -39,6 +35,7 @@ public class Multishot implements Effect {
         final Vector direction = new Vector(velocity.getX() / speed, velocity.getY() / speed, velocity.getZ() / speed);
         for (int i = 0; i < amount; i++) {
             ItemStack item = new ItemStack(Material.ARROW);
+            if (!IridiumEnchants.getInstance().getEffectLimiter().tryAcquire(EffectCategory.ENTITY_SPAWN, player.getLocation())) break;
             if (player.getInventory().containsAtLeast(item, 1) || !entityShootBowEvent.shouldConsumeItem()) {
                 if (entityShootBowEvent.shouldConsumeItem()) player.getInventory().removeItem(item);
                 Arrow arrow = p.launchProjectile(Arrow.class);
@@ -51,8 +48,7 @@ public class Multishot implements Effect {
                 arrow.setShooter(p);
                 arrow.setPickupStatus(entityShootBowEvent.shouldConsumeItem() ? AbstractArrow.PickupStatus.ALLOWED : AbstractArrow.PickupStatus.CREATIVE_ONLY);
                 EntityShootBowEvent newEntityShootBowEvent = new EntityShootBowEvent(p, entityShootBowEvent.getBow(), item, arrow, entityShootBowEvent.getHand(), entityShootBowEvent.getForce(), entityShootBowEvent.shouldConsumeItem());
-                events.add(newEntityShootBowEvent);
-                new EntityShootBowListener().onEntityShootBow(newEntityShootBowEvent);
+                if (!dispatchTracker.dispatchSynthetic(newEntityShootBowEvent, () -> new EntityShootBowListener().onEntityShootBow(newEntityShootBowEvent))) break;
             }
         }
     }
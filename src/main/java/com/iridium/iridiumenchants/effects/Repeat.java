@@ -0,0 +1,31 @@
+package com.iridium.iridiumenchants.effects;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.registry.CompiledEffect;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.Event;
+
+import java.util.Arrays;
+
+/**
+ * REPEAT:count:interval:effect applies the effect count times, every interval ticks starting one interval from now.
+ */
+public class Repeat implements WrapperEffect {
+    @Override
+    public void apply(LivingEntity player, LivingEntity target, String[] args, Event event, CompiledEnchant compiledEnchant, boolean ghost) {
+        int count;
+        int interval;
+        try {
+            count = Integer.parseInt(args[1]);
+            interval = Integer.parseInt(args[2]);
+        } catch (NumberFormatException exception) {
+            return;
+        }
+        String[] newArgs = Arrays.copyOfRange(args, 3, args.length);
+        Effect effect = IridiumEnchants.getInstance().getEffects().get(newArgs[0]);
+        if (effect != null) {
+            IridiumEnchants.getInstance().getScheduledEffectManager().schedule(compiledEnchant, new CompiledEffect(newArgs[0], effect, newArgs, ghost), player, target, interval, count, interval);
+        }
+    }
+}
@@ -1,30 +1,25 @@
 package com.iridium.iridiumenchants.effects;
 
 import com.iridium.iridiumcore.dependencies.xseries.XMaterial;
+import com.iridium.iridiumenchants.EffectCategory;
 import com.iridium.iridiumenchants.IridiumEnchants;
-import org.bukkit.Bukkit;
+import com.iridium.iridiumenchants.managers.EffectLimiter;
+import com.iridium.iridiumenchants.managers.ProfilingManager;
+import com.iridium.iridiumenchants.managers.TemporaryBlockManager;
+import com.iridium.iridiumenchants.profiling.Probes;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockState;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Optional;
 
-public class ReplaceNear implements Effect {
-
-    public static HashMap<BlockState, Integer> blockStates = new HashMap<>();
-
-    public ReplaceNear() {
-        Bukkit.getScheduler().runTaskTimer(IridiumEnchants.getInstance(), this::tick, 0, 1);
-    }
+public class ReplaceNear implements TemporaryBlockEffect {
 
     @Override
-    public void apply(LivingEntity player, LivingEntity target, String[] args, Event event) {
+    public void apply(LivingEntity player, LivingEntity target, String[] args, Event event, boolean ghost) {
         if (!(player instanceof Player)) return;
         int radius;
         try {
@@ -32,6 +27,7 @@ public class ReplaceNear implements Effect {
         } catch (NumberFormatException exception) {
             radius = 1;
         }
+        radius = IridiumEnchants.getInstance().getLoadGovernor().scaleRadius(radius);
         int time;
         try {
             time = Integer.parseInt(args[4]);
@@ -43,39 +39,34 @@ public class ReplaceNear implements Effect {
         if (!originalMaterial.isPresent() || !newMaterial.isPresent()) return;
         if (args.length == 6 && args[5].equalsIgnoreCase("target")) {
             if (target == null) return;
-            replaceNear((Player) player, target, radius, originalMaterial.get().parseMaterial(), newMaterial.get().parseMaterial(), time);
+            replaceNear((Player) player, target, radius, originalMaterial.get().parseMaterial(), newMaterial.get().parseMaterial(), time, ghost);
 
         } else {
-            replaceNear((Player) player, player, radius, originalMaterial.get().parseMaterial(), newMaterial.get().parseMaterial(), time);
+            replaceNear((Player) player, player, radius, originalMaterial.get().parseMaterial(), newMaterial.get().parseMaterial(), time, ghost);
         }
     }
 
-    public void replaceNear(Player player, LivingEntity livingEntity, int radius, Material currentMaterial, Material newMaterial, int time) {
+    public void replaceNear(Player player, LivingEntity livingEntity, int radius, Material currentMaterial, Material newMaterial, int time, boolean ghost) {
+        Probes.AreaOperation areaOperationProbe = ProfilingManager.beginAreaOperation();
+        int blockCount = 0;
+        EffectLimiter effectLimiter = IridiumEnchants.getInstance().getEffectLimiter();
+        TemporaryBlockManager temporaryBlockManager = IridiumEnchants.getInstance().getTemporaryBlockManager();
         for (int x = -radius; x <= radius; x++) {
             for (int y = -radius; y <= radius; y++) {
                 for (int z = -radius; z <= radius; z++) {
                     Location location = livingEntity.getLocation().add(x, y, z).getBlock().getLocation();
                     Block block = location.getBlock();
                     if (IridiumEnchants.getInstance().canBuild((player), block.getLocation())) {
-                        blockStates.keySet().stream().filter(blockState -> blockState.getLocation().equals(location)).findAny().ifPresent(blockState -> blockStates.put(blockState, time));
-                        if (block.getType() == currentMaterial) {
-                            BlockState blockState = block.getState();
-                            blockStates.put(blockState, time);
-                            block.setType(newMaterial, false);
+                        if (temporaryBlockManager.isTemporary(block)) {
+                            temporaryBlockManager.place(block, newMaterial, time, true, ghost);
+                        } else if (block.getType() == currentMaterial && effectLimiter.tryAcquire(EffectCategory.BLOCK_MUTATION, location)) {
+                            temporaryBlockManager.place(block, newMaterial, time, true, ghost);
+                            blockCount++;
                         }
                     }
                 }
             }
         }
-    }
-
-    public void tick() {
-        for (BlockState blockState : new ArrayList<>(blockStates.keySet())) {
-            blockStates.put(blockState, blockStates.get(blockState) - 1);
-            if (blockStates.get(blockState) == 0) {
-                blockState.update(true, true);
-                blockStates.remove(blockState);
-            }
-        }
+        areaOperationProbe.finish("REPLACE_NEAR", blockCount, livingEntity.getLocation(), player);
     }
 }
@@ -0,0 +1,17 @@
+package com.iridium.iridiumenchants.effects;
+
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.Event;
+
+/**
+ * An effect which places temporary blocks, which can be placed as ghost blocks only sent to nearby players.
+ */
+public interface TemporaryBlockEffect extends Effect {
+
+    @Override
+    default void apply(LivingEntity player, LivingEntity target, String[] args, Event event) {
+        apply(player, target, args, event, false);
+    }
+
+    void apply(LivingEntity player, LivingEntity target, String[] args, Event event, boolean ghost);
+}
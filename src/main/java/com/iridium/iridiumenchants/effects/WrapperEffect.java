@@ -0,0 +1,40 @@
+package com.iridium.iridiumenchants.effects;
+
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.Event;
+
+/**
+ * An effect which applies another effect, and passes on the enchant it belongs to so scheduled effects can be
+ * quarantined and measured like the enchant itself. The ghost blocks setting of the level is passed on as well.
+ */
+public interface WrapperEffect extends Effect {
+
+    @Override
+    default void apply(LivingEntity player, LivingEntity target, String[] args, Event event) {
+        apply(player, target, args, event, null, false);
+    }
+
+    void apply(LivingEntity player, LivingEntity target, String[] args, Event event, CompiledEnchant compiledEnchant, boolean ghost);
+
+    /**
+     * Applies a wrapped effect, passing on the enchant and the ghost blocks setting to wrappers and temporary block effects.
+     *
+     * @param effect          The wrapped effect
+     * @param player          The player using the enchant
+     * @param target          The target of the enchant
+     * @param args            The arguments of the wrapped effect
+     * @param event           The event which triggered the enchant
+     * @param compiledEnchant The enchant the effect belongs to
+     * @param ghost           If temporary blocks are placed as ghost blocks
+     */
+    static void apply(Effect effect, LivingEntity player, LivingEntity target, String[] args, Event event, CompiledEnchant compiledEnchant, boolean ghost) {
+        if (effect instanceof WrapperEffect) {
+            ((WrapperEffect) effect).apply(player, target, args, event, compiledEnchant, ghost);
+        } else if (ghost && effect instanceof TemporaryBlockEffect) {
+            ((TemporaryBlockEffect) effect).apply(player, target, args, event, true);
+        } else {
+            effect.apply(player, target, args, event);
+        }
+    }
+}
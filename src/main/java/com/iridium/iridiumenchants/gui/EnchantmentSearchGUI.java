@@ -0,0 +1,46 @@
+package com.iridium.iridiumenchants.gui;
+
+import com.iridium.iridiumenchants.CustomEnchant;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.configs.inventories.NoItemGUI;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class EnchantmentSearchGUI extends SnapshotPagedGUI {
+    private final List<String> results;
+    private final String query;
+
+    public EnchantmentSearchGUI(List<String> results, String query) {
+        super(1);
+        this.results = results;
+        this.query = query;
+    }
+
+    @Override
+    protected NoItemGUI getLayout() {
+        return IridiumEnchants.getInstance().getInventories().enchantsListGUI;
+    }
+
+    @Override
+    protected String getTitle() {
+        return IridiumEnchants.getInstance().getInventories().enchantsSearchGUITitle.replace("%query%", query);
+    }
+
+    @Override
+    protected String getSnapshotKey() {
+        return null;
+    }
+
+    @Override
+    protected List<ItemStack> getItems() {
+        Map<String, CustomEnchant> customEnchants = IridiumEnchants.getInstance().getCustomEnchants().customEnchants;
+        return results.stream()
+                .filter(customEnchants::containsKey)
+                .map(key -> EnchantmentListGUI.getItemStack(new AbstractMap.SimpleEntry<>(key, customEnchants.get(key))))
+                .collect(Collectors.toList());
+    }
+}
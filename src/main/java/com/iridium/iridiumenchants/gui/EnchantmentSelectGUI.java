@@ -1,11 +1,8 @@
 package com.iridium.iridiumenchants.gui;
 
-import com.iridium.iridiumcore.gui.GUI;
-import com.iridium.iridiumcore.utils.StringUtils;
 import com.iridium.iridiumenchants.CustomEnchant;
 import com.iridium.iridiumenchants.IridiumEnchants;
 import lombok.AllArgsConstructor;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
@@ -15,7 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Optional;
 
 @AllArgsConstructor
-public class EnchantmentSelectGUI implements GUI {
+public class EnchantmentSelectGUI extends RenderedGUI {
 
     private final Player player;
     private final CustomEnchant customEnchant;
@@ -24,18 +21,22 @@ public class EnchantmentSelectGUI implements GUI {
     @NotNull
     @Override
     public Inventory getInventory() {
-        Inventory inventory = Bukkit.getServer().createInventory(this, 36, StringUtils.color(IridiumEnchants.getInstance().getInventories().enchantmentSelectGUITitle));
-        addContent(inventory);
-        return inventory;
+        return createInventory(36, IridiumEnchants.getInstance().getInventories().enchantmentSelectGUITitle);
     }
 
     @Override
-    public void addContent(Inventory inventory) {
+    public int getRefreshInterval() {
+        return 10;
+    }
+
+    @Override
+    protected void render(ItemStack[] frame, int ticks) {
+        ItemStack[] contents = player.getInventory().getContents();
         for (int i = 0; i < 36; i++) {
-            ItemStack itemStack = player.getInventory().getContents()[i];
+            ItemStack itemStack = contents[i];
             if (itemStack != null) {
                 if (customEnchant.type.includes(itemStack)) {
-                    inventory.setItem(i, itemStack);
+                    frame[i] = itemStack;
                 }
             }
         }
@@ -51,6 +52,8 @@ public class EnchantmentSelectGUI implements GUI {
                 int level = IridiumEnchants.getInstance().getCustomEnchantManager().getEnchantmentLevelFromCrystal(event.getWhoClicked().getItemInHand());
                 ItemStack item = IridiumEnchants.getInstance().getCustomEnchantManager().applyEnchantment(itemStack, enchantKey, customEnchant, level);
                 player.getInventory().setItem(event.getSlot(), item);
+                // The item may be held or worn, which doesn't fire an equipment event
+                IridiumEnchants.getInstance().getTriggerManager().markEquipmentChanged();
                 event.getWhoClicked().closeInventory();
                 int amount = event.getWhoClicked().getItemInHand().getAmount();
                 if (amount > 1) {
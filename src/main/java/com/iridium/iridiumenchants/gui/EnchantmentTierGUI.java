@@ -1,9 +1,5 @@
 package com.iridium.iridiumenchants.gui;
 
-import com.iridium.iridiumcore.Background;
-import com.iridium.iridiumcore.gui.GUI;
-import com.iridium.iridiumcore.utils.InventoryUtils;
-import com.iridium.iridiumcore.utils.ItemStackUtils;
 import com.iridium.iridiumcore.utils.Placeholder;
 import com.iridium.iridiumcore.utils.StringUtils;
 import com.iridium.iridiumenchants.CustomEnchant;
@@ -16,43 +12,34 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 
-public class EnchantmentTierGUI implements GUI {
-
-    private int frame = 0;
-    private int tickCount = 0;
+public class EnchantmentTierGUI extends RenderedGUI {
 
     @NotNull
     @Override
     public Inventory getInventory() {
         AnimatedBackgroundGUI animatedBackgroundGUI = IridiumEnchants.getInstance().getInventories().enchantsTierGUI;
-        Inventory inventory = Bukkit.createInventory(this, animatedBackgroundGUI.size, StringUtils.color(animatedBackgroundGUI.title));
-        addContent(inventory);
-        return inventory;
+        return createInventory(animatedBackgroundGUI.size, animatedBackgroundGUI.title);
     }
 
     @Override
-    public void addContent(Inventory inventory) {
-        Background background = IridiumEnchants.getInstance().getInventories().enchantsTierGUI.background.backgroundFrames.get(frame);
-        if (background != null) {
-            InventoryUtils.fillInventory(inventory, background);
-        }
+    public int getRefreshInterval() {
+        return getAnimationInterval(IridiumEnchants.getInstance().getInventories().enchantsTierGUI);
+    }
+
+    @Override
+    protected void render(ItemStack[] frame, int ticks) {
+        fillBackground(frame, getBackgroundFrame(IridiumEnchants.getInstance().getInventories().enchantsTierGUI, ticks));
 
         for (Tier tier : IridiumEnchants.getInstance().getConfiguration().tiers.values()) {
-            inventory.setItem(tier.item.slot, ItemStackUtils.makeItem(tier.item, Collections.singletonList(
+            if (tier.item.slot == null || tier.item.slot < 0 || tier.item.slot >= frame.length) continue;
+            frame[tier.item.slot] = IridiumEnchants.getInstance().getItemTemplateManager().getItem(tier.item, Collections.singletonList(
                     new Placeholder("cost", String.valueOf(tier.experienceCost))
-            )));
-        }
-
-        tickCount++;
-        if (tickCount % IridiumEnchants.getInstance().getInventories().enchantsTierGUI.nextFrameInterval == 0) {
-            frame++;
-            if (IridiumEnchants.getInstance().getInventories().enchantsTierGUI.background.backgroundFrames.get(frame) == null) {
-                frame = 0;
-            }
+            ));
         }
     }
 
@@ -1,9 +1,6 @@
 package com.iridium.iridiumenchants.gui;
 
-import com.iridium.iridiumcore.gui.PagedGUI;
-import com.iridium.iridiumcore.utils.ItemStackUtils;
 import com.iridium.iridiumcore.utils.Placeholder;
-import com.iridium.iridiumcore.utils.StringUtils;
 import com.iridium.iridiumenchants.CustomEnchant;
 import com.iridium.iridiumenchants.IridiumEnchants;
 import com.iridium.iridiumenchants.Level;
@@ -11,62 +8,55 @@ import com.iridium.iridiumenchants.configs.inventories.NoItemGUI;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.apache.commons.lang.WordUtils;
-import org.bukkit.Bukkit;
-import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
-public class EnchantmentTierListGUI extends PagedGUI<EnchantmentTierListGUI.CustomEnchantLevel> {
-    private final int page;
+public class EnchantmentTierListGUI extends SnapshotPagedGUI {
     private final String tier;
 
     public EnchantmentTierListGUI(int page, String tier) {
-        super(page, IridiumEnchants.getInstance().getInventories().enchantsTierListGUI.background, IridiumEnchants.getInstance().getInventories().previousPage, IridiumEnchants.getInstance().getInventories().nextPage);
-        this.page = page;
+        super(page);
         this.tier = tier;
     }
 
-    @NotNull
     @Override
-    public Inventory getInventory() {
-        NoItemGUI noItemGUI = IridiumEnchants.getInstance().getInventories().enchantsTierListGUI;
-        Inventory inventory = Bukkit.createInventory(this, noItemGUI.size, StringUtils.color(noItemGUI.title.replace("%tier%", tier)));
-        addContent(inventory);
-        return inventory;
+    protected NoItemGUI getLayout() {
+        return IridiumEnchants.getInstance().getInventories().enchantsTierListGUI;
     }
 
     @Override
-    public ItemStack getItemStack(CustomEnchantLevel customEnchantLevel) {
-        return ItemStackUtils.makeItem(IridiumEnchants.getInstance().getInventories().enchantsTierListGUI.item, Arrays.asList(
-                new Placeholder("enchant_name", WordUtils.capitalize(customEnchantLevel.customEnchant.getKey())),
-                new Placeholder("enchant_type", WordUtils.capitalize(customEnchantLevel.customEnchant.getValue().type.name().toLowerCase())),
-                new Placeholder("enchant_description", customEnchantLevel.customEnchant.getValue().description),
-                new Placeholder("enchant_level", IridiumEnchants.getInstance().getCustomEnchantManager().toRomanNumerals(customEnchantLevel.level.getKey()))
-        ));
+    protected String getTitle() {
+        return getLayout().title.replace("%tier%", tier);
     }
 
     @Override
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (event.getSlot() == getInventory().getSize() - 7) {
-            if (page > 1) {
-                event.getWhoClicked().openInventory(new EnchantmentTierListGUI(page - 1, tier).getInventory());
-            }
-        } else if (event.getSlot() == getInventory().getSize() - 3) {
-            if ((event.getInventory().getSize() - 9) * page < getPageObjects().size()) {
-                event.getWhoClicked().openInventory(new EnchantmentTierListGUI(page + 1, tier).getInventory());
-            }
-        }
+    protected String getSnapshotKey() {
+        return "tier:" + tier;
     }
 
     @Override
-    public Collection<CustomEnchantLevel> getPageObjects() {
+    protected List<ItemStack> getItems() {
+        return getCustomEnchantLevels().stream().map(this::getItemStack).collect(Collectors.toList());
+    }
+
+    private ItemStack getItemStack(CustomEnchantLevel customEnchantLevel) {
+        return IridiumEnchants.getInstance().getItemTemplateManager().getItem(IridiumEnchants.getInstance().getInventories().enchantsTierListGUI.item, Arrays.asList(
+                new Placeholder("enchant_name", WordUtils.capitalize(customEnchantLevel.customEnchant.getKey())),
+                new Placeholder("enchant_type", WordUtils.capitalize(customEnchantLevel.customEnchant.getValue().type.name().toLowerCase())),
+                new Placeholder("enchant_description", customEnchantLevel.customEnchant.getValue().description),
+                new Placeholder("enchant_level", IridiumEnchants.getInstance().getCustomEnchantManager().toRomanNumerals(customEnchantLevel.level.getKey())),
+                new Placeholder("enchant_status", IridiumEnchants.getInstance().getWatchdogManager().isQuarantined(customEnchantLevel.customEnchant.getKey())
+                        ? IridiumEnchants.getInstance().getInventories().quarantinedStatus : "")
+        ));
+    }
+
+    private List<CustomEnchantLevel> getCustomEnchantLevels() {
         List<CustomEnchantLevel> customEnchantLevelList = new ArrayList<>();
-        for (Map.Entry<String, CustomEnchant> customEnchant : IridiumEnchants.getInstance().getCustomEnchants().customEnchants.entrySet()) {
-            for (Map.Entry<Integer, Level> level : customEnchant.getValue().levels.entrySet()) {
-                if (level.getValue().tiers.contains(tier)) {
+        for (Map.Entry<String, CustomEnchant> customEnchant : new TreeMap<>(IridiumEnchants.getInstance().getCustomEnchants().customEnchants).entrySet()) {
+            for (Map.Entry<Integer, Level> level : new TreeMap<>(customEnchant.getValue().levels).entrySet()) {
+                if (level.getValue().tiers != null && level.getValue().tiers.contains(tier)) {
                     customEnchantLevelList.add(new CustomEnchantLevel(customEnchant, level));
                 }
             }
@@ -1,34 +1,28 @@
 package com.iridium.iridiumenchants.gui;
 
-import com.iridium.iridiumcore.Background;
 import com.iridium.iridiumcore.Item;
-import com.iridium.iridiumcore.gui.GUI;
-import com.iridium.iridiumcore.utils.InventoryUtils;
-import com.iridium.iridiumcore.utils.ItemStackUtils;
-import com.iridium.iridiumcore.utils.Placeholder;
 import com.iridium.iridiumcore.utils.StringUtils;
 import com.iridium.iridiumenchants.GKit;
 import com.iridium.iridiumenchants.IridiumEnchants;
 import com.iridium.iridiumenchants.User;
 import com.iridium.iridiumenchants.configs.inventories.AnimatedBackgroundGUI;
-import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
+import com.iridium.iridiumenchants.utils.TimeUtils;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
-public class GKitsGUI implements GUI {
+public class GKitsGUI extends RenderedGUI {
 
-    private int frame = 0;
-    private int tickCount = 0;
     private final User user;
+    private final Map<String, Long> renderedSeconds = new HashMap<>();
+    private final Map<String, ItemStack> renderedItems = new HashMap<>();
+    private long renderedClockSecond = -1;
 
     public GKitsGUI(User user) {
         this.user = user;
@@ -38,39 +32,39 @@ public class GKitsGUI implements GUI {
     @Override
     public Inventory getInventory() {
         AnimatedBackgroundGUI animatedBackgroundGUI = IridiumEnchants.getInstance().getInventories().gkitsGUI;
-        Inventory inventory = Bukkit.createInventory(this, animatedBackgroundGUI.size, StringUtils.color(animatedBackgroundGUI.title));
-        addContent(inventory);
-        return inventory;
+        return createInventory(animatedBackgroundGUI.size, animatedBackgroundGUI.title);
     }
 
     @Override
-    public void addContent(Inventory inventory) {
-        Background background = IridiumEnchants.getInstance().getInventories().gkitsGUI.background.backgroundFrames.get(frame);
-        if (background != null) {
-            InventoryUtils.fillInventory(inventory, background);
-        }
+    public int getRefreshInterval() {
+        // Checked every tick, but only rendered when the clock or the animation moved on
+        return 1;
+    }
+
+    @Override
+    protected boolean isDirty(int ticks) {
+        int animationInterval = getAnimationInterval(IridiumEnchants.getInstance().getInventories().gkitsGUI);
+        return IridiumEnchants.getInstance().getGuiManager().getClockSecond() != renderedClockSecond
+                || (animationInterval > 0 && ticks % animationInterval == 0);
+    }
 
+    @Override
+    protected void render(ItemStack[] frame, int ticks) {
+        fillBackground(frame, getBackgroundFrame(IridiumEnchants.getInstance().getInventories().gkitsGUI, ticks));
+
+        renderedClockSecond = IridiumEnchants.getInstance().getGuiManager().getClockSecond();
+        long now = renderedClockSecond * 1000;
         for (Map.Entry<String, GKit> gkits : IridiumEnchants.getInstance().getGKits().gkits.entrySet()) {
-            LocalDateTime cooldown = user.getCooldown(gkits.getKey());
-            long days = LocalDateTime.now().until(cooldown, ChronoUnit.DAYS);
-            long hours = LocalDateTime.now().until(cooldown, ChronoUnit.HOURS) - (days * 24);
-            long minutes = LocalDateTime.now().until(cooldown, ChronoUnit.MINUTES) - ((hours + (days * 24)) * 60);
-            long seconds = LocalDateTime.now().until(cooldown, ChronoUnit.SECONDS) - ((minutes + (hours + (days * 24)) * 60) * 60);
             Item item = gkits.getValue().guiItem;
-            inventory.setItem(item.slot, ItemStackUtils.makeItem(item, Arrays.asList(
-                    new Placeholder("days", String.valueOf((int) Math.max(days, 0))),
-                    new Placeholder("hours", String.valueOf((int) Math.max(hours, 0))),
-                    new Placeholder("minutes", String.valueOf((int) Math.max(minutes, 0))),
-                    new Placeholder("seconds", String.valueOf((int) Math.max(seconds, 0)))
-            )));
-        }
-
-        tickCount++;
-        if (tickCount % IridiumEnchants.getInstance().getInventories().gkitsGUI.nextFrameInterval == 0) {
-            frame++;
-            if (IridiumEnchants.getInstance().getInventories().gkitsGUI.background.backgroundFrames.get(frame) == null) {
-                frame = 0;
+            if (item.slot == null || item.slot < 0 || item.slot >= frame.length) continue;
+            long remainingSeconds = Math.max(user.getRemainingCooldown(gkits.getKey(), now), 0) / 1000;
+            ItemStack itemStack = renderedItems.get(gkits.getKey());
+            if (itemStack == null || renderedSeconds.get(gkits.getKey()) != remainingSeconds) {
+                itemStack = IridiumEnchants.getInstance().getItemTemplateManager().getItem(item, TimeUtils.getCountdownPlaceholders(remainingSeconds * 1000, true));
+                renderedSeconds.put(gkits.getKey(), remainingSeconds);
+                renderedItems.put(gkits.getKey(), itemStack);
             }
+            frame[item.slot] = itemStack;
         }
     }
 
@@ -88,28 +82,41 @@ public class GKitsGUI implements GUI {
                         ));
                         return;
                     }
-                    LocalDateTime cooldown = user.getCooldown(gkit.getKey());
-                    if (LocalDateTime.now().until(cooldown, ChronoUnit.SECONDS) > 0) {
-                        long days = LocalDateTime.now().until(cooldown, ChronoUnit.DAYS);
-                        long hours = LocalDateTime.now().until(cooldown, ChronoUnit.HOURS) - (days * 24);
-                        long minutes = LocalDateTime.now().until(cooldown, ChronoUnit.MINUTES) - ((hours + (days * 24)) * 60);
-                        long seconds = LocalDateTime.now().until(cooldown, ChronoUnit.SECONDS) - ((minutes + (hours + (days * 24)) * 60) * 60);
-                        event.getWhoClicked().sendMessage(StringUtils.color(IridiumEnchants.getInstance().getMessages().gkitOnCooldown
-                                .replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)
-                                .replace("%gkit%", gkit.getKey())
-                                .replace("%days%", String.valueOf((int) Math.max(days, 0)))
-                                .replace("%hours%", String.valueOf((int) Math.max(hours, 0)))
-                                .replace("%minutes%", String.valueOf((int) Math.max(minutes, 0)))
-                                .replace("%seconds%", String.valueOf((int) Math.max(seconds, 0)))
-                        ));
+                    long now = System.currentTimeMillis();
+                    long remainingCooldown = user.getRemainingCooldown(gkit.getKey(), now);
+                    if (remainingCooldown > 0) {
+                        sendCooldownMessage(player, gkit.getKey(), remainingCooldown);
+                        return;
+                    }
+                    if (IridiumEnchants.getInstance().getDatabaseManager().isShared()) {
+                        // Another server could have redeemed the gkit since the last poll, so the database decides
+                        long expiry = now + gkit.getValue().cooldown * 1000L;
+                        IridiumEnchants.getInstance().getUserManager().claimCooldown(user, "gkit:" + gkit.getKey(), expiry, blockedUntil -> {
+                            if (blockedUntil > 0) {
+                                sendCooldownMessage(player, gkit.getKey(), blockedUntil - System.currentTimeMillis());
+                            } else if (player.isOnline()) {
+                                giveItems(player, gkit.getValue());
+                            }
+                        });
                         return;
                     }
-                    IridiumEnchants.getInstance().getUserManager().getUser((OfflinePlayer) event.getWhoClicked()).applyCooldown(gkit.getKey(), gkit.getValue().cooldown);
-                    IridiumEnchants.getInstance().getGkitsManager().getItemsFromGkit(gkit.getValue()).forEach(itemStack ->
-                            player.getInventory().addItem(itemStack).values().forEach(item ->
-                                    player.getWorld().dropItem(player.getLocation(), item)));
+                    user.applyCooldown(gkit.getKey(), gkit.getValue().cooldown);
+                    giveItems(player, gkit.getValue());
                 }
             }
         }
     }
+
+    private void sendCooldownMessage(Player player, String gkit, long remainingCooldown) {
+        player.sendMessage(StringUtils.color(TimeUtils.formatCountdown(IridiumEnchants.getInstance().getMessages().gkitOnCooldown, remainingCooldown)
+                .replace("%prefix%", IridiumEnchants.getInstance().getConfiguration().prefix)
+                .replace("%gkit%", gkit)
+        ));
+    }
+
+    private void giveItems(Player player, GKit gKit) {
+        IridiumEnchants.getInstance().getGkitsManager().getItemsFromGkit(gKit).forEach(itemStack ->
+                player.getInventory().addItem(itemStack).values().forEach(item ->
+                        player.getWorld().dropItem(player.getLocation(), item)));
+    }
 }
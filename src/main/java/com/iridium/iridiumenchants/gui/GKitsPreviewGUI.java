@@ -1,13 +1,9 @@
 package com.iridium.iridiumenchants.gui;
 
-import com.iridium.iridiumcore.gui.GUI;
-import com.iridium.iridiumcore.utils.InventoryUtils;
-import com.iridium.iridiumcore.utils.StringUtils;
 import com.iridium.iridiumenchants.GKit;
 import com.iridium.iridiumenchants.IridiumEnchants;
 import com.iridium.iridiumenchants.configs.inventories.NoItemGUI;
 import lombok.AllArgsConstructor;
-import org.bukkit.Bukkit;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -17,25 +13,28 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @AllArgsConstructor
-public class GKitsPreviewGUI implements GUI {
+public class GKitsPreviewGUI extends RenderedGUI {
     private final Map.Entry<String, GKit> gKit;
 
     @NotNull
     @Override
     public Inventory getInventory() {
         NoItemGUI noItemGUI = IridiumEnchants.getInstance().getInventories().gkitsPreview;
-        Inventory inventory = Bukkit.createInventory(this, noItemGUI.size, StringUtils.color(noItemGUI.title.replace("%gkit%", gKit.getKey())));
-        addContent(inventory);
-        return inventory;
+        return createInventory(noItemGUI.size, noItemGUI.title.replace("%gkit%", gKit.getKey()));
     }
 
     @Override
-    public void addContent(Inventory inventory) {
-        InventoryUtils.fillInventory(inventory, IridiumEnchants.getInstance().getInventories().gkitsPreview.background);
+    public int getRefreshInterval() {
+        return 0;
+    }
+
+    @Override
+    protected void render(ItemStack[] frame, int ticks) {
+        fillBackground(frame, IridiumEnchants.getInstance().getInventories().gkitsPreview.background);
         AtomicInteger slot = new AtomicInteger(0);
-        for (ItemStack itemStack : IridiumEnchants.getInstance().getGkitsManager().getItemsFromGkit(gKit.getValue())) {
+        for (ItemStack itemStack : IridiumEnchants.getInstance().getGkitsManager().getTemplates(gKit.getValue())) {
             int currentSlot = slot.getAndIncrement();
-            if (inventory.getSize() > currentSlot) inventory.setItem(currentSlot, itemStack);
+            if (frame.length > currentSlot) frame[currentSlot] = itemStack;
         }
     }
 
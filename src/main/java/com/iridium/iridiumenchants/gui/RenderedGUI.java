@@ -0,0 +1,127 @@
+package com.iridium.iridiumenchants.gui;
+
+import com.iridium.iridiumcore.Background;
+import com.iridium.iridiumcore.gui.GUI;
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.configs.inventories.AnimatedBackgroundGUI;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+
+/**
+ * A GUI which renders its content into a frame and only writes the slots which changed since the previous frame.
+ */
+public abstract class RenderedGUI implements GUI {
+
+    private ItemStack[] previousFrame;
+    private int openedTick;
+    private int lastRefreshTick = -1;
+
+    /**
+     * Gets how often the content of this GUI changes while it is open.
+     *
+     * @return The refresh interval in ticks, 0 if the content never changes
+     */
+    public abstract int getRefreshInterval();
+
+    /**
+     * Checks if the content of this GUI changed since the previous frame, called every refresh interval.
+     *
+     * @param ticks The ticks since this GUI was opened
+     * @return true if a new frame should be rendered
+     */
+    protected boolean isDirty(int ticks) {
+        return true;
+    }
+
+    /**
+     * Renders the content of this GUI.
+     *
+     * @param frame The slots of the inventory, all empty when this is called
+     * @param ticks The ticks since this GUI was opened
+     */
+    protected abstract void render(ItemStack[] frame, int ticks);
+
+    /**
+     * Creates a new inventory for this GUI and renders the first frame into it.
+     *
+     * @param size  The size of the inventory
+     * @param title The title, will be colored
+     * @return The inventory
+     */
+    protected Inventory createInventory(int size, String title) {
+        Inventory inventory = Bukkit.createInventory(this, size, StringUtils.color(title));
+        previousFrame = null;
+        openedTick = IridiumEnchants.getInstance().getGuiManager().getTick();
+        addContent(inventory);
+        return inventory;
+    }
+
+    /**
+     * Renders a new frame if this GUI is due according to its refresh interval.
+     *
+     * @param inventory The inventory of this GUI
+     * @param tick      The current tick of the GUI refresh task
+     */
+    public void refresh(Inventory inventory, int tick) {
+        int interval = getRefreshInterval();
+        if (interval <= 0 || tick == lastRefreshTick || (tick - openedTick) % interval != 0 || !isDirty(tick - openedTick)) return;
+        lastRefreshTick = tick;
+        addContent(inventory);
+    }
+
+    @Override
+    public void addContent(Inventory inventory) {
+        ItemStack[] frame = new ItemStack[inventory.getSize()];
+        render(frame, IridiumEnchants.getInstance().getGuiManager().getTick() - openedTick);
+        for (int slot = 0; slot < frame.length; slot++) {
+            if (previousFrame != null && previousFrame.length == frame.length && isSame(previousFrame[slot], frame[slot])) continue;
+            inventory.setItem(slot, frame[slot]);
+        }
+        previousFrame = frame;
+    }
+
+    private boolean isSame(ItemStack previous, ItemStack current) {
+        return previous == current || (previous != null && previous.equals(current));
+    }
+
+    /**
+     * Renders a background into a frame.
+     *
+     * @param frame      The frame
+     * @param background The background, may be null
+     */
+    protected void fillBackground(ItemStack[] frame, Background background) {
+        if (background == null) return;
+        ItemStack[] slots = IridiumEnchants.getInstance().getItemTemplateManager().getBackground(background, frame.length);
+        for (int slot = 0; slot < frame.length; slot++) {
+            if (slots[slot] != null) frame[slot] = slots[slot];
+        }
+    }
+
+    /**
+     * Gets the background frame of an animated GUI which is shown after the specified number of ticks.
+     *
+     * @param animatedBackgroundGUI The animated GUI
+     * @param ticks                 The ticks since the GUI was opened
+     * @return The background, null if there is none
+     */
+    protected Background getBackgroundFrame(AnimatedBackgroundGUI animatedBackgroundGUI, int ticks) {
+        Map<Integer, Background> backgroundFrames = animatedBackgroundGUI.background.backgroundFrames;
+        if (backgroundFrames.isEmpty()) return null;
+        return backgroundFrames.get((ticks / Math.max(animatedBackgroundGUI.nextFrameInterval, 1)) % backgroundFrames.size());
+    }
+
+    /**
+     * Gets how often an animated GUI has to be refreshed to show every background frame.
+     *
+     * @param animatedBackgroundGUI The animated GUI
+     * @return The interval in ticks, 0 if the background is not animated
+     */
+    protected int getAnimationInterval(AnimatedBackgroundGUI animatedBackgroundGUI) {
+        return animatedBackgroundGUI.background.backgroundFrames.size() > 1 ? Math.max(animatedBackgroundGUI.nextFrameInterval, 1) : 0;
+    }
+}
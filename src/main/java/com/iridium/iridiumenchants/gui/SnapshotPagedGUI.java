@@ -0,0 +1,126 @@
+package com.iridium.iridiumenchants.gui;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.configs.Inventories;
+import com.iridium.iridiumenchants.configs.inventories.NoItemGUI;
+import com.iridium.iridiumenchants.managers.ItemTemplateManager;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A paged GUI whose pages are rendered once per registry version and shared by every viewer.
+ * Changing the page swaps the content of the open inventory instead of opening a new one.
+ */
+public abstract class SnapshotPagedGUI extends RenderedGUI {
+
+    private int page;
+    private List<ItemStack[]> pages;
+    private int pagesGeneration;
+
+    public SnapshotPagedGUI(int page) {
+        this.page = page;
+    }
+
+    /**
+     * Gets the layout of this GUI.
+     *
+     * @return The size, title and background
+     */
+    protected abstract NoItemGUI getLayout();
+
+    /**
+     * Gets the title of this GUI.
+     *
+     * @return The title, will be colored
+     */
+    protected String getTitle() {
+        return getLayout().title;
+    }
+
+    /**
+     * Identifies the pages of this GUI in the shared cache.
+     *
+     * @return The key, or null if the pages are specific to this GUI and should not be shared
+     */
+    protected abstract String getSnapshotKey();
+
+    /**
+     * Renders every item shown in this GUI, only called when the pages are not cached yet.
+     *
+     * @return The items, in order
+     */
+    protected abstract List<ItemStack> getItems();
+
+    @NotNull
+    @Override
+    public Inventory getInventory() {
+        return createInventory(getLayout().size, getTitle());
+    }
+
+    @Override
+    public int getRefreshInterval() {
+        return 0;
+    }
+
+    @Override
+    protected void render(ItemStack[] frame, int ticks) {
+        List<ItemStack[]> pages = getPages(frame.length);
+        page = Math.max(1, Math.min(page, pages.size()));
+        ItemStack[] slots = pages.get(page - 1);
+        System.arraycopy(slots, 0, frame, 0, Math.min(slots.length, frame.length));
+    }
+
+    @Override
+    public void onInventoryClick(InventoryClickEvent event) {
+        int size = event.getInventory().getSize();
+        if (event.getSlot() == size - 7) {
+            if (page > 1) {
+                page--;
+                addContent(event.getInventory());
+            }
+        } else if (event.getSlot() == size - 3) {
+            if (page < getPages(size).size()) {
+                page++;
+                addContent(event.getInventory());
+            }
+        }
+    }
+
+    private List<ItemStack[]> getPages(int size) {
+        String snapshotKey = getSnapshotKey();
+        if (snapshotKey != null) {
+            return IridiumEnchants.getInstance().getItemTemplateManager().getPages(snapshotKey + ":" + size, () -> renderPages(size));
+        }
+        // Pages which aren't shared are outdated as well when the shared ones are cleared, e.g. by a quarantine
+        int generation = IridiumEnchants.getInstance().getItemTemplateManager().getPagesGeneration();
+        if (pages == null || pages.get(0).length != size || pagesGeneration != generation) {
+            pages = renderPages(size);
+            pagesGeneration = generation;
+        }
+        return pages;
+    }
+
+    private List<ItemStack[]> renderPages(int size) {
+        ItemTemplateManager itemTemplateManager = IridiumEnchants.getInstance().getItemTemplateManager();
+        Inventories inventories = IridiumEnchants.getInstance().getInventories();
+        ItemStack[] background = itemTemplateManager.getBackground(getLayout().background, size);
+        List<ItemStack> items = getItems();
+        int pageSize = size - 9;
+        List<ItemStack[]> pages = new ArrayList<>();
+        for (int start = 0; start < items.size() || pages.isEmpty(); start += pageSize) {
+            ItemStack[] slots = background.clone();
+            slots[size - 7] = itemTemplateManager.getItem(inventories.previousPage);
+            slots[size - 3] = itemTemplateManager.getItem(inventories.nextPage);
+            for (int slot = 0; slot < pageSize && start + slot < items.size(); slot++) {
+                slots[slot] = items.get(start + slot);
+            }
+            pages.add(slots);
+        }
+        return pages;
+    }
+}
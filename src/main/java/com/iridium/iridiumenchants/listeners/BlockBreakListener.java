@@ -1,8 +1,7 @@
 package com.iridium.iridiumenchants.listeners;
 
 import com.iridium.iridiumenchants.IridiumEnchants;
-import com.iridium.iridiumenchants.effects.Coat;
-import com.iridium.iridiumenchants.effects.ReplaceNear;
+import com.iridium.iridiumenchants.TriggerType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -17,20 +16,7 @@ public class BlockBreakListener implements Listener {
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onBlockBreak(BlockBreakEvent event) {
-        ReplaceNear.blockStates.keySet().stream()
-                .filter(blockState -> blockState.getBlock().equals(event.getBlock()))
-                .findAny().ifPresent(blockState -> {
-            event.setCancelled(true);
-            blockState.update(true, false);
-            ReplaceNear.blockStates.remove(blockState);
-        });
-        Coat.blockStates.keySet().stream()
-                .filter(blockState -> blockState.getBlock().equals(event.getBlock()))
-                .findAny().ifPresent(blockState -> {
-            event.setCancelled(true);
-            blockState.update(true, false);
-            Coat.blockStates.remove(blockState);
-        });
+        if (!IridiumEnchants.getInstance().getTriggerManager().isEquipped(TriggerType.BLOCK_BREAK)) return;
         Player player = event.getPlayer();
 
         List<ItemStack> itemStackList = Arrays.asList(
@@ -41,7 +27,7 @@ public class BlockBreakListener implements Listener {
                 player.getInventory().getHelmet()
         );
         for (ItemStack itemStack : itemStackList) {
-            IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> trigger.equalsIgnoreCase("BLOCK_BREAK"), player, null, event);
+            IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, TriggerType.BLOCK_BREAK, player, null, event);
         }
     }
 
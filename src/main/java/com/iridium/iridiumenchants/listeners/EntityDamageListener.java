@@ -1,6 +1,8 @@
 package com.iridium.iridiumenchants.listeners;
 
 import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.managers.TriggerManager;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
@@ -17,8 +19,9 @@ public class EntityDamageListener implements Listener {
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onEntityDamage(EntityDamageByEntityEvent event) {
+        TriggerManager triggerManager = IridiumEnchants.getInstance().getTriggerManager();
         if ((event.getDamager() instanceof LivingEntity) && (event.getEntity() instanceof LivingEntity)) {
-            if (event.getDamager() instanceof Player) {
+            if (event.getDamager() instanceof Player && triggerManager.isEquipped(TriggerType.PLAYER_DAMAGE)) {
                 Player player = (Player) event.getDamager();
 
                 List<ItemStack> itemStackList = Arrays.asList(
@@ -29,10 +32,10 @@ public class EntityDamageListener implements Listener {
                         player.getInventory().getHelmet()
                 );
                 for (ItemStack itemStack : itemStackList) {
-                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> trigger.equalsIgnoreCase("PLAYER_DAMAGE"), player, (LivingEntity) event.getEntity(), event);
+                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, TriggerType.PLAYER_DAMAGE, player, (LivingEntity) event.getEntity(), event);
                 }
             }
-            if (event.getEntity() instanceof Player) {
+            if (event.getEntity() instanceof Player && triggerManager.isEquipped(TriggerType.DEFENCE)) {
                 Player player = (Player) event.getEntity();
 
                 List<ItemStack> itemStackList = Arrays.asList(
@@ -43,12 +46,12 @@ public class EntityDamageListener implements Listener {
                         player.getInventory().getHelmet()
                 );
                 for (ItemStack itemStack : itemStackList) {
-                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> trigger.equalsIgnoreCase("DEFENCE"), player, (LivingEntity) event.getDamager(), event);
+                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, TriggerType.DEFENCE, player, (LivingEntity) event.getDamager(), event);
                 }
             }
         }
 
-        if (event.getDamager() instanceof Projectile) {
+        if (event.getDamager() instanceof Projectile && triggerManager.isEquipped(TriggerType.PLAYER_DAMAGE_PROJECTILE)) {
             Projectile projectile = (Projectile) event.getDamager();
             if (projectile.getShooter() instanceof Player) {
                 Player player = (Player) projectile.getShooter();
@@ -61,7 +64,7 @@ public class EntityDamageListener implements Listener {
                         player.getInventory().getHelmet()
                 );
                 for (ItemStack itemStack : itemStackList) {
-                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> trigger.equalsIgnoreCase("PLAYER_DAMAGE_PROJECTILE"), player, (LivingEntity) event.getEntity(), event);
+                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, TriggerType.PLAYER_DAMAGE_PROJECTILE, player, (LivingEntity) event.getEntity(), event);
                 }
             }
         }
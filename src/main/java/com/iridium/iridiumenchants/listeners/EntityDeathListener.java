@@ -1,6 +1,8 @@
 package com.iridium.iridiumenchants.listeners;
 
 import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.managers.TriggerManager;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -15,9 +17,10 @@ public class EntityDeathListener implements Listener {
 
     @EventHandler
     public void onEntityDeath(EntityDeathEvent event) {
+        TriggerManager triggerManager = IridiumEnchants.getInstance().getTriggerManager();
         Player killer = event.getEntity().getKiller();
         if (killer != null) {
-            if (event.getEntity() instanceof Player) {
+            if (event.getEntity() instanceof Player && triggerManager.isEquipped(TriggerType.PLAYER_KILL)) {
                 List<ItemStack> itemStackList = Arrays.asList(
                         killer.getItemInHand(),
                         killer.getInventory().getBoots(),
@@ -26,21 +29,23 @@ public class EntityDeathListener implements Listener {
                         killer.getInventory().getHelmet()
                 );
                 for (ItemStack itemStack : itemStackList) {
-                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> trigger.equalsIgnoreCase("PLAYER_KILL"), killer, event.getEntity(), event);
+                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, TriggerType.PLAYER_KILL, killer, event.getEntity(), event);
                 }
             }
-            List<ItemStack> itemStackList = Arrays.asList(
-                    killer.getItemInHand(),
-                    killer.getInventory().getBoots(),
-                    killer.getInventory().getLeggings(),
-                    killer.getInventory().getChestplate(),
-                    killer.getInventory().getHelmet()
-            );
-            for (ItemStack itemStack : itemStackList) {
-                IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> trigger.equalsIgnoreCase("ENTITY_KILL"), killer, event.getEntity(), event);
+            if (triggerManager.isEquipped(TriggerType.ENTITY_KILL)) {
+                List<ItemStack> itemStackList = Arrays.asList(
+                        killer.getItemInHand(),
+                        killer.getInventory().getBoots(),
+                        killer.getInventory().getLeggings(),
+                        killer.getInventory().getChestplate(),
+                        killer.getInventory().getHelmet()
+                );
+                for (ItemStack itemStack : itemStackList) {
+                    IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, TriggerType.ENTITY_KILL, killer, event.getEntity(), event);
+                }
             }
         }
-        if (event.getEntity() instanceof Player) {
+        if (event.getEntity() instanceof Player && triggerManager.isEquipped(TriggerType.PLAYER_DEATH)) {
             Player player = (Player) event.getEntity();
 
             List<ItemStack> itemStackList = Arrays.asList(
@@ -51,7 +56,7 @@ public class EntityDeathListener implements Listener {
                     player.getInventory().getHelmet()
             );
             for (ItemStack itemStack : itemStackList) {
-                IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> trigger.equalsIgnoreCase("PLAYER_DEATH"), player, killer, event);
+                IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, TriggerType.PLAYER_DEATH, player, killer, event);
             }
         }
     }
@@ -1,6 +1,7 @@
 package com.iridium.iridiumenchants.listeners;
 
 import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.TriggerType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -14,6 +15,7 @@ public class EntityShootBowListener implements Listener {
 
     @EventHandler
     public void onEntityShootBow(EntityShootBowEvent event) {
+        if (!IridiumEnchants.getInstance().getTriggerManager().isEquipped(TriggerType.BOW_FIRE)) return;
         if (event.getEntity() instanceof Player) {
             Player player = (Player) event.getEntity();
 
@@ -25,7 +27,7 @@ public class EntityShootBowListener implements Listener {
                     player.getInventory().getHelmet()
             );
             for (ItemStack itemStack : itemStackList) {
-                IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, trigger -> trigger.equalsIgnoreCase("BOW_FIRE"), player, event.getEntity(), event);
+                IridiumEnchants.getInstance().getCustomEnchantManager().applyEffectsFromItem(itemStack, TriggerType.BOW_FIRE, player, event.getEntity(), event);
             }
         }
     }
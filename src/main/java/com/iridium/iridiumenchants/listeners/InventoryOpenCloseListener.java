@@ -0,0 +1,22 @@
+package com.iridium.iridiumenchants.listeners;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+
+public class InventoryOpenCloseListener implements Listener {
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        IridiumEnchants.getInstance().getGuiManager().open(event.getPlayer().getUniqueId(), event.getInventory());
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        IridiumEnchants.getInstance().getGuiManager().close(event.getPlayer().getUniqueId());
+    }
+
+}
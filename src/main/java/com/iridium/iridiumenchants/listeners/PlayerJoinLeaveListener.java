@@ -2,14 +2,30 @@ package com.iridium.iridiumenchants.listeners;
 
 import com.iridium.iridiumenchants.IridiumEnchants;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 public class PlayerJoinLeaveListener implements Listener {
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        IridiumEnchants.getInstance().getUserManager().preload(event.getUniqueId());
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         IridiumEnchants.getInstance().getUserManager().getUser(event.getPlayer());
     }
 
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        IridiumEnchants.getInstance().getGuiManager().close(event.getPlayer().getUniqueId());
+        IridiumEnchants.getInstance().getTemporaryBlockManager().forget(event.getPlayer());
+        IridiumEnchants.getInstance().getScheduledEffectManager().cancel(event.getPlayer());
+    }
+
 }
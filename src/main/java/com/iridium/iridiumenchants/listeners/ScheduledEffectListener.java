@@ -0,0 +1,15 @@
+package com.iridium.iridiumenchants.listeners;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+
+public class ScheduledEffectListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        IridiumEnchants.getInstance().getScheduledEffectManager().cancel(event.getEntity());
+    }
+}
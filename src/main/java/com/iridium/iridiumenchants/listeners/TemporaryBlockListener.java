@@ -0,0 +1,19 @@
+package com.iridium.iridiumenchants.listeners;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+
+public class TemporaryBlockListener implements Listener {
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onBlockBreak(BlockBreakEvent event) {
+        // Ghost blocks are only removed, the block which is really there is broken as usual
+        if (IridiumEnchants.getInstance().getTemporaryBlockManager().restore(event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+}
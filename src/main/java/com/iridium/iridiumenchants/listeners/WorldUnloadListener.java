@@ -0,0 +1,15 @@
+package com.iridium.iridiumenchants.listeners;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+public class WorldUnloadListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        IridiumEnchants.getInstance().getEffectLimiter().unload(event.getWorld());
+    }
+}
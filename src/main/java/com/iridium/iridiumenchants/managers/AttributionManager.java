@@ -0,0 +1,91 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.metrics.ChunkKey;
+import com.iridium.iridiumenchants.metrics.SpaceSaving;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Attributes the time spent on enchants to the players using them and the chunks they are in.
+ * Each of them is tracked by two {@link SpaceSaving} sketches, the current and the previous window,
+ * so the memory stays bounded no matter how many players and chunks there are,
+ * and the reported offenders always cover between one and two windows.
+ * Dispatching only happens on the main thread, so no synchronization is needed.
+ */
+public class AttributionManager {
+
+    private SpaceSaving<UUID> players;
+    private SpaceSaving<UUID> previousPlayers;
+    private SpaceSaving<ChunkKey> chunks;
+    private SpaceSaving<ChunkKey> previousChunks;
+
+    public AttributionManager() {
+        int size = Math.max(IridiumEnchants.getInstance().getConfiguration().attributionSize, 1);
+        this.players = new SpaceSaving<>(size);
+        this.previousPlayers = new SpaceSaving<>(size);
+        this.chunks = new SpaceSaving<>(size);
+        this.previousChunks = new SpaceSaving<>(size);
+    }
+
+    /**
+     * Attributes time spent on the enchants of an entity.
+     *
+     * @param entity The entity using the enchants
+     * @param nanos  The time in nanoseconds
+     */
+    public void record(LivingEntity entity, long nanos) {
+        if (nanos <= 0) return;
+        players.add(entity.getUniqueId(), nanos);
+        Location location = entity.getLocation();
+        if (location.getWorld() == null) return;
+        chunks.add(new ChunkKey(location.getWorld().getName(), location.getBlockX() >> 4, location.getBlockZ() >> 4), nanos);
+    }
+
+    /**
+     * Starts a new window, dropping the oldest one.
+     */
+    public void rotate() {
+        SpaceSaving<UUID> players = previousPlayers;
+        players.clear();
+        previousPlayers = this.players;
+        this.players = players;
+
+        SpaceSaving<ChunkKey> chunks = previousChunks;
+        chunks.clear();
+        previousChunks = this.chunks;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Gets the players which spent the most time on enchants.
+     *
+     * @param limit The maximum amount of players
+     * @return The estimates, heaviest first
+     */
+    public List<SpaceSaving.Estimate<UUID>> getTopPlayers(int limit) {
+        return SpaceSaving.getTop(previousPlayers, players, limit);
+    }
+
+    /**
+     * Gets the chunks in which the most time was spent on enchants.
+     *
+     * @param limit The maximum amount of chunks
+     * @return The estimates, heaviest first
+     */
+    public List<SpaceSaving.Estimate<ChunkKey>> getTopChunks(int limit) {
+        return SpaceSaving.getTop(previousChunks, chunks, limit);
+    }
+
+    /**
+     * Gets the total time attributed in the current and the previous window.
+     *
+     * @return The total in nanoseconds
+     */
+    public long getTotal() {
+        return previousPlayers.getTotal() + players.getTotal();
+    }
+}
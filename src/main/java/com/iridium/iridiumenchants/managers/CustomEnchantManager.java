@@ -3,15 +3,16 @@ package com.iridium.iridiumenchants.managers;
 import com.iridium.iridiumcore.Item;
 import com.iridium.iridiumcore.dependencies.nbtapi.NBTCompound;
 import com.iridium.iridiumcore.dependencies.nbtapi.NBTItem;
-import com.iridium.iridiumcore.utils.ItemStackUtils;
 import com.iridium.iridiumcore.utils.Placeholder;
 import com.iridium.iridiumcore.utils.StringUtils;
 import com.iridium.iridiumenchants.CustomEnchant;
 import com.iridium.iridiumenchants.IridiumEnchants;
-import com.iridium.iridiumenchants.Level;
 import com.iridium.iridiumenchants.Trigger;
-import com.iridium.iridiumenchants.conditions.Condition;
-import com.iridium.iridiumenchants.effects.Effect;
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.metrics.EnchantMetrics;
+import com.iridium.iridiumenchants.profiling.Probes;
+import com.iridium.iridiumenchants.registry.*;
+import com.iridium.iridiumenchants.utils.CooldownTable;
 import org.apache.commons.lang.WordUtils;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -23,6 +24,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class CustomEnchantManager {
@@ -137,7 +139,7 @@ public class CustomEnchantManager {
      */
     public ItemStack getEnchantmentCrystal(String iridiumEnchant, CustomEnchant customEnchant, int level) {
         Item item = IridiumEnchants.getInstance().getConfiguration().enchantmentCrystal;
-        NBTItem nbtItem = new NBTItem(ItemStackUtils.makeItem(item, Arrays.asList(
+        NBTItem nbtItem = new NBTItem(IridiumEnchants.getInstance().getItemTemplateManager().getItem(item, Arrays.asList(
                 new Placeholder("enchant", WordUtils.capitalize(iridiumEnchant) + " " + toRomanNumerals(level)),
                 new Placeholder("type", WordUtils.capitalize(customEnchant.getType().name().toLowerCase())),
                 new Placeholder("description", customEnchant.getDescription())
@@ -174,35 +176,123 @@ public class CustomEnchantManager {
      * @param target    The specified target
      */
     public void applyEffectsFromItem(ItemStack itemStack, Trigger trigger, LivingEntity player, LivingEntity target, Event event) {
-        Map<String, Integer> enchants = IridiumEnchants.getInstance().getCustomEnchantManager().getEnchantmentsFromItem(itemStack);
+        Map<String, Integer> enchants = getEnchantmentsFromItem(itemStack);
+        applyEffects(itemStack, enchants, compiledEnchant -> trigger.isTrigger(compiledEnchant.getTrigger()), player, target, event);
+    }
+
+    /**
+     * Applies all effects from an ItemStack with a given trigger, bounded by the {@link DispatchTracker}
+     *
+     * @param itemStack   The specified ItemStack
+     * @param triggerType the specified Trigger
+     * @param player      the specified Player
+     * @param target      The specified target
+     */
+    public void applyEffectsFromItem(ItemStack itemStack, TriggerType triggerType, LivingEntity player, LivingEntity target, Event event) {
+        DispatchTracker dispatchTracker = IridiumEnchants.getInstance().getDispatchTracker();
+        if (!dispatchTracker.enter(triggerType, event)) return;
+        IridiumEnchants.getInstance().getMetricsManager().recordTrigger(triggerType);
+        Probes.Dispatch dispatchProbe = ProfilingManager.beginDispatch();
+        try {
+            applyEffectsFromItem(itemStack, (Trigger) triggerType, player, target, event);
+        } finally {
+            dispatchTracker.exit();
+            dispatchProbe.finish(triggerType, event, player);
+        }
+    }
+
+    /**
+     * Applies the effects of the already decoded enchants of an ItemStack
+     *
+     * @param itemStack The specified ItemStack
+     * @param enchants  The enchants on this ItemStack
+     * @param filter    Which enchants should be applied
+     * @param player    the specified Player
+     * @param target    The specified target
+     */
+    public void applyEffects(ItemStack itemStack, Map<String, Integer> enchants, Predicate<CompiledEnchant> filter, LivingEntity player, LivingEntity target, Event event) {
+        EnchantRegistry registry = IridiumEnchants.getInstance().getRegistry();
+        ProcLimiter procLimiter = IridiumEnchants.getInstance().getProcLimiter();
+        MetricsManager metricsManager = IridiumEnchants.getInstance().getMetricsManager();
+        WatchdogManager watchdogManager = IridiumEnchants.getInstance().getWatchdogManager();
+        LoadGovernor loadGovernor = IridiumEnchants.getInstance().getLoadGovernor();
+        long now = 0;
+        long attributed = 0;
         for (Map.Entry<String, Integer> enchant : enchants.entrySet()) {
-            CustomEnchant customEnchant = IridiumEnchants.getInstance().getCustomEnchants().customEnchants.get(enchant.getKey());
-            if (customEnchant == null) continue;
-            if (!trigger.isTrigger(customEnchant.trigger)) continue;
-            Level level = customEnchant.levels.get(enchant.getValue());
+            CompiledEnchant compiledEnchant = registry.getEnchant(enchant.getKey());
+            if (compiledEnchant == null || !compiledEnchant.isEnabled()) continue;
+            if (!filter.test(compiledEnchant)) continue;
+            if (watchdogManager.isQuarantined(compiledEnchant)) continue;
+            CompiledLevel level = compiledEnchant.getLevel(enchant.getValue());
             if (level == null) continue;
+            EnchantMetrics enchantMetrics = metricsManager.getEnchantMetrics(compiledEnchant);
+            enchantMetrics.getEvaluations().increment();
+            Probes.EnchantEvaluation evaluationProbe = ProfilingManager.beginEnchantEvaluation();
+            // Limited levels are checked before the chance and conditions, so suppressed procs are cheap
+            if (level.isLimited()) {
+                if (now == 0) now = CooldownTable.currentTime();
+                if (procLimiter.isSuppressed(compiledEnchant, level, player.getUniqueId(), now)) {
+                    enchantMetrics.getSuppressed().increment();
+                    evaluationProbe.finish(compiledEnchant, level, player, "SUPPRESSED");
+                    continue;
+                }
+            }
+            long start = System.nanoTime();
             double random = Math.random() * 100;
-            if (random > level.chance) continue;
+            if (random > level.getChance()) {
+                enchantMetrics.getChanceLost().increment();
+                evaluationProbe.finish(compiledEnchant, level, player, "CHANCE_LOST");
+                continue;
+            }
+            enchantMetrics.getChanceWon().increment();
             boolean canApplyEffects = true;
-            for (String conditions : level.conditions) {
-                String[] conditionArgs = conditions.toUpperCase().split(" ");
-                if (conditionArgs.length == 0) continue;
-                Condition condition = IridiumEnchants.getInstance().getConditions().get(conditionArgs[0]);
-                if (condition != null) {
-                    if (!condition.apply(player, target, conditionArgs, itemStack)) canApplyEffects = false;
-                }
+            for (CompiledCondition condition : level.getConditions()) {
+                if (!condition.test(player, target, itemStack)) canApplyEffects = false;
             }
             if (canApplyEffects) {
-                for (String effects : level.effects) {
-                    String[] effectArgs = effects.toUpperCase().split(":");
-                    if (effectArgs.length == 0) continue;
-                    Effect effect = IridiumEnchants.getInstance().getEffects().get(effectArgs[0]);
-                    if (effect != null) {
-                        effect.apply(player, target, effectArgs, event);
-                    }
+                if (level.isLimited()) procLimiter.recordProc(compiledEnchant, level, player.getUniqueId(), now);
+                enchantMetrics.getProcs().increment();
+                for (CompiledEffect effect : level.getEffects()) {
+                    if (loadGovernor.isDegraded() && loadGovernor.divert(effect, compiledEnchant, player, target)) continue;
+                    applyEffect(effect, compiledEnchant, player, target, event);
                 }
+                evaluationProbe.finish(compiledEnchant, level, player, "PROC");
+            } else {
+                enchantMetrics.getConditionFailures().increment();
+                evaluationProbe.finish(compiledEnchant, level, player, "CONDITIONS_FAILED");
             }
+            long nanos = System.nanoTime() - start;
+            enchantMetrics.getLatency().record(nanos);
+            enchantMetrics.getWindow().record(nanos);
+            attributed += nanos;
+        }
+        // Nested dispatches are already part of the time of the outermost one
+        if (attributed > 0 && IridiumEnchants.getInstance().getDispatchTracker().getDepth() <= 1) {
+            IridiumEnchants.getInstance().getAttributionManager().record(player, attributed);
+        }
+    }
+
+    /**
+     * Applies a single effect of an enchant through the watchdog, and records it in the effect metrics and the profiler.
+     * Used for the effects of a proc as well as the ones which were scheduled or deferred.
+     *
+     * @param effect          The effect
+     * @param compiledEnchant The enchant of the effect
+     * @param player          The player using the enchant
+     * @param target          The target of the enchant
+     * @param event           The event which triggered the enchant, null if it is already over
+     */
+    public void applyEffect(CompiledEffect effect, CompiledEnchant compiledEnchant, LivingEntity player, LivingEntity target, Event event) {
+        WatchdogManager watchdogManager = IridiumEnchants.getInstance().getWatchdogManager();
+        Probes.EffectExecution executionProbe = ProfilingManager.beginEffectExecution();
+        long start = watchdogManager.enter();
+        try {
+            effect.apply(player, target, event, compiledEnchant);
+        } finally {
+            long nanos = watchdogManager.exit(compiledEnchant, effect.getName(), player, start);
+            IridiumEnchants.getInstance().getMetricsManager().getEffectMetrics(effect.getName()).getLatency().record(nanos);
         }
+        executionProbe.finish(effect.getName(), compiledEnchant, player);
     }
 
 }
@@ -0,0 +1,320 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.configs.SQL;
+import com.iridium.iridiumenchants.database.CooldownChange;
+import com.iridium.iridiumenchants.database.CooldownRecord;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.logger.LogBackendType;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.UpdateBuilder;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Stores user data in the database configured in sql.yml.
+ * Every query runs on a background executor, using virtual threads where the runtime supports them and a fixed pool otherwise.
+ * The amount of concurrent queries is limited by the pool size either way.
+ * <p>
+ * Cooldowns are written with a conditional update which only succeeds if the stored cooldown ends earlier, so the later
+ * expiry always wins and concurrent writes from several servers end up with the same value in any order. Claims instead
+ * use a conditional write which only succeeds while no cooldown is running, so exactly one server wins.
+ * Both run as single statements outside of transactions, so every retry sees what the other servers committed. In shared mode every write is also appended to a change feed,
+ * which the other servers poll to update the users they have cached.
+ */
+public class DatabaseManager {
+
+    private static final int MAX_ATTEMPTS = 3;
+    // How long changes are kept in the feed, and how many ids every poll looks back to catch changes committed out of order
+    private static final long CHANGE_RETENTION = TimeUnit.MINUTES.toMillis(10);
+    private static final long POLL_OVERLAP = 200;
+    private static final long PRUNE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private ExecutorService executor;
+    private Semaphore permits;
+    @Getter
+    private boolean virtualThreads;
+    private CompletableFuture<Void> connected;
+    private ConnectionSource connectionSource;
+    private Dao<CooldownRecord, String> cooldownDao;
+    private Dao<CooldownChange, Long> changeDao;
+    @Getter
+    private boolean shared;
+    // Generated on every start, so no two servers sharing the database tag their changes the same way
+    private final String serverId = UUID.randomUUID().toString();
+    private long lastSeenId;
+    private long nextPrune;
+
+    /**
+     * Connects to the database configured in sql.yml in the background.
+     * Queries submitted before the connection is ready wait for it without blocking the caller.
+     *
+     * @return The configuration of the database
+     */
+    public SQL connect() {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        SQL sql = plugin.getPersist().load(SQL.class);
+        if (sql == null) sql = new SQL();
+        plugin.getPersist().save(sql);
+        SQL.Driver driver = sql.driver;
+        String url = sql.getUrl(plugin.getDataFolder());
+        String username = sql.username;
+        String password = sql.password;
+        if (sql.shared && driver.isLocal()) {
+            plugin.getLogger().warning("Shared cooldowns require a database server, " + driver + " is only used by this server");
+        }
+        this.shared = sql.shared && !driver.isLocal();
+        int poolSize = Math.max(sql.poolSize, 1);
+        this.permits = new Semaphore(poolSize);
+        this.executor = createExecutor(poolSize);
+        this.connected = CompletableFuture.runAsync(() -> {
+            try {
+                LoggerFactory.setLogBackendFactory(LogBackendType.NULL);
+                connectionSource = new JdbcPooledConnectionSource(url, username, password);
+                cooldownDao = DaoManager.createDao(connectionSource, CooldownRecord.class);
+                TableUtils.createTableIfNotExists(connectionSource, CooldownRecord.class);
+                addVersionColumn();
+                if (shared) {
+                    changeDao = DaoManager.createDao(connectionSource, CooldownChange.class);
+                    TableUtils.createTableIfNotExists(connectionSource, CooldownChange.class);
+                    CooldownChange last = changeDao.queryBuilder().orderBy("id", false).queryForFirst();
+                    lastSeenId = last == null ? 0 : last.getId();
+                }
+                DeleteBuilder<CooldownRecord, String> deleteBuilder = cooldownDao.deleteBuilder();
+                deleteBuilder.where().le("expiry", System.currentTimeMillis());
+                deleteBuilder.delete();
+            } catch (SQLException exception) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to connect to the " + driver + " database, user data won't be saved", exception);
+                cooldownDao = null;
+                changeDao = null;
+            }
+        }, executor);
+        return sql;
+    }
+
+    /**
+     * Loads every active cooldown of a user in the background.
+     *
+     * @param owner The uuid of the user
+     * @return The end of every cooldown in epoch milliseconds by name
+     */
+    public CompletableFuture<Map<String, Long>> loadCooldowns(UUID owner) {
+        return submit(() -> {
+            Map<String, Long> cooldowns = new HashMap<>();
+            if (cooldownDao == null) return cooldowns;
+            long now = System.currentTimeMillis();
+            for (CooldownRecord cooldownRecord : cooldownDao.queryForEq("owner", owner)) {
+                if (cooldownRecord.getExpiry() > now) cooldowns.put(cooldownRecord.getName(), cooldownRecord.getExpiry());
+            }
+            return cooldowns;
+        });
+    }
+
+    /**
+     * Writes cooldowns in the background.
+     * A cooldown is only written if it ends later than the stored one.
+     *
+     * @param cooldownRecords The cooldowns
+     * @return A future which completes once every cooldown was written
+     */
+    public CompletableFuture<Void> saveCooldowns(List<CooldownRecord> cooldownRecords) {
+        return submit(() -> {
+            if (cooldownDao == null) return null;
+            long now = System.currentTimeMillis();
+            for (CooldownRecord cooldownRecord : cooldownRecords) {
+                writeCooldown(cooldownRecord.getOwner(), cooldownRecord.getName(), cooldownRecord.getExpiry(), now);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Starts a cooldown in the database unless it is already running, e.g. because the gkit was redeemed on another server.
+     * Exactly one of several servers claiming the same cooldown at once succeeds.
+     *
+     * @param owner  The uuid of the user
+     * @param name   The name of the cooldown
+     * @param expiry The end of the new cooldown in epoch milliseconds
+     * @return A future with 0 if the cooldown was claimed, or the end of the running cooldown
+     */
+    public CompletableFuture<Long> claimCooldown(UUID owner, String name, long expiry) {
+        return submit(() -> {
+            if (cooldownDao == null) return 0L;
+            String id = owner + ":" + name;
+            // Every step is a single statement outside of a transaction, so the reads see what the other servers committed
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                long now = System.currentTimeMillis();
+                UpdateBuilder<CooldownRecord, String> updateBuilder = cooldownDao.updateBuilder();
+                updateBuilder.updateColumnValue("expiry", expiry);
+                updateBuilder.updateColumnExpression("version", "version + 1");
+                updateBuilder.where().eq("id", id).and().le("expiry", now);
+                if (updateBuilder.update() == 1) {
+                    publishChange(new CooldownRecord(owner, name, expiry), now);
+                    return 0L;
+                }
+                CooldownRecord stored = cooldownDao.queryForId(id);
+                if (stored != null) {
+                    if (stored.getExpiry() > now) return stored.getExpiry();
+                    // The cooldown ended between the update and the read
+                    continue;
+                }
+                CooldownRecord created = new CooldownRecord(owner, name, expiry);
+                try {
+                    cooldownDao.create(created);
+                } catch (SQLException exception) {
+                    // Another server created the row first, its cooldown is read on the next attempt
+                    continue;
+                }
+                publishChange(created, now);
+                return 0L;
+            }
+            throw new SQLException("Gave up claiming the cooldown " + id + " after " + MAX_ATTEMPTS + " conflicting writes");
+        });
+    }
+
+    /**
+     * Gets every change other servers wrote since the last poll, and prunes old changes.
+     * Polls go by the ids of the changes instead of the clocks of the servers, and overlap by a few ids
+     * because changes can commit out of order. That is harmless because applying a change twice has no effect.
+     *
+     * @return A future with the changes
+     */
+    public CompletableFuture<List<CooldownChange>> pollChanges() {
+        return submit(() -> {
+            if (changeDao == null) return Collections.<CooldownChange>emptyList();
+            long now = System.currentTimeMillis();
+            List<CooldownChange> changes = changeDao.queryBuilder().orderBy("id", true)
+                    .where().gt("id", lastSeenId - POLL_OVERLAP)
+                    .query();
+            List<CooldownChange> foreign = new ArrayList<>();
+            for (CooldownChange change : changes) {
+                lastSeenId = Math.max(lastSeenId, change.getId());
+                if (!change.getServer().equals(serverId)) foreign.add(change);
+            }
+            if (now >= nextPrune) {
+                nextPrune = now + PRUNE_INTERVAL;
+                DeleteBuilder<CooldownChange, Long> deleteBuilder = changeDao.deleteBuilder();
+                deleteBuilder.where().lt("time", now - CHANGE_RETENTION);
+                deleteBuilder.delete();
+            }
+            return foreign;
+        });
+    }
+
+    /**
+     * Writes a cooldown if it ends later than the stored one, or inserts it if there is none.
+     * Like claims, every step is a single statement outside of a transaction, so a retry never reads a stale snapshot.
+     *
+     * @return True if the cooldown was written, false if the stored one ends later
+     */
+    private boolean writeCooldown(UUID owner, String name, long expiry, long now) throws SQLException {
+        if (expiry <= now) return false;
+        String id = owner + ":" + name;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            UpdateBuilder<CooldownRecord, String> updateBuilder = cooldownDao.updateBuilder();
+            updateBuilder.updateColumnValue("expiry", expiry);
+            updateBuilder.updateColumnExpression("version", "version + 1");
+            updateBuilder.where().eq("id", id).and().lt("expiry", expiry);
+            if (updateBuilder.update() == 1) {
+                publishChange(new CooldownRecord(owner, name, expiry), now);
+                return true;
+            }
+            // Either the stored cooldown ends later, or there is no row yet
+            if (cooldownDao.idExists(id)) return false;
+            CooldownRecord created = new CooldownRecord(owner, name, expiry);
+            try {
+                cooldownDao.create(created);
+            } catch (SQLException exception) {
+                // Another server created the row first, compare against theirs on the next attempt
+                continue;
+            }
+            publishChange(created, now);
+            return true;
+        }
+        throw new SQLException("Gave up writing the cooldown " + id + " after " + MAX_ATTEMPTS + " conflicting writes");
+    }
+
+    private void publishChange(CooldownRecord cooldownRecord, long now) throws SQLException {
+        if (changeDao != null) changeDao.create(new CooldownChange(cooldownRecord, serverId, now));
+    }
+
+    /**
+     * Adds the version column to cooldown tables created before it existed.
+     */
+    private void addVersionColumn() {
+        try {
+            cooldownDao.queryRaw("SELECT version FROM cooldowns WHERE id = ''").close();
+        } catch (Exception exception) {
+            try {
+                cooldownDao.executeRaw("ALTER TABLE cooldowns ADD COLUMN version BIGINT DEFAULT 0 NOT NULL");
+            } catch (SQLException alterException) {
+                IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to add the version column to the cooldowns table", alterException);
+            }
+        }
+    }
+
+    /**
+     * Waits up to ten seconds for the running queries and closes the database.
+     */
+    public void close() {
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                IridiumEnchants.getInstance().getLogger().warning("Timed out while waiting for the database");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (connectionSource == null) return;
+        try {
+            connectionSource.close();
+        } catch (IOException exception) {
+            IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to close the database", exception);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> query) {
+        return connected.thenApplyAsync(ignored -> {
+            permits.acquireUninterruptibly();
+            try {
+                return query.call();
+            } catch (Exception exception) {
+                throw new CompletionException(exception);
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Creates a virtual thread per task executor on Java 21 and newer, or a fixed pool of daemon threads on older runtimes.
+     */
+    private ExecutorService createExecutor(int poolSize) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executorService = (ExecutorService) method.invoke(null);
+            virtualThreads = true;
+            return executorService;
+        } catch (ReflectiveOperationException exception) {
+            AtomicInteger threads = new AtomicInteger();
+            return Executors.newFixedThreadPool(poolSize, runnable -> {
+                Thread thread = new Thread(runnable, "IridiumEnchants Database " + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.configs.Configuration;
+import org.bukkit.event.Event;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds how far effects which create their own events, like Infusion and Multishot, can cascade.
+ * Every dispatch is limited to a maximum depth per trigger, and every root event to a fixed number of synthetic events.
+ * Dispatching only happens on the main thread, so no synchronization is needed.
+ */
+public class DispatchTracker {
+
+    private static final int DEFAULT_MAX_DEPTH = 2;
+
+    private final Set<Event> syntheticEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final LongAdder depthOverflows = new LongAdder();
+    private final LongAdder budgetOverflows = new LongAdder();
+    private Event rootEvent;
+    private int depth;
+    private int syntheticEventCount;
+
+    /**
+     * Enters the dispatch of a trigger, must be followed by {@link #exit()} if this returns true.
+     *
+     * @param triggerType The trigger being dispatched
+     * @param event       The event which caused this dispatch
+     * @return false if the maximum depth of this trigger was reached and the dispatch should be skipped
+     */
+    public boolean enter(TriggerType triggerType, Event event) {
+        if (depth == 0 && event != rootEvent) {
+            rootEvent = event;
+            syntheticEventCount = 0;
+            syntheticEvents.clear();
+        }
+        Configuration configuration = IridiumEnchants.getInstance().getConfiguration();
+        if (depth >= configuration.maxDispatchDepth.getOrDefault(triggerType, DEFAULT_MAX_DEPTH)) {
+            depthOverflows.increment();
+            return false;
+        }
+        depth++;
+        return true;
+    }
+
+    public void exit() {
+        depth--;
+    }
+
+    /**
+     * Gets how many dispatches are currently nested, 0 outside of a dispatch.
+     *
+     * @return The current depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Dispatches an event created by an effect, if the budget of the current root event allows it.
+     *
+     * @param event    The synthetic event
+     * @param dispatch Dispatches the event to the listeners
+     * @return false if the budget is exhausted and the event was not dispatched
+     */
+    public boolean dispatchSynthetic(Event event, Runnable dispatch) {
+        if (syntheticEventCount >= IridiumEnchants.getInstance().getConfiguration().syntheticEventBudget) {
+            budgetOverflows.increment();
+            return false;
+        }
+        syntheticEventCount++;
+        syntheticEvents.add(event);
+        dispatch.run();
+        return true;
+    }
+
+    /**
+     * Checks if an event was created by an effect during the current root event.
+     *
+     * @param event The event
+     * @return true if the event is synthetic
+     */
+    public boolean isSynthetic(Event event) {
+        return syntheticEvents.contains(event);
+    }
+
+    public long getDepthOverflows() {
+        return depthOverflows.sum();
+    }
+
+    public long getBudgetOverflows() {
+        return budgetOverflows.sum();
+    }
+}
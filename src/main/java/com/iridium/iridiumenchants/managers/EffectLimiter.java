@@ -0,0 +1,211 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.EffectCategory;
+import com.iridium.iridiumenchants.EffectLimit;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.utils.ChunkTokenTable;
+import com.iridium.iridiumenchants.utils.CooldownTable;
+import lombok.AllArgsConstructor;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+
+/**
+ * Rate limits the world changes of effects with token buckets per chunk and per world for every {@link EffectCategory}.
+ * Explosions are collected during a tick and the ones close to each other are merged into a single stronger explosion,
+ * which is created on the next tick if the buckets allow it.
+ * Only used on the main thread, so no synchronization is needed.
+ */
+public class EffectLimiter {
+
+    private static final EffectCategory[] CATEGORIES = EffectCategory.values();
+    private static final int MAX_PENDING_EXPLOSIONS = 256;
+
+    private final Map<UUID, WorldBuckets> worlds = new HashMap<>();
+    private final List<PendingExplosion> pendingExplosions = new ArrayList<>();
+    private final long[] limited = new long[CATEGORIES.length];
+    private long mergedExplosions;
+
+    /**
+     * Takes tokens for a world change, which must be skipped if this returns false.
+     *
+     * @param category The category of the change
+     * @param location Where the change happens
+     * @param cost     The amount of tokens
+     * @return True if the change is allowed
+     */
+    public boolean tryAcquire(EffectCategory category, Location location, double cost) {
+        return acquire(category, location, cost, true);
+    }
+
+    /**
+     * Checks if a world change would be allowed without taking any tokens, e.g. before running work which only pays off
+     * if the change really happens. The change still has to take its tokens with {@link #tryAcquire(EffectCategory, Location)}.
+     *
+     * @param category The category of the change
+     * @param location Where the change happens
+     * @return True if the buckets have a token left
+     */
+    public boolean canAcquire(EffectCategory category, Location location) {
+        return acquire(category, location, 1, false);
+    }
+
+    /**
+     * Takes a single token for a world change.
+     *
+     * @param category The category of the change
+     * @param location Where the change happens
+     * @return True if the change is allowed
+     */
+    public boolean tryAcquire(EffectCategory category, Location location) {
+        return tryAcquire(category, location, 1);
+    }
+
+    /**
+     * Queues an explosion, which is merged with the other explosions nearby and created on the next tick.
+     *
+     * @param location    The center of the explosion
+     * @param power       The power of the explosion
+     * @param fire        If the explosion sets fire
+     * @param breakBlocks If the explosion breaks blocks
+     */
+    public void explode(Location location, float power, boolean fire, boolean breakBlocks) {
+        if (location.getWorld() == null) return;
+        double mergeRadius = IridiumEnchants.getInstance().getConfiguration().explosionMergeRadius;
+        double mergeRadiusSquared = mergeRadius * mergeRadius;
+        for (PendingExplosion pending : pendingExplosions) {
+            if (pending.world != location.getWorld() || pending.fire != fire || pending.breakBlocks != breakBlocks) continue;
+            double dx = pending.x - location.getX();
+            double dy = pending.y - location.getY();
+            double dz = pending.z - location.getZ();
+            if (dx * dx + dy * dy + dz * dz > mergeRadiusSquared) continue;
+            pending.merge(location, power);
+            mergedExplosions++;
+            return;
+        }
+        if (pendingExplosions.size() >= MAX_PENDING_EXPLOSIONS) {
+            limited[EffectCategory.EXPLOSION.ordinal()]++;
+            return;
+        }
+        pendingExplosions.add(new PendingExplosion(location.getWorld(), location.getX(), location.getY(), location.getZ(), power, fire, breakBlocks));
+    }
+
+    /**
+     * Creates the queued explosions which the buckets allow.
+     * Has to run every tick.
+     */
+    public void tick() {
+        if (pendingExplosions.isEmpty()) return;
+        List<PendingExplosion> explosions = new ArrayList<>(pendingExplosions);
+        pendingExplosions.clear();
+        for (PendingExplosion explosion : explosions) {
+            Location location = new Location(explosion.world, explosion.x, explosion.y, explosion.z);
+            if (!tryAcquire(EffectCategory.EXPLOSION, location)) continue;
+            explosion.world.createExplosion(explosion.x, explosion.y, explosion.z, explosion.power, explosion.fire, explosion.breakBlocks);
+        }
+    }
+
+    /**
+     * Removes the buckets of an unloaded world.
+     *
+     * @param world The world
+     */
+    public void unload(World world) {
+        worlds.remove(world.getUID());
+        pendingExplosions.removeIf(explosion -> explosion.world == world);
+    }
+
+    /**
+     * Gets how often every category was limited.
+     *
+     * @return The amount of denied changes per category
+     */
+    public Map<EffectCategory, Long> getLimited() {
+        Map<EffectCategory, Long> limited = new EnumMap<>(EffectCategory.class);
+        for (EffectCategory category : CATEGORIES) {
+            limited.put(category, this.limited[category.ordinal()]);
+        }
+        return limited;
+    }
+
+    /**
+     * Gets how many explosions were merged into another one.
+     *
+     * @return The amount of merged explosions
+     */
+    public long getMergedExplosions() {
+        return mergedExplosions;
+    }
+
+    private boolean acquire(EffectCategory category, Location location, double cost, boolean charge) {
+        World world = location.getWorld();
+        if (world == null) return true;
+        EffectLimit limit = IridiumEnchants.getInstance().getConfiguration().effectLimits.get(category);
+        if (limit == null) return true;
+        WorldBuckets worldBuckets = worlds.computeIfAbsent(world.getUID(), uuid -> new WorldBuckets());
+        int ordinal = category.ordinal();
+        long now = CooldownTable.currentTime();
+        long chunkKey = ChunkTokenTable.getKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        // Both buckets are checked before either is charged, so a denied change doesn't drain the other one
+        if ((limit.chunkRate > 0 && worldBuckets.chunks[ordinal].getAvailable(chunkKey, limit.chunkRate, limit.chunkBurst, now) < cost)
+                || (limit.worldRate > 0 && worldBuckets.getAvailable(ordinal, limit.worldRate, limit.worldBurst, now) < cost)) {
+            limited[ordinal]++;
+            return false;
+        }
+        if (!charge) return true;
+        if (limit.chunkRate > 0) worldBuckets.chunks[ordinal].tryAcquire(chunkKey, cost, limit.chunkRate, limit.chunkBurst, now);
+        if (limit.worldRate > 0) worldBuckets.tryAcquire(ordinal, cost, limit.worldRate, limit.worldBurst, now);
+        return true;
+    }
+
+    private static class WorldBuckets {
+        private final ChunkTokenTable[] chunks = new ChunkTokenTable[CATEGORIES.length];
+        private final double[] tokens = new double[CATEGORIES.length];
+        private final long[] updated = new long[CATEGORIES.length];
+
+        private WorldBuckets() {
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = new ChunkTokenTable();
+            }
+        }
+
+        private double getAvailable(int ordinal, double rate, double burst, long now) {
+            return updated[ordinal] == 0 ? burst : Math.min(burst, tokens[ordinal] + (now - updated[ordinal]) * rate / 1000);
+        }
+
+        private boolean tryAcquire(int ordinal, double cost, double rate, double burst, long now) {
+            double available = getAvailable(ordinal, rate, burst, now);
+            updated[ordinal] = now;
+            if (available < cost) {
+                tokens[ordinal] = available;
+                return false;
+            }
+            tokens[ordinal] = available - cost;
+            return true;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class PendingExplosion {
+        private final World world;
+        private double x;
+        private double y;
+        private double z;
+        private float power;
+        private final boolean fire;
+        private final boolean breakBlocks;
+
+        /**
+         * Moves the center towards the stronger explosion and adds up the volumes, which grow with the cube of the power.
+         */
+        private void merge(Location location, float power) {
+            if (this.power + power <= 0) return;
+            double weight = power / (this.power + power);
+            x += (location.getX() - x) * weight;
+            y += (location.getY() - y) * weight;
+            z += (location.getZ() - z) * weight;
+            this.power = (float) Math.cbrt(Math.pow(this.power, 3) + Math.pow(power, 3));
+        }
+    }
+}
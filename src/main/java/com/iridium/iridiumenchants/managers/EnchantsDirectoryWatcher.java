@@ -0,0 +1,109 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumcore.Persist;
+import com.iridium.iridiumenchants.CustomEnchant;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import org.bukkit.Bukkit;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the enchants directory and reloads only the enchant files which changed.
+ * Changes are collected until the directory has been quiet for a short while, so editors which write a file in several steps only cause one reload.
+ */
+public class EnchantsDirectoryWatcher implements Runnable {
+
+    private static final long QUIET_PERIOD_MILLIS = 500;
+
+    private final Path directory;
+    private final WatchService watchService;
+    private final Thread thread;
+    private volatile boolean running;
+
+    public EnchantsDirectoryWatcher(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this, "IridiumEnchants Enchants Watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        Set<String> changedFiles = new HashSet<>();
+        boolean overflow = false;
+        while (running) {
+            WatchKey watchKey;
+            try {
+                watchKey = changedFiles.isEmpty() && !overflow
+                        ? watchService.take()
+                        : watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException exception) {
+                return;
+            }
+
+            if (watchKey == null) {
+                // Nothing changed during the quiet period, apply what was collected
+                if (overflow) {
+                    Bukkit.getScheduler().runTask(IridiumEnchants.getInstance(), () -> IridiumEnchants.getInstance().getRegistryManager().reload(Bukkit.getConsoleSender()));
+                } else {
+                    applyChanges(changedFiles);
+                }
+                changedFiles.clear();
+                overflow = false;
+                continue;
+            }
+
+            for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    overflow = true;
+                } else {
+                    changedFiles.add(watchEvent.context().toString());
+                }
+            }
+            if (!watchKey.reset()) return;
+        }
+    }
+
+    private void applyChanges(Set<String> changedFiles) {
+        RegistryManager registryManager = IridiumEnchants.getInstance().getRegistryManager();
+        Persist persist = IridiumEnchants.getInstance().getPersist();
+        Map<String, CustomEnchant> changed = new HashMap<>();
+        List<String> removed = new ArrayList<>();
+        for (String fileName : changedFiles) {
+            Optional<String> key = registryManager.getEnchantKey(fileName);
+            if (!key.isPresent()) continue;
+            Path file = directory.resolve(fileName);
+            if (!Files.isRegularFile(file)) {
+                removed.add(key.get());
+                continue;
+            }
+            CustomEnchant customEnchant = persist.load(CustomEnchant.class, file.toFile());
+            if (customEnchant == null) {
+                IridiumEnchants.getInstance().getLogger().warning("Failed to parse enchants/" + fileName + ", keeping the loaded version");
+                continue;
+            }
+            changed.put(key.get(), customEnchant);
+        }
+        if (changed.isEmpty() && removed.isEmpty()) return;
+        Bukkit.getScheduler().runTask(IridiumEnchants.getInstance(), () -> registryManager.applyEnchantFileChanges(changed, removed));
+    }
+}
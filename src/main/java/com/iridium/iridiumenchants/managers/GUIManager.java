@@ -0,0 +1,101 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.gui.RenderedGUI;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps track of who has a GUI of this plugin open, and refreshes only those GUIs according to their refresh interval.
+ * The refresh task only runs while at least one GUI is open.
+ */
+public class GUIManager {
+
+    private final Map<UUID, Inventory> sessions = new HashMap<>();
+    // Sessions opened (or closed, with null) while the GUIs are refreshed, applied once the refresh is done
+    private final Map<UUID, Inventory> pendingChanges = new HashMap<>();
+    private boolean refreshing;
+    private BukkitTask refreshTask;
+    @Getter
+    private int tick = 0;
+    private long clockSecond = System.currentTimeMillis() / 1000;
+
+    /**
+     * Starts a session for a viewer who opened an inventory, if it belongs to a GUI which needs refreshing.
+     *
+     * @param viewer    The viewer
+     * @param inventory The inventory which was opened
+     */
+    public void open(UUID viewer, Inventory inventory) {
+        if (!(inventory.getHolder() instanceof RenderedGUI) || ((RenderedGUI) inventory.getHolder()).getRefreshInterval() <= 0) {
+            close(viewer);
+            return;
+        }
+        if (refreshing) {
+            pendingChanges.put(viewer, inventory);
+            return;
+        }
+        sessions.put(viewer, inventory);
+        if (refreshTask == null) {
+            refreshTask = Bukkit.getScheduler().runTaskTimer(IridiumEnchants.getInstance(), this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Ends the session of a viewer.
+     *
+     * @param viewer The viewer
+     */
+    public void close(UUID viewer) {
+        if (refreshing) {
+            pendingChanges.put(viewer, null);
+            return;
+        }
+        if (sessions.remove(viewer) == null || !sessions.isEmpty() || refreshTask == null) return;
+        refreshTask.cancel();
+        refreshTask = null;
+    }
+
+    /**
+     * Gets the current time in epoch seconds, read once per tick and shared by every GUI which shows a countdown.
+     *
+     * @return The current second
+     */
+    public long getClockSecond() {
+        if (refreshTask == null) clockSecond = System.currentTimeMillis() / 1000;
+        return clockSecond;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void tick() {
+        tick++;
+        clockSecond = System.currentTimeMillis() / 1000;
+        // A refresh may open another GUI, which changes the sessions, so those changes wait until every GUI is refreshed
+        refreshing = true;
+        try {
+            for (Inventory inventory : sessions.values()) {
+                ((RenderedGUI) inventory.getHolder()).refresh(inventory, tick);
+            }
+        } finally {
+            refreshing = false;
+        }
+        if (pendingChanges.isEmpty()) return;
+        for (Map.Entry<UUID, Inventory> change : pendingChanges.entrySet()) {
+            if (change.getValue() == null) {
+                close(change.getKey());
+            } else {
+                open(change.getKey(), change.getValue());
+            }
+        }
+        pendingChanges.clear();
+    }
+}
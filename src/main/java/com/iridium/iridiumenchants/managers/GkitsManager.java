@@ -4,25 +4,66 @@ import com.iridium.iridiumcore.utils.StringUtils;
 import com.iridium.iridiumenchants.CustomEnchant;
 import com.iridium.iridiumenchants.GKit;
 import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.registry.EnchantRegistry;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public class GkitsManager {
+
+    private final Map<GKit, List<ItemStack>> templates = new IdentityHashMap<>();
+    private long registryVersion = -1;
+
+    /**
+     * Gets copies of the items of a gkit, which can be given to a player.
+     *
+     * @param gKit The gkit
+     * @return The items
+     */
     public List<ItemStack> getItemsFromGkit(GKit gKit) {
-        return gKit.items.values().stream()
+        return getTemplates(gKit).stream().map(ItemStack::clone).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the compiled items of a gkit, which are shared and must not be modified.
+     *
+     * @param gKit The gkit
+     * @return The items
+     */
+    public List<ItemStack> getTemplates(GKit gKit) {
+        EnchantRegistry registry = IridiumEnchants.getInstance().getRegistry();
+        if (registry.getVersion() != registryVersion) compile(registry);
+        List<ItemStack> items = templates.get(gKit);
+        return items != null ? items : compileGkit(gKit);
+    }
+
+    /**
+     * Compiles the items of every gkit in the specified registry.
+     *
+     * @param registry The registry
+     */
+    public void compile(EnchantRegistry registry) {
+        templates.clear();
+        registryVersion = registry.getVersion();
+        for (GKit gKit : registry.getGKits().gkits.values()) {
+            if (gKit != null && gKit.items != null) templates.put(gKit, compileGkit(gKit));
+        }
+    }
+
+    private List<ItemStack> compileGkit(GKit gKit) {
+        if (gKit.items == null) return Collections.emptyList();
+        return Collections.unmodifiableList(gKit.items.values().stream()
                 .map(gKitItem -> {
-                    ItemStack itemStack = gKitItem.material.parseItem();
+                    ItemStack itemStack = gKitItem.material == null ? null : gKitItem.material.parseItem();
                     if (itemStack == null) return null;
                     itemStack.setAmount(gKitItem.amount);
                     ItemMeta itemMeta = itemStack.getItemMeta();
                     itemMeta.setDisplayName(StringUtils.color(gKitItem.title));
                     itemStack.setItemMeta(itemMeta);
+                    if (gKitItem.enchantments == null) return itemStack;
                     for (Map.Entry<String, Integer> enchants : gKitItem.enchantments.entrySet()) {
                         Enchantment enchantment = Enchantment.getByName(enchants.getKey());
                         if (enchantment != null) {
@@ -37,6 +78,6 @@ public class GkitsManager {
                     return itemStack;
                 })
                 .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 }
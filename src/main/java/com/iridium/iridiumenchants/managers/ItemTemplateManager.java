@@ -0,0 +1,168 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumcore.Background;
+import com.iridium.iridiumcore.Item;
+import com.iridium.iridiumcore.utils.ItemStackUtils;
+import com.iridium.iridiumcore.utils.Placeholder;
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Caches pre-rendered ItemStacks of configured items and backgrounds.
+ * Every cached ItemStack is shared, so it must be cloned before it is modified.
+ * The cache is cleared whenever a new registry is published.
+ */
+public class ItemTemplateManager {
+
+    private final Map<Item, ItemTemplate> templates = new IdentityHashMap<>();
+    private final Map<Background, Map<Integer, ItemStack[]>> backgrounds = new IdentityHashMap<>();
+    private final Map<String, List<ItemStack[]>> pages = new HashMap<>();
+    private long registryVersion = -1;
+    private int pagesGeneration;
+
+    /**
+     * Gets an item without placeholders.
+     *
+     * @param item The configured item
+     * @return The shared ItemStack
+     */
+    public ItemStack getItem(Item item) {
+        return getItem(item, Collections.emptyList());
+    }
+
+    /**
+     * Gets an item with placeholders. Only the name and lore lines which contain placeholders are processed,
+     * and the previous ItemStack is returned again if they did not change.
+     *
+     * @param item         The configured item
+     * @param placeholders The placeholders
+     * @return The shared ItemStack
+     */
+    public ItemStack getItem(Item item, List<Placeholder> placeholders) {
+        return getTemplate(item).build(item, placeholders);
+    }
+
+    /**
+     * Gets a background rendered into the slots of an inventory.
+     *
+     * @param background The configured background
+     * @param size       The size of the inventory
+     * @return The shared slots, must not be modified
+     */
+    public ItemStack[] getBackground(Background background, int size) {
+        checkRegistryVersion();
+        return backgrounds.computeIfAbsent(background, key -> new HashMap<>()).computeIfAbsent(size, key -> {
+            ItemStack[] slots = new ItemStack[size];
+            if (background.filler != null) {
+                Arrays.fill(slots, getItem(background.filler));
+            }
+            if (background.items != null) {
+                for (Map.Entry<Integer, Item> item : background.items.entrySet()) {
+                    if (item.getKey() >= 0 && item.getKey() < size) {
+                        slots[item.getKey()] = getItem(item.getValue());
+                    }
+                }
+            }
+            return slots;
+        });
+    }
+
+    /**
+     * Gets the pages of a paged GUI, which are rendered once and shared by every viewer.
+     *
+     * @param key          Identifies the paged GUI
+     * @param pageRenderer Renders every page
+     * @return The shared pages, which must not be modified
+     */
+    public List<ItemStack[]> getPages(String key, Supplier<List<ItemStack[]>> pageRenderer) {
+        checkRegistryVersion();
+        return pages.computeIfAbsent(key, k -> Collections.unmodifiableList(pageRenderer.get()));
+    }
+
+    /**
+     * Clears the pages of every paged GUI, so they are rendered again when they are opened next.
+     * GUIs which keep their own pages re-render them once the generation changed.
+     */
+    public void clearPages() {
+        pages.clear();
+        pagesGeneration++;
+    }
+
+    /**
+     * Gets the generation of the pages, which changes whenever the cached pages are cleared.
+     *
+     * @return The generation
+     */
+    public int getPagesGeneration() {
+        checkRegistryVersion();
+        return pagesGeneration;
+    }
+
+    private ItemTemplate getTemplate(Item item) {
+        checkRegistryVersion();
+        return templates.computeIfAbsent(item, ItemTemplate::new);
+    }
+
+    private void checkRegistryVersion() {
+        long version = IridiumEnchants.getInstance().getRegistry().getVersion();
+        if (version == registryVersion) return;
+        templates.clear();
+        backgrounds.clear();
+        pages.clear();
+        pagesGeneration++;
+        registryVersion = version;
+    }
+
+    private static class ItemTemplate {
+        private final ItemStack template;
+        private final boolean dynamicName;
+        private final int[] dynamicLore;
+        private final boolean dynamicItem;
+        private List<String> lastLines;
+        private ItemStack lastItemStack;
+
+        private ItemTemplate(Item item) {
+            this.template = ItemStackUtils.makeItem(item, Collections.emptyList());
+            ItemMeta itemMeta = template.getItemMeta();
+            this.dynamicName = itemMeta != null && itemMeta.hasDisplayName() && itemMeta.getDisplayName().contains("%");
+            List<String> lore = itemMeta != null && itemMeta.hasLore() ? itemMeta.getLore() : Collections.emptyList();
+            this.dynamicLore = IntStream.range(0, lore.size()).filter(index -> lore.get(index).contains("%")).toArray();
+            // Placeholders outside of the name and lore can't be substituted into the template
+            this.dynamicItem = item.headOwner != null && item.headOwner.contains("%");
+        }
+
+        private ItemStack build(Item item, List<Placeholder> placeholders) {
+            if (dynamicItem) return ItemStackUtils.makeItem(item, placeholders);
+            if (placeholders.isEmpty() || (!dynamicName && dynamicLore.length == 0)) return template;
+
+            ItemMeta templateMeta = template.getItemMeta();
+            List<String> lines = new ArrayList<>();
+            if (dynamicName) lines.add(process(templateMeta.getDisplayName(), placeholders));
+            List<String> lore = dynamicLore.length == 0 ? null : new ArrayList<>(templateMeta.getLore());
+            for (int index : dynamicLore) {
+                lore.set(index, process(lore.get(index), placeholders));
+                lines.add(lore.get(index));
+            }
+            if (lines.equals(lastLines)) return lastItemStack;
+
+            ItemStack itemStack = template.clone();
+            ItemMeta itemMeta = itemStack.getItemMeta();
+            if (dynamicName) itemMeta.setDisplayName(lines.get(0));
+            if (lore != null) itemMeta.setLore(lore);
+            itemStack.setItemMeta(itemMeta);
+            lastLines = lines;
+            lastItemStack = itemStack;
+            return itemStack;
+        }
+
+        private String process(String line, List<Placeholder> placeholders) {
+            return StringUtils.color(StringUtils.processMultiplePlaceholders(line, placeholders));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.LoadLevel;
+import com.iridium.iridiumenchants.configs.Configuration;
+import com.iridium.iridiumenchants.registry.CompiledEffect;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.LivingEntity;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Degrades the enchants step by step while the server is overloaded.
+ * The mspt is taken from Paper's average tick time, or on Spigot from a moving average of the time between ticks.
+ * These aren't the same: Paper reports the real work of a tick, so a healthy server is well below 50ms, while the tick
+ * interval on Spigot never drops below 50ms and only exceeds it once the server can't keep up anymore.
+ * Thresholds above 50ms mean the server is falling behind with either source, which is why the default levels use them.
+ * Every configured {@link LoadLevel} is entered and left one step at a time, and a level has to hold for a while
+ * before the next change, so the level doesn't flap when the mspt hovers around a threshold.
+ * Only used on the main thread, so no synchronization is needed.
+ */
+public class LoadGovernor {
+
+    private static final double SMOOTHING = 0.1;
+    private static final long MIN_LEVEL_DURATION = TimeUnit.SECONDS.toNanos(5);
+    private static final int MAX_DEFERRED = 4096;
+    private static final LoadLevel NORMAL = new LoadLevel(0, 0, 1, 1, false, false);
+
+    private final Method averageTickTime = getAverageTickTimeMethod();
+    private final Deque<Runnable> deferred = new ArrayDeque<>();
+    @Getter
+    private double mspt = 50;
+    @Getter
+    private int level;
+    @Getter
+    private long deferredCount;
+    @Getter
+    private long droppedCount;
+    private LoadLevel loadLevel = NORMAL;
+    private long lastTick;
+    private long lastChange;
+
+    /**
+     * Samples the tick duration, changes the level if needed and runs the deferred effects which are due.
+     * Has to run every tick.
+     */
+    public void tick() {
+        long now = System.nanoTime();
+        sample(now);
+        lastTick = now;
+        Configuration configuration = IridiumEnchants.getInstance().getConfiguration();
+        updateLevel(configuration, now);
+        for (int i = 0; i < configuration.deferredEffectsPerTick && !deferred.isEmpty(); i++) {
+            deferred.poll().run();
+        }
+    }
+
+    /**
+     * Returns if any level of degradation is active.
+     *
+     * @return True if the server is under pressure
+     */
+    public boolean isDegraded() {
+        return level > 0;
+    }
+
+    /**
+     * Gets how much longer the periods of passive enchants are in the current level.
+     *
+     * @return The multiplier, 1 if the server isn't under pressure
+     */
+    public int getPassivePeriodMultiplier() {
+        return Math.max(loadLevel.passivePeriodMultiplier, 1);
+    }
+
+    /**
+     * Scales the radius of an area effect down to the current level.
+     *
+     * @param radius The configured radius
+     * @return The scaled radius, which stays at least 1 if the configured radius was
+     */
+    public int scaleRadius(int radius) {
+        if (loadLevel.radiusScale >= 1) return radius;
+        return Math.max((int) (radius * loadLevel.radiusScale), Math.min(radius, 1));
+    }
+
+    /**
+     * Suppresses or defers an effect if the current level requires it.
+     *
+     * @param effect          The effect
+     * @param compiledEnchant The enchant of the effect
+     * @param player          The player using the enchant
+     * @param target          The target of the enchant
+     * @return True if the effect must not be applied now
+     */
+    public boolean divert(CompiledEffect effect, CompiledEnchant compiledEnchant, LivingEntity player, LivingEntity target) {
+        Configuration configuration = IridiumEnchants.getInstance().getConfiguration();
+        if (loadLevel.suppressCosmetic && configuration.cosmeticEffects.contains(effect.getName())) return true;
+        if (!loadLevel.deferNonCombat || !configuration.deferrableEffects.contains(effect.getName())) return false;
+        if (deferred.size() >= MAX_DEFERRED) {
+            droppedCount++;
+            return true;
+        }
+        deferredCount++;
+        String key = compiledEnchant.getKey();
+        // Deferrable effects don't use the event, which is already over once they run
+        deferred.add(() -> {
+            if (!player.isValid() || (target != null && !target.isValid())) return;
+            // Resolved again, the enchant may have been quarantined or reloaded while the effect waited
+            CompiledEnchant current = IridiumEnchants.getInstance().getRegistry().getEnchant(key);
+            if (current == null || !current.isEnabled() || IridiumEnchants.getInstance().getWatchdogManager().isQuarantined(current)) return;
+            long start = System.nanoTime();
+            try {
+                IridiumEnchants.getInstance().getCustomEnchantManager().applyEffect(effect, current, player, target, null);
+            } catch (RuntimeException exception) {
+                IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Deferred effect " + effect.getName() + " of " + key + " failed", exception);
+            } finally {
+                IridiumEnchants.getInstance().getAttributionManager().record(player, System.nanoTime() - start);
+            }
+        });
+        return true;
+    }
+
+    private void sample(long now) {
+        if (averageTickTime != null) {
+            try {
+                mspt = (double) averageTickTime.invoke(Bukkit.getServer());
+                return;
+            } catch (ReflectiveOperationException | ClassCastException ignored) {
+            }
+        }
+        if (lastTick == 0) return;
+        mspt += ((now - lastTick) / 1_000_000.0 - mspt) * SMOOTHING;
+    }
+
+    private void updateLevel(Configuration configuration, long now) {
+        List<LoadLevel> loadLevels = configuration.loadLevels;
+        if (!configuration.loadGovernor || loadLevels == null || loadLevels.isEmpty()) {
+            if (level != 0) setLevel(0, null, now);
+            return;
+        }
+        if (level > loadLevels.size()) setLevel(loadLevels.size(), loadLevels.get(loadLevels.size() - 1), now);
+        // The levels may have been reloaded
+        loadLevel = level == 0 ? NORMAL : loadLevels.get(level - 1);
+        if (now - lastChange < MIN_LEVEL_DURATION) return;
+        if (level < loadLevels.size() && mspt >= loadLevels.get(level).enterMspt) {
+            setLevel(level + 1, loadLevels.get(level), now);
+        } else if (level > 0 && mspt < loadLevels.get(level - 1).exitMspt) {
+            setLevel(level - 1, level > 1 ? loadLevels.get(level - 2) : null, now);
+        }
+    }
+
+    private void setLevel(int level, LoadLevel loadLevel, long now) {
+        IridiumEnchants.getInstance().getLogger().info(String.format("Load level changed from %d to %d at %.1f mspt", this.level, level, mspt));
+        this.level = level;
+        this.loadLevel = loadLevel == null ? NORMAL : loadLevel;
+        this.lastChange = now;
+    }
+
+    private static Method getAverageTickTimeMethod() {
+        try {
+            return Bukkit.getServer().getClass().getMethod("getAverageTickTime");
+        } catch (NoSuchMethodException exception) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.configs.Messages;
+import com.iridium.iridiumenchants.metrics.EffectMetrics;
+import com.iridium.iridiumenchants.metrics.EnchantMetrics;
+import com.iridium.iridiumenchants.metrics.LatencyHistogram;
+import com.iridium.iridiumenchants.metrics.SlowExecution;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import com.iridium.iridiumenchants.registry.EnchantRegistry;
+import org.bukkit.ChatColor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * Always-on counters and latency histograms of triggers, enchants and effects.
+ * Enchant metrics are looked up by compiled enchant id, and carried over by key when a new registry is published.
+ */
+public class MetricsManager {
+
+    private final Map<TriggerType, LongAdder> triggers = new EnumMap<>(TriggerType.class);
+    private final Map<String, EffectMetrics> effects = new ConcurrentHashMap<>();
+    private final Map<String, EnchantMetrics> enchantsByKey = new ConcurrentHashMap<>();
+    private volatile EnchantMetrics[] enchants = new EnchantMetrics[0];
+
+    public MetricsManager() {
+        for (TriggerType triggerType : TriggerType.values()) {
+            triggers.put(triggerType, new LongAdder());
+        }
+    }
+
+    /**
+     * Counts a dispatched trigger.
+     *
+     * @param triggerType The trigger
+     */
+    public void recordTrigger(TriggerType triggerType) {
+        triggers.get(triggerType).increment();
+    }
+
+    /**
+     * Gets the metrics of a compiled enchant of the current registry.
+     *
+     * @param compiledEnchant The enchant
+     * @return The metrics of the enchant
+     */
+    public EnchantMetrics getEnchantMetrics(CompiledEnchant compiledEnchant) {
+        EnchantMetrics[] enchants = this.enchants;
+        int id = compiledEnchant.getId();
+        if (id < enchants.length && enchants[id] != null) return enchants[id];
+        return enchantsByKey.computeIfAbsent(compiledEnchant.getKey(), EnchantMetrics::new);
+    }
+
+    /**
+     * Gets the metrics of an enchant by its key.
+     *
+     * @param key The key of the enchant
+     * @return The metrics of the enchant, empty if it never ran
+     */
+    public Optional<EnchantMetrics> getEnchantMetrics(String key) {
+        return Optional.ofNullable(enchantsByKey.get(key));
+    }
+
+    /**
+     * Gets the metrics of an effect type.
+     *
+     * @param name The name of the effect
+     * @return The metrics of the effect
+     */
+    public EffectMetrics getEffectMetrics(String name) {
+        EffectMetrics effectMetrics = effects.get(name);
+        return effectMetrics != null ? effectMetrics : effects.computeIfAbsent(name, EffectMetrics::new);
+    }
+
+    /**
+     * Maps the ids of a new registry to the metrics of their enchants.
+     *
+     * @param registry The new registry
+     */
+    public void update(EnchantRegistry registry) {
+        int size = 0;
+        for (CompiledEnchant compiledEnchant : registry.getEnchants().values()) {
+            size = Math.max(size, compiledEnchant.getId() + 1);
+        }
+        EnchantMetrics[] enchants = new EnchantMetrics[size];
+        for (CompiledEnchant compiledEnchant : registry.getEnchants().values()) {
+            enchants[compiledEnchant.getId()] = enchantsByKey.computeIfAbsent(compiledEnchant.getKey(), EnchantMetrics::new);
+        }
+        this.enchants = enchants;
+    }
+
+    /**
+     * Gets a report of the triggers and the most expensive enchants and effects.
+     *
+     * @param limit The maximum amount of enchants and effects
+     * @return The lines of the report, not colored yet
+     */
+    public List<String> getReport(int limit) {
+        Messages messages = IridiumEnchants.getInstance().getMessages();
+        DispatchTracker dispatchTracker = IridiumEnchants.getInstance().getDispatchTracker();
+        List<String> lines = new ArrayList<>();
+        lines.add(messages.statsHeader);
+        lines.add(messages.statsTriggers.replace("%triggers%", triggers.entrySet().stream()
+                .filter(trigger -> trigger.getValue().sum() > 0)
+                .map(trigger -> trigger.getKey().name() + "=" + trigger.getValue().sum())
+                .collect(Collectors.joining(", "))));
+        if (dispatchTracker != null) {
+            lines.add(messages.statsDispatch
+                    .replace("%depth_overflows%", String.valueOf(dispatchTracker.getDepthOverflows()))
+                    .replace("%budget_overflows%", String.valueOf(dispatchTracker.getBudgetOverflows())));
+        }
+        LoadGovernor loadGovernor = IridiumEnchants.getInstance().getLoadGovernor();
+        if (loadGovernor != null) {
+            lines.add(messages.statsLoad
+                    .replace("%level%", String.valueOf(loadGovernor.getLevel()))
+                    .replace("%mspt%", String.format("%.1f", loadGovernor.getMspt()))
+                    .replace("%deferred%", String.valueOf(loadGovernor.getDeferredCount()))
+                    .replace("%dropped%", String.valueOf(loadGovernor.getDroppedCount())));
+        }
+        EffectLimiter effectLimiter = IridiumEnchants.getInstance().getEffectLimiter();
+        if (effectLimiter != null) {
+            lines.add(messages.statsLimits
+                    .replace("%limits%", effectLimiter.getLimited().entrySet().stream()
+                            .filter(limited -> limited.getValue() > 0)
+                            .map(limited -> limited.getKey().name() + "=" + limited.getValue())
+                            .collect(Collectors.joining(", ")))
+                    .replace("%merged%", String.valueOf(effectLimiter.getMergedExplosions())));
+        }
+        ScheduledEffectManager scheduledEffectManager = IridiumEnchants.getInstance().getScheduledEffectManager();
+        lines.add(messages.statsScheduled
+                .replace("%scheduled%", String.valueOf(scheduledEffectManager.size()))
+                .replace("%dropped%", String.valueOf(scheduledEffectManager.getDroppedCount()))
+                .replace("%failed%", String.valueOf(scheduledEffectManager.getFailedCount())));
+        WatchdogManager watchdogManager = IridiumEnchants.getInstance().getWatchdogManager();
+        List<String> quarantined = watchdogManager.getQuarantined();
+        if (!quarantined.isEmpty()) {
+            lines.add(messages.statsQuarantined.replace("%enchants%", String.join(", ", quarantined)));
+        }
+        enchantsByKey.values().stream()
+                .filter(enchantMetrics -> enchantMetrics.getEvaluations().sum() > 0)
+                .sorted(Comparator.comparingLong((EnchantMetrics enchantMetrics) -> enchantMetrics.getLatency().getTotal()).reversed())
+                .limit(limit)
+                .forEach(enchantMetrics -> lines.add(formatEnchant(enchantMetrics)));
+        effects.values().stream()
+                .filter(effectMetrics -> effectMetrics.getLatency().getCount() > 0)
+                .sorted(Comparator.comparingLong((EffectMetrics effectMetrics) -> effectMetrics.getLatency().getTotal()).reversed())
+                .limit(limit)
+                .forEach(effectMetrics -> lines.add(formatLatency(messages.statsEffect, effectMetrics.getLatency())
+                        .replace("%effect%", effectMetrics.getName())
+                        .replace("%executions%", String.valueOf(effectMetrics.getLatency().getCount()))));
+        watchdogManager.getSlowExecutions().stream()
+                .limit(limit)
+                .forEach(slowExecution -> lines.add(formatSlowExecution(slowExecution)));
+        return lines;
+    }
+
+    /**
+     * Formats the metrics of a single enchant.
+     *
+     * @param enchantMetrics The metrics
+     * @return The line, not colored yet
+     */
+    public String formatEnchant(EnchantMetrics enchantMetrics) {
+        return formatLatency(IridiumEnchants.getInstance().getMessages().statsEnchant, enchantMetrics.getLatency())
+                .replace("%enchant%", enchantMetrics.getKey())
+                .replace("%evaluations%", String.valueOf(enchantMetrics.getEvaluations().sum()))
+                .replace("%suppressed%", String.valueOf(enchantMetrics.getSuppressed().sum()))
+                .replace("%won%", String.valueOf(enchantMetrics.getChanceWon().sum()))
+                .replace("%lost%", String.valueOf(enchantMetrics.getChanceLost().sum()))
+                .replace("%condition_failures%", String.valueOf(enchantMetrics.getConditionFailures().sum()))
+                .replace("%procs%", String.valueOf(enchantMetrics.getProcs().sum()))
+                .replace("%slow%", String.valueOf(enchantMetrics.getSlowExecutions().sum()))
+                .replace("%status%", IridiumEnchants.getInstance().getWatchdogManager().isQuarantined(enchantMetrics.getKey())
+                        ? IridiumEnchants.getInstance().getMessages().statsQuarantinedStatus : "");
+    }
+
+    /**
+     * Formats a slow effect execution.
+     *
+     * @param slowExecution The slow execution
+     * @return The line, not colored yet
+     */
+    public String formatSlowExecution(SlowExecution slowExecution) {
+        return IridiumEnchants.getInstance().getMessages().statsSlowExecution
+                .replace("%effect%", slowExecution.getEffect())
+                .replace("%enchant%", slowExecution.getEnchant())
+                .replace("%duration%", formatNanos(slowExecution.getNanos()))
+                .replace("%player%", slowExecution.getPlayer())
+                .replace("%location%", slowExecution.getLocation());
+    }
+
+    /**
+     * Writes the full report to stats.txt in the plugin folder.
+     * Safe to call from any thread.
+     */
+    public void dump() {
+        List<String> lines = new ArrayList<>();
+        lines.add(LocalDateTime.now().toString());
+        for (String line : getReport(Integer.MAX_VALUE)) {
+            lines.add(ChatColor.stripColor(StringUtils.color(line.replace("%prefix%", ""))));
+        }
+        // The sampled stacks are too long for chat, so they are only written to the file
+        for (SlowExecution slowExecution : IridiumEnchants.getInstance().getWatchdogManager().getSlowExecutions()) {
+            if (slowExecution.getStack() == null) continue;
+            lines.add(slowExecution.getTime() + " " + ChatColor.stripColor(StringUtils.color(formatSlowExecution(slowExecution))));
+            for (StackTraceElement element : slowExecution.getStack()) {
+                lines.add("\tat " + element);
+            }
+        }
+        File file = new File(IridiumEnchants.getInstance().getDataFolder(), "stats.txt");
+        try {
+            Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to write " + file.getName(), exception);
+        }
+    }
+
+    private String formatLatency(String message, LatencyHistogram latency) {
+        return message
+                .replace("%total%", formatNanos(latency.getTotal()))
+                .replace("%p50%", formatNanos(latency.getPercentile(50)))
+                .replace("%p99%", formatNanos(latency.getPercentile(99)))
+                .replace("%max%", formatNanos(latency.getMax()));
+    }
+
+    private String formatNanos(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
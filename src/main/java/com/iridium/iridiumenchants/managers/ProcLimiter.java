@@ -0,0 +1,95 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import com.iridium.iridiumenchants.registry.EnchantRegistry;
+import com.iridium.iridiumenchants.registry.CompiledLevel;
+import com.iridium.iridiumenchants.utils.CooldownTable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Enforces the cooldown and maximum procs per second of enchant levels, per player and enchant.
+ * Every enchant id has its own {@link CooldownTable}, which is only created once the enchant procs with a limit.
+ * The procs per second use a single deadline per player as well: every proc pushes it back by the proc interval,
+ * and a proc is allowed as long as the deadline is less than one second ahead.
+ * The tables are kept by enchant key as well, so they carry over to new registries even if the ids change.
+ */
+public class ProcLimiter {
+
+    private static final long WINDOW = 1000;
+
+    private final Map<String, CooldownTable> cooldownsByKey = new HashMap<>();
+    private final Map<String, CooldownTable> procsByKey = new HashMap<>();
+    private CooldownTable[] cooldowns = new CooldownTable[0];
+    private CooldownTable[] procs = new CooldownTable[0];
+
+    /**
+     * Returns if a proc of an enchant level would be suppressed by its cooldown or procs per second.
+     *
+     * @param compiledEnchant The enchant
+     * @param level           The level of the enchant
+     * @param uuid            The uuid of the entity using the enchant
+     * @param now             The current time from {@link CooldownTable#currentTime()}
+     * @return True if the proc has to be suppressed
+     */
+    public boolean isSuppressed(CompiledEnchant compiledEnchant, CompiledLevel level, UUID uuid, long now) {
+        int id = compiledEnchant.getId();
+        if (level.getCooldown() > 0 && id < cooldowns.length && cooldowns[id] != null && cooldowns[id].getRemaining(uuid, now) > 0) {
+            return true;
+        }
+        return level.getProcInterval() > 0 && id < procs.length && procs[id] != null
+                && procs[id].getRemaining(uuid, now) + level.getProcInterval() > WINDOW;
+    }
+
+    /**
+     * Records a proc of an enchant level, starting its cooldown and using up part of its procs per second.
+     *
+     * @param compiledEnchant The enchant
+     * @param level           The level of the enchant
+     * @param uuid            The uuid of the entity using the enchant
+     * @param now             The current time from {@link CooldownTable#currentTime()}
+     */
+    public void recordProc(CompiledEnchant compiledEnchant, CompiledLevel level, UUID uuid, long now) {
+        int id = compiledEnchant.getId();
+        if (level.getCooldown() > 0) {
+            cooldowns = ensureCapacity(cooldowns, id);
+            if (cooldowns[id] == null) cooldowns[id] = cooldownsByKey.computeIfAbsent(compiledEnchant.getKey(), key -> new CooldownTable());
+            cooldowns[id].put(uuid, now + level.getCooldown(), now);
+        }
+        if (level.getProcInterval() > 0) {
+            procs = ensureCapacity(procs, id);
+            if (procs[id] == null) procs[id] = procsByKey.computeIfAbsent(compiledEnchant.getKey(), key -> new CooldownTable());
+            procs[id].put(uuid, now + procs[id].getRemaining(uuid, now) + level.getProcInterval(), now);
+        }
+    }
+
+    /**
+     * Moves the tables to the ids of a new registry, and forgets the ones of enchants which were removed.
+     *
+     * @param registry The new registry
+     */
+    public void update(EnchantRegistry registry) {
+        Map<String, CompiledEnchant> enchants = registry.getEnchants();
+        cooldownsByKey.keySet().retainAll(enchants.keySet());
+        procsByKey.keySet().retainAll(enchants.keySet());
+        int size = 0;
+        for (CompiledEnchant compiledEnchant : enchants.values()) {
+            size = Math.max(size, compiledEnchant.getId() + 1);
+        }
+        CooldownTable[] cooldowns = new CooldownTable[size];
+        CooldownTable[] procs = new CooldownTable[size];
+        for (CompiledEnchant compiledEnchant : enchants.values()) {
+            cooldowns[compiledEnchant.getId()] = cooldownsByKey.get(compiledEnchant.getKey());
+            procs[compiledEnchant.getId()] = procsByKey.get(compiledEnchant.getKey());
+        }
+        this.cooldowns = cooldowns;
+        this.procs = procs;
+    }
+
+    private CooldownTable[] ensureCapacity(CooldownTable[] tables, int id) {
+        return id < tables.length ? tables : Arrays.copyOf(tables, Math.max(id + 1, tables.length * 2));
+    }
+}
@@ -0,0 +1,96 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.profiling.JfrProfiler;
+import com.iridium.iridiumenchants.profiling.Probes;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Emits Java Flight Recorder events for dispatches, enchants, effects, area operations and support calls.
+ * Events are only created while a recording is running, whether it was started by /ce profile or from outside the plugin,
+ * so they cost a single volatile read otherwise.
+ * The JFR classes are only loaded through {@link JfrProfiler} once the runtime is known to have them,
+ * without JFR every probe is a no-op.
+ */
+public class ProfilingManager {
+
+    private static final boolean AVAILABLE = isJfrPresent();
+
+    private final JfrProfiler jfrProfiler;
+    private File profileFile;
+
+    public ProfilingManager() {
+        this.jfrProfiler = AVAILABLE ? new JfrProfiler() : null;
+    }
+
+    /**
+     * Returns if this Java runtime has Java Flight Recorder.
+     *
+     * @return True if profiles can be recorded
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static Probes.Dispatch beginDispatch() {
+        return AVAILABLE && JfrProfiler.isRecording() ? JfrProfiler.dispatch() : Probes.Dispatch.NONE;
+    }
+
+    public static Probes.EnchantEvaluation beginEnchantEvaluation() {
+        return AVAILABLE && JfrProfiler.isRecording() ? JfrProfiler.enchantEvaluation() : Probes.EnchantEvaluation.NONE;
+    }
+
+    public static Probes.EffectExecution beginEffectExecution() {
+        return AVAILABLE && JfrProfiler.isRecording() ? JfrProfiler.effectExecution() : Probes.EffectExecution.NONE;
+    }
+
+    public static Probes.AreaOperation beginAreaOperation() {
+        return AVAILABLE && JfrProfiler.isRecording() ? JfrProfiler.areaOperation() : Probes.AreaOperation.NONE;
+    }
+
+    public static Probes.SupportCall beginSupportCall() {
+        return AVAILABLE && JfrProfiler.isRecording() ? JfrProfiler.supportCall() : Probes.SupportCall.NONE;
+    }
+
+    /**
+     * Starts a recording with the profile settings, which also enable every event of this plugin.
+     *
+     * @return False if a recording of this plugin is already running
+     * @throws IOException    If the profile settings can't be read
+     * @throws ParseException If the profile settings are invalid
+     */
+    public synchronized boolean start() throws IOException, ParseException {
+        if (!AVAILABLE) throw new IllegalStateException("Java Flight Recorder is not available");
+        File folder = new File(IridiumEnchants.getInstance().getDataFolder(), "profiles");
+        if (!folder.exists() && !folder.mkdirs()) throw new IOException("Failed to create " + folder);
+        File file = new File(folder, "profile-" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".jfr");
+        if (!jfrProfiler.start(file)) return false;
+        profileFile = file;
+        return true;
+    }
+
+    /**
+     * Stops the recording of this plugin and writes it to its file.
+     * Writing can take a while, so this shouldn't be called on the main thread.
+     *
+     * @return The file of the recording, or null if no recording of this plugin was running
+     */
+    public synchronized File stop() {
+        if (!AVAILABLE || !jfrProfiler.stop()) return null;
+        return profileFile;
+    }
+
+    private static boolean isJfrPresent() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return true;
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumcore.Persist;
+import com.iridium.iridiumcore.utils.StringUtils;
+import com.iridium.iridiumenchants.CustomEnchant;
+import com.iridium.iridiumenchants.GKit;
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.Level;
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.conditions.Condition;
+import com.iridium.iridiumenchants.configs.*;
+import com.iridium.iridiumenchants.effects.Aura;
+import com.iridium.iridiumenchants.effects.Delay;
+import com.iridium.iridiumenchants.effects.Effect;
+import com.iridium.iridiumenchants.effects.Repeat;
+import com.iridium.iridiumenchants.registry.*;
+import com.iridium.iridiumenchants.utils.PhaseTimer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.enchantments.Enchantment;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Loads, validates and compiles the configuration files into {@link EnchantRegistry} snapshots.
+ */
+public class RegistryManager {
+
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private static final List<String> ENCHANT_FILE_EXTENSIONS = Arrays.asList(".yml", ".yaml", ".json");
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private EnchantsDirectoryWatcher enchantsDirectoryWatcher;
+
+    /**
+     * Parses every configuration file and compiles it into a new registry.
+     * Does not touch the live registry, so this is safe to call off the main thread.
+     *
+     * @return The new registry and every problem found in the configuration
+     */
+    public LoadResult load() {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        Persist persist = plugin.getPersist();
+        PhaseTimer phaseTimer = new PhaseTimer("Loading the registry");
+        List<String> errors = new ArrayList<>();
+        Configuration configuration = load(persist, Configuration.class, Configuration::new, errors);
+        Messages messages = load(persist, Messages.class, Messages::new, errors);
+        Commands commands = load(persist, Commands.class, Commands::new, errors);
+        Inventories inventories = load(persist, Inventories.class, Inventories::new, errors);
+        GKits gKits = load(persist, GKits.class, GKits::new, errors);
+        phaseTimer.phase("configs");
+
+        String hash = configuration.registrySnapshot ? hashEnchantSources(configuration) : null;
+        RegistrySnapshot snapshot = hash == null ? null : readSnapshot(hash);
+        phaseTimer.phase("snapshot");
+        if (snapshot != null) {
+            CustomEnchants customEnchants = new CustomEnchants();
+            customEnchants.customEnchants = snapshot.getCustomEnchants();
+            EnchantRegistry registry = buildRegistry(configuration, messages, commands, customEnchants, inventories, gKits, snapshot.getEnchants(), errors);
+            phaseTimer.phase("index");
+            plugin.getLogger().info(phaseTimer.getSummary() + ", using the compiled snapshot");
+            return new LoadResult(registry, errors);
+        }
+
+        CustomEnchants customEnchants = configuration.enchantsDirectory
+                ? loadEnchantsDirectory(persist, errors)
+                : load(persist, CustomEnchants.class, CustomEnchants::new, errors);
+        phaseTimer.phase("enchants");
+        LoadResult loadResult = compile(configuration, messages, commands, customEnchants, inventories, gKits, errors);
+        phaseTimer.phase("compile");
+        if (hash != null && errors.isEmpty()) {
+            writeSnapshot(new RegistrySnapshot(hash, customEnchants.customEnchants, loadResult.getRegistry().getEnchants()));
+            phaseTimer.phase("snapshot write");
+        }
+        plugin.getLogger().info(phaseTimer.getSummary());
+        return loadResult;
+    }
+
+    /**
+     * Hashes every file the compiled enchants depend on.
+     *
+     * @return The hash, or null if the enchants have to be compiled from scratch
+     */
+    private String hashEnchantSources(Configuration configuration) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        List<File> files = new ArrayList<>();
+        files.add(plugin.getPersist().getFile(Configuration.class));
+        if (configuration.enchantsDirectory) {
+            File[] enchantFiles = getEnchantsDirectory().listFiles(file -> file.isFile() && getEnchantKey(file.getName()).isPresent());
+            // The directory still has to be created from customenchants.yml
+            if (enchantFiles == null) return null;
+            files.addAll(Arrays.asList(enchantFiles));
+        } else {
+            files.add(plugin.getPersist().getFile(CustomEnchants.class));
+        }
+        try {
+            return RegistrySnapshot.hash(files, plugin.getEffects().keySet(), plugin.getConditions().keySet(), plugin.getDescription().getVersion());
+        } catch (IOException exception) {
+            plugin.getLogger().warning("Failed to hash the enchant files: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private RegistrySnapshot readSnapshot(String hash) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        try {
+            return RegistrySnapshot.read(getSnapshotFile(), hash, plugin.getEffects(), plugin.getConditions()).orElse(null);
+        } catch (IOException | IllegalArgumentException exception) {
+            plugin.getLogger().warning("Failed to read the registry snapshot, compiling the enchants instead: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private void writeSnapshot(RegistrySnapshot snapshot) {
+        try {
+            snapshot.write(getSnapshotFile());
+        } catch (IOException exception) {
+            IridiumEnchants.getInstance().getLogger().warning("Failed to write the registry snapshot: " + exception.getMessage());
+        }
+    }
+
+    private File getSnapshotFile() {
+        return new File(IridiumEnchants.getInstance().getDataFolder(), "registry.snapshot");
+    }
+
+    private <T> T load(Persist persist, Class<T> clazz, Supplier<T> fallback, List<String> errors) {
+        T value = persist.load(clazz);
+        if (value == null) {
+            errors.add("Failed to parse " + persist.getFile(clazz).getName());
+            return fallback.get();
+        }
+        return value;
+    }
+
+    /**
+     * Gets the directory which holds one file per enchant.
+     *
+     * @return The enchants directory
+     */
+    public File getEnchantsDirectory() {
+        return new File(IridiumEnchants.getInstance().getDataFolder(), "enchants");
+    }
+
+    /**
+     * Gets the enchant key of a file in the enchants directory.
+     *
+     * @param fileName The name of the file
+     * @return The enchant key, or empty if this is not an enchant file
+     */
+    public Optional<String> getEnchantKey(String fileName) {
+        for (String extension : ENCHANT_FILE_EXTENSIONS) {
+            if (fileName.endsWith(extension) && fileName.length() > extension.length()) {
+                return Optional.of(fileName.substring(0, fileName.length() - extension.length()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Loads every enchant from the enchants directory, parsing the files in parallel.
+     * If the directory does not exist yet, it is created from the enchants in customenchants.yml
+     */
+    private CustomEnchants loadEnchantsDirectory(Persist persist, List<String> errors) {
+        File directory = getEnchantsDirectory();
+        if (!directory.exists()) {
+            CustomEnchants customEnchants = load(persist, CustomEnchants.class, CustomEnchants::new, errors);
+            if (!directory.mkdirs()) {
+                errors.add("Failed to create " + directory.getPath());
+                return customEnchants;
+            }
+            customEnchants.customEnchants.forEach((key, customEnchant) -> persist.save(customEnchant, new File(directory, key + ".yml")));
+        }
+        File[] files = directory.listFiles(file -> file.isFile() && getEnchantKey(file.getName()).isPresent());
+        List<Map.Entry<String, CustomEnchant>> parsed = Arrays.stream(files == null ? new File[0] : files)
+                .parallel()
+                .map(file -> new AbstractMap.SimpleEntry<>(getEnchantKey(file.getName()).get(), persist.load(CustomEnchant.class, file)))
+                .collect(Collectors.toList());
+
+        Map<String, CustomEnchant> enchants = new HashMap<>();
+        for (Map.Entry<String, CustomEnchant> entry : parsed) {
+            if (entry.getValue() == null) {
+                errors.add("Failed to parse enchants/" + entry.getKey());
+                continue;
+            }
+            if (enchants.put(entry.getKey(), entry.getValue()) != null) {
+                errors.add("Enchant " + entry.getKey() + " is defined by more than one file");
+            }
+        }
+        CustomEnchants customEnchants = new CustomEnchants();
+        customEnchants.customEnchants = enchants;
+        return customEnchants;
+    }
+
+    /**
+     * Compiles already parsed configurations into a new registry, validating every trigger, tier, effect and condition reference.
+     * Invalid references are reported and left out of the compiled enchant.
+     */
+    public LoadResult compile(Configuration configuration, Messages messages, Commands commands, CustomEnchants customEnchants, Inventories inventories, GKits gKits, List<String> errors) {
+        if (customEnchants.customEnchants == null) customEnchants.customEnchants = Collections.emptyMap();
+        Map<String, Effect> effects = IridiumEnchants.getInstance().getEffects();
+        Map<String, Condition> conditions = IridiumEnchants.getInstance().getConditions();
+
+        List<String> keys = new ArrayList<>(customEnchants.customEnchants.keySet());
+        Collections.sort(keys);
+        Map<String, CompiledEnchant> enchants = new HashMap<>();
+        for (String key : keys) {
+            CompiledEnchant compiledEnchant = compileEnchant(enchants.size(), key, customEnchants.customEnchants.get(key), configuration, effects, conditions, errors);
+            if (compiledEnchant != null) enchants.put(key, compiledEnchant);
+        }
+        return new LoadResult(buildRegistry(configuration, messages, commands, customEnchants, inventories, gKits, enchants, errors), errors);
+    }
+
+    /**
+     * Creates a new registry from the previous one, only recompiling the enchants which changed.
+     * Every other enchant keeps its compiled form and id.
+     *
+     * @param previous The registry to start from
+     * @param changed  The enchants which were added or changed
+     * @param removed  The keys of the enchants which were removed
+     * @return The new registry and every problem found in the changed enchants
+     */
+    public LoadResult patch(EnchantRegistry previous, Map<String, CustomEnchant> changed, Collection<String> removed) {
+        List<String> errors = new ArrayList<>();
+        Map<String, Effect> effects = IridiumEnchants.getInstance().getEffects();
+        Map<String, Condition> conditions = IridiumEnchants.getInstance().getConditions();
+
+        Map<String, CompiledEnchant> enchants = new HashMap<>(previous.getEnchants());
+        enchants.keySet().removeAll(removed);
+        int nextId = previous.getEnchants().values().stream().mapToInt(CompiledEnchant::getId).max().orElse(-1) + 1;
+        for (Map.Entry<String, CustomEnchant> customEnchant : changed.entrySet()) {
+            CompiledEnchant current = enchants.get(customEnchant.getKey());
+            int id = current == null ? nextId++ : current.getId();
+            CompiledEnchant compiledEnchant = compileEnchant(id, customEnchant.getKey(), customEnchant.getValue(), previous.getConfiguration(), effects, conditions, errors);
+            if (compiledEnchant != null) enchants.put(customEnchant.getKey(), compiledEnchant);
+        }
+
+        CustomEnchants customEnchants = new CustomEnchants();
+        customEnchants.customEnchants = new HashMap<>(previous.getCustomEnchants().customEnchants);
+        customEnchants.customEnchants.keySet().removeAll(removed);
+        customEnchants.customEnchants.putAll(changed);
+        return new LoadResult(buildRegistry(previous.getConfiguration(), previous.getMessages(), previous.getCommands(), customEnchants, previous.getInventories(), previous.getGKits(), enchants, errors), errors);
+    }
+
+    private EnchantRegistry buildRegistry(Configuration configuration, Messages messages, Commands commands, CustomEnchants customEnchants, Inventories inventories, GKits gKits, Map<String, CompiledEnchant> compiledEnchants, List<String> errors) {
+        Map<String, CompiledEnchant> enchants = new LinkedHashMap<>();
+        Map<TriggerType, List<CompiledEnchant>> triggers = new EnumMap<>(TriggerType.class);
+        for (CompiledEnchant compiledEnchant : new TreeMap<>(compiledEnchants).values()) {
+            enchants.put(compiledEnchant.getKey(), compiledEnchant);
+            if (compiledEnchant.isEnabled() && compiledEnchant.getTriggerType() != null) {
+                triggers.computeIfAbsent(compiledEnchant.getTriggerType(), triggerType -> new ArrayList<>()).add(compiledEnchant);
+            }
+        }
+        triggers.replaceAll((triggerType, enchantList) -> Collections.unmodifiableList(enchantList));
+        validateGKits(gKits, enchants, errors);
+
+        return new EnchantRegistry(versions.incrementAndGet(), configuration, messages, commands, customEnchants, inventories, gKits,
+                Collections.unmodifiableMap(enchants), Collections.unmodifiableMap(triggers), new SearchIndex(customEnchants.customEnchants));
+    }
+
+    private CompiledEnchant compileEnchant(int id, String key, CustomEnchant customEnchant, Configuration configuration, Map<String, Effect> effects, Map<String, Condition> conditions, List<String> errors) {
+        if (customEnchant == null) {
+            errors.add("Enchant " + key + " is empty");
+            return null;
+        }
+        if (customEnchant.type == null) {
+            errors.add("Enchant " + key + " has no type");
+        }
+        TriggerType triggerType = TriggerType.fromTrigger(customEnchant.trigger).orElse(null);
+        if (triggerType == null) {
+            errors.add("Enchant " + key + " has an unknown trigger " + customEnchant.trigger);
+        }
+        int triggerPeriod = 1;
+        String[] triggerArgs = customEnchant.trigger == null ? new String[0] : customEnchant.trigger.split(":");
+        if (triggerType == TriggerType.PASSIVE && triggerArgs.length > 1) {
+            try {
+                triggerPeriod = Integer.parseInt(triggerArgs[1]);
+            } catch (NumberFormatException exception) {
+                triggerPeriod = 0;
+            }
+            if (triggerPeriod <= 0) {
+                errors.add("Enchant " + key + " has an invalid passive period " + triggerArgs[1]);
+                triggerPeriod = 1;
+            }
+        }
+
+        Map<Integer, CompiledLevel> levels = new HashMap<>();
+        if (customEnchant.levels == null || customEnchant.levels.isEmpty()) {
+            errors.add("Enchant " + key + " has no levels");
+        } else {
+            for (Map.Entry<Integer, Level> level : customEnchant.levels.entrySet()) {
+                String name = "Enchant " + key + " level " + level.getKey();
+                if (level.getValue() == null) {
+                    errors.add(name + " is empty");
+                    continue;
+                }
+                levels.put(level.getKey(), compileLevel(name, level.getKey(), level.getValue(), configuration, effects, conditions, errors));
+            }
+        }
+        boolean enabled = customEnchant.enabled == null || customEnchant.enabled;
+        return new CompiledEnchant(id, key, customEnchant, triggerType, triggerPeriod, enabled, Collections.unmodifiableMap(levels));
+    }
+
+    private CompiledLevel compileLevel(String name, int level, Level source, Configuration configuration, Map<String, Effect> effects, Map<String, Condition> conditions, List<String> errors) {
+        if (source.tiers != null) {
+            for (String tier : source.tiers) {
+                if (!configuration.tiers.containsKey(tier)) {
+                    errors.add(name + " references an unknown tier " + tier);
+                }
+            }
+        }
+
+        List<CompiledCondition> compiledConditions = new ArrayList<>();
+        if (source.conditions != null) {
+            for (String condition : source.conditions) {
+                String[] conditionArgs = condition.toUpperCase().split(" ");
+                Condition resolved = conditions.get(conditionArgs[0]);
+                if (resolved == null) {
+                    errors.add(name + " references an unknown condition " + conditionArgs[0]);
+                    continue;
+                }
+                compiledConditions.add(new CompiledCondition(conditionArgs[0], resolved, conditionArgs));
+            }
+        }
+
+        List<CompiledEffect> compiledEffects = new ArrayList<>();
+        if (source.effects != null) {
+            for (String effect : source.effects) {
+                String[] effectArgs = effect.toUpperCase().split(":");
+                Effect resolved = effects.get(effectArgs[0]);
+                if (resolved == null) {
+                    errors.add(name + " references an unknown effect " + effectArgs[0]);
+                    continue;
+                }
+                if (!validateEffect(name, effectArgs, effects, errors)) continue;
+                compiledEffects.add(new CompiledEffect(effectArgs[0], resolved, effectArgs, CompiledEffect.isGhost(source.ghostBlocks, resolved)));
+            }
+        }
+
+        if (source.cooldown < 0) errors.add(name + " has a negative cooldown");
+        if (source.maxProcsPerSecond < 0) errors.add(name + " has a negative maxProcsPerSecond");
+        if (source.maxProcsPerSecond > CompiledLevel.MAX_PROCS_PER_SECOND) {
+            errors.add(name + " has a maxProcsPerSecond above " + CompiledLevel.MAX_PROCS_PER_SECOND);
+        }
+
+        return new CompiledLevel(level, source, source.chance,
+                compiledConditions.toArray(new CompiledCondition[0]),
+                compiledEffects.toArray(new CompiledEffect[0]),
+                CompiledLevel.toCooldown(source), CompiledLevel.toProcInterval(source));
+    }
+
+    /**
+     * Validates the arguments of the effects which wrap another effect, including the wrapped effect itself.
+     */
+    private boolean validateEffect(String name, String[] effectArgs, Map<String, Effect> effects, List<String> errors) {
+        Effect resolved = effects.get(effectArgs[0]);
+        if (resolved instanceof Aura) return validateAura(name, effectArgs, effects, errors);
+        if (resolved instanceof Delay) return validateScheduled(name, "a DELAY without a delay and effect", effectArgs, 2, effects, errors);
+        if (resolved instanceof Repeat) return validateScheduled(name, "a REPEAT without a count, interval and effect", effectArgs, 3, effects, errors);
+        return true;
+    }
+
+    private boolean validateAura(String name, String[] effectArgs, Map<String, Effect> effects, List<String> errors) {
+        if (effectArgs.length < 4) {
+            errors.add(name + " has an AURA without a type, range and effect");
+            return false;
+        }
+        try {
+            Aura.AuraType.valueOf(effectArgs[1]);
+        } catch (IllegalArgumentException exception) {
+            errors.add(name + " has an AURA with an unknown type " + effectArgs[1]);
+            return false;
+        }
+        if (!effects.containsKey(effectArgs[3])) {
+            errors.add(name + " has an AURA with an unknown effect " + effectArgs[3]);
+            return false;
+        }
+        return validateEffect(name, Arrays.copyOfRange(effectArgs, 3, effectArgs.length), effects, errors);
+    }
+
+    private boolean validateScheduled(String name, String missing, String[] effectArgs, int effectIndex, Map<String, Effect> effects, List<String> errors) {
+        if (effectArgs.length <= effectIndex) {
+            errors.add(name + " has " + missing);
+            return false;
+        }
+        for (int i = 1; i < effectIndex; i++) {
+            try {
+                if (Integer.parseInt(effectArgs[i]) > 0) continue;
+            } catch (NumberFormatException ignored) {
+            }
+            errors.add(name + " has a " + effectArgs[0] + " with an invalid number " + effectArgs[i]);
+            return false;
+        }
+        if (!effects.containsKey(effectArgs[effectIndex])) {
+            errors.add(name + " has a " + effectArgs[0] + " with an unknown effect " + effectArgs[effectIndex]);
+            return false;
+        }
+        return validateEffect(name, Arrays.copyOfRange(effectArgs, effectIndex, effectArgs.length), effects, errors);
+    }
+
+    private void validateGKits(GKits gKits, Map<String, CompiledEnchant> enchants, List<String> errors) {
+        if (gKits.gkits == null) gKits.gkits = Collections.emptyMap();
+        for (Map.Entry<String, GKit> gKit : gKits.gkits.entrySet()) {
+            if (gKit.getValue() == null || gKit.getValue().items == null) continue;
+            for (GKit.GKitItem gKitItem : gKit.getValue().items.values()) {
+                if (gKitItem.material == null) {
+                    errors.add("GKit " + gKit.getKey() + " has an item without a material");
+                }
+                if (gKitItem.enchantments == null) continue;
+                for (String enchantment : gKitItem.enchantments.keySet()) {
+                    if (Enchantment.getByName(enchantment) == null && !enchants.containsKey(enchantment)) {
+                        errors.add("GKit " + gKit.getKey() + " references an unknown enchantment " + enchantment);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reloads all configurations on a worker thread.
+     * The new registry is only published if it has no errors, otherwise the current one is kept.
+     *
+     * @param sender The CommandSender which receives the result of this reload
+     */
+    public void reload(CommandSender sender) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        if (!reloading.compareAndSet(false, true)) {
+            sender.sendMessage(StringUtils.color(plugin.getMessages().reloadInProgress.replace("%prefix%", plugin.getConfiguration().prefix)));
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            LoadResult loadResult;
+            try {
+                loadResult = load();
+            } catch (RuntimeException exception) {
+                loadResult = new LoadResult(null, Collections.singletonList(exception.toString()));
+            }
+            LoadResult result = loadResult;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                reloading.set(false);
+                finishReload(sender, result);
+            });
+        });
+    }
+
+    private void finishReload(CommandSender sender, LoadResult loadResult) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        EnchantRegistry previous = plugin.getRegistry();
+        if (loadResult.getRegistry() == null || !loadResult.getErrors().isEmpty()) {
+            loadResult.getErrors().forEach(error -> plugin.getLogger().warning(error));
+            sender.sendMessage(StringUtils.color(previous.getMessages().reloadFailed
+                    .replace("%prefix%", previous.getConfiguration().prefix)
+                    .replace("%errors%", String.valueOf(loadResult.getErrors().size()))
+            ));
+            loadResult.getErrors().stream().limit(MAX_REPORTED_ERRORS).forEach(error ->
+                    sender.sendMessage(StringUtils.color(previous.getMessages().reloadError.replace("%error%", error)))
+            );
+            return;
+        }
+
+        EnchantRegistry next = loadResult.getRegistry();
+        RegistryDiff registryDiff = RegistryDiff.between(previous, next);
+        plugin.publishRegistry(next);
+        updateEnchantsDirectoryWatcher();
+        sender.sendMessage(StringUtils.color(next.getMessages().reloaded.replace("%prefix%", next.getConfiguration().prefix)));
+        sender.sendMessage(StringUtils.color(next.getMessages().reloadDiff
+                .replace("%prefix%", next.getConfiguration().prefix)
+                .replace("%added%", join(registryDiff.getAdded()))
+                .replace("%changed%", join(registryDiff.getChanged()))
+                .replace("%removed%", join(registryDiff.getRemoved()))
+        ));
+    }
+
+    /**
+     * Applies changed enchant files to the live registry, called on the main thread by the {@link EnchantsDirectoryWatcher}.
+     *
+     * @param changed The enchants which were added or changed
+     * @param removed The keys of the enchants whose files were deleted
+     */
+    public void applyEnchantFileChanges(Map<String, CustomEnchant> changed, Collection<String> removed) {
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        EnchantRegistry previous = plugin.getRegistry();
+        if (!previous.getConfiguration().enchantsDirectory) return;
+        LoadResult loadResult = patch(previous, changed, removed);
+        if (!loadResult.getErrors().isEmpty()) {
+            plugin.getLogger().warning("Enchant files were not reloaded, because of " + loadResult.getErrors().size() + " error(s):");
+            loadResult.getErrors().forEach(error -> plugin.getLogger().warning(error));
+            return;
+        }
+        RegistryDiff registryDiff = RegistryDiff.between(previous, loadResult.getRegistry());
+        plugin.publishRegistry(loadResult.getRegistry());
+        plugin.getLogger().info("Reloaded enchant files. Added: " + join(registryDiff.getAdded()) + " Changed: " + join(registryDiff.getChanged()) + " Removed: " + join(registryDiff.getRemoved()));
+    }
+
+    /**
+     * Starts or stops watching the enchants directory, depending on the current configuration.
+     */
+    public synchronized void updateEnchantsDirectoryWatcher() {
+        Configuration configuration = IridiumEnchants.getInstance().getConfiguration();
+        boolean watch = configuration.enchantsDirectory && configuration.watchEnchantsDirectory;
+        if (watch && enchantsDirectoryWatcher == null) {
+            try {
+                enchantsDirectoryWatcher = new EnchantsDirectoryWatcher(getEnchantsDirectory().toPath());
+                enchantsDirectoryWatcher.start();
+            } catch (IOException exception) {
+                IridiumEnchants.getInstance().getLogger().warning("Failed to watch the enchants directory: " + exception.getMessage());
+                enchantsDirectoryWatcher = null;
+            }
+        } else if (!watch && enchantsDirectoryWatcher != null) {
+            stopEnchantsDirectoryWatcher();
+        }
+    }
+
+    public synchronized void stopEnchantsDirectoryWatcher() {
+        if (enchantsDirectoryWatcher == null) return;
+        enchantsDirectoryWatcher.stop();
+        enchantsDirectoryWatcher = null;
+    }
+
+    private String join(List<String> keys) {
+        return keys.isEmpty() ? "-" : String.join(", ", keys);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LoadResult {
+        /**
+         * The compiled registry, null if loading failed entirely.
+         */
+        private final EnchantRegistry registry;
+        private final List<String> errors;
+    }
+}
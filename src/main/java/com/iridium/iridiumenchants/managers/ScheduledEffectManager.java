@@ -0,0 +1,185 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.metrics.EnchantMetrics;
+import com.iridium.iridiumenchants.registry.CompiledEffect;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import com.iridium.iridiumenchants.utils.TimingWheel;
+import lombok.Getter;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Runs the effects of DELAY and REPEAT later, from a single {@link TimingWheel} which is advanced every tick,
+ * so thousands of damage over time effects don't need a BukkitTask each.
+ * Every scheduled effect is indexed by the entities it uses, and cancelled once one of them dies or logs out
+ * or its enchant is quarantined. Every application goes through the load governor, the watchdog, the metrics and the
+ * attribution like an immediate one. Scheduled effects only remember the key of their enchant, which is resolved from
+ * the current registry whenever they run, because the ids change when the registry is reloaded.
+ * Only used on the main thread, so no synchronization is needed.
+ */
+public class ScheduledEffectManager {
+
+    private static final long LOG_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final TimingWheel<ScheduledEffect> wheel = new TimingWheel<>();
+    private final Map<UUID, Set<ScheduledEffect>> byEntity = new HashMap<>();
+    @Getter
+    private long droppedCount;
+    @Getter
+    private long failedCount;
+    private long nextLog;
+
+    /**
+     * Schedules an effect.
+     *
+     * @param compiledEnchant The enchant the effect belongs to, null if it is unknown
+     * @param effect          The effect
+     * @param player          The player using the enchant
+     * @param target          The target of the enchant
+     * @param delay           The ticks until the effect is applied for the first time
+     * @param count           How often the effect is applied
+     * @param interval        The ticks between the applications
+     * @return False if too many effects are scheduled already
+     */
+    public boolean schedule(CompiledEnchant compiledEnchant, CompiledEffect effect, LivingEntity player, LivingEntity target, int delay, int count, int interval) {
+        if (count <= 0) return true;
+        if (wheel.size() >= IridiumEnchants.getInstance().getConfiguration().maxScheduledEffects) {
+            droppedCount++;
+            return false;
+        }
+        ScheduledEffect scheduledEffect = new ScheduledEffect(compiledEnchant == null ? null : compiledEnchant.getKey(), effect, player, target, count, Math.max(interval, 1));
+        scheduledEffect.timer = wheel.schedule(scheduledEffect, delay);
+        index(player, scheduledEffect);
+        index(target, scheduledEffect);
+        return true;
+    }
+
+    /**
+     * Cancels every effect which an entity uses, either as the player or as the target.
+     *
+     * @param entity The entity
+     */
+    public void cancel(Entity entity) {
+        Set<ScheduledEffect> scheduledEffects = byEntity.remove(entity.getUniqueId());
+        if (scheduledEffects == null) return;
+        for (ScheduledEffect scheduledEffect : scheduledEffects) {
+            wheel.cancel(scheduledEffect.timer);
+            remove(scheduledEffect);
+        }
+    }
+
+    /**
+     * Applies the effects which are due.
+     * Has to run every tick.
+     */
+    public void tick() {
+        wheel.advance(this::run);
+    }
+
+    /**
+     * Gets the amount of scheduled effects.
+     *
+     * @return The amount of effects
+     */
+    public int size() {
+        return wheel.size();
+    }
+
+    private void run(ScheduledEffect scheduledEffect) {
+        // Entities which were unloaded are never cancelled by an event
+        if (!scheduledEffect.player.isValid() || (scheduledEffect.target != null && !scheduledEffect.target.isValid())) {
+            remove(scheduledEffect);
+            return;
+        }
+        IridiumEnchants plugin = IridiumEnchants.getInstance();
+        CompiledEnchant compiledEnchant = null;
+        if (scheduledEffect.enchant != null) {
+            compiledEnchant = plugin.getRegistry().getEnchant(scheduledEffect.enchant);
+            if (compiledEnchant == null || !compiledEnchant.isEnabled() || plugin.getWatchdogManager().isQuarantined(compiledEnchant)) {
+                remove(scheduledEffect);
+                return;
+            }
+        }
+        if (--scheduledEffect.remaining > 0) {
+            wheel.reschedule(scheduledEffect.timer, scheduledEffect.interval);
+        } else {
+            remove(scheduledEffect);
+        }
+        CompiledEffect effect = scheduledEffect.effect;
+        if (compiledEnchant == null) {
+            // Scheduled from outside of an enchant, so there is nothing to measure it against
+            try {
+                effect.apply(scheduledEffect.player, scheduledEffect.target, null, null);
+            } catch (RuntimeException exception) {
+                fail(scheduledEffect, exception);
+            }
+            return;
+        }
+        LoadGovernor loadGovernor = plugin.getLoadGovernor();
+        if (loadGovernor.isDegraded() && loadGovernor.divert(effect, compiledEnchant, scheduledEffect.player, scheduledEffect.target)) return;
+        long start = System.nanoTime();
+        try {
+            // The event which triggered the effect is already over
+            plugin.getCustomEnchantManager().applyEffect(effect, compiledEnchant, scheduledEffect.player, scheduledEffect.target, null);
+        } catch (RuntimeException exception) {
+            fail(scheduledEffect, exception);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            EnchantMetrics enchantMetrics = plugin.getMetricsManager().getEnchantMetrics(compiledEnchant);
+            enchantMetrics.getLatency().record(nanos);
+            enchantMetrics.getWindow().record(nanos);
+            // Scheduled effects run outside of any dispatch, so they are attributed on their own
+            plugin.getAttributionManager().record(scheduledEffect.player, nanos);
+        }
+    }
+
+    private void fail(ScheduledEffect scheduledEffect, RuntimeException exception) {
+        failedCount++;
+        long now = System.nanoTime();
+        if (now - nextLog < 0) return;
+        nextLog = now + LOG_INTERVAL;
+        IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Scheduled effect " + String.join(":", scheduledEffect.effect.getArgs()) + " failed", exception);
+    }
+
+    private void index(LivingEntity entity, ScheduledEffect scheduledEffect) {
+        if (entity == null) return;
+        byEntity.computeIfAbsent(entity.getUniqueId(), uuid -> new HashSet<>()).add(scheduledEffect);
+    }
+
+    private void remove(ScheduledEffect scheduledEffect) {
+        unindex(scheduledEffect.player, scheduledEffect);
+        unindex(scheduledEffect.target, scheduledEffect);
+    }
+
+    private void unindex(LivingEntity entity, ScheduledEffect scheduledEffect) {
+        if (entity == null) return;
+        Set<ScheduledEffect> scheduledEffects = byEntity.get(entity.getUniqueId());
+        if (scheduledEffects != null && scheduledEffects.remove(scheduledEffect) && scheduledEffects.isEmpty()) {
+            byEntity.remove(entity.getUniqueId());
+        }
+    }
+
+    private static class ScheduledEffect {
+        private final String enchant;
+        private final CompiledEffect effect;
+        private final LivingEntity player;
+        private final LivingEntity target;
+        private final int interval;
+        private int remaining;
+        private TimingWheel.Timer<ScheduledEffect> timer;
+
+        private ScheduledEffect(String enchant, CompiledEffect effect, LivingEntity player, LivingEntity target, int remaining, int interval) {
+            this.enchant = enchant;
+            this.effect = effect;
+            this.player = player;
+            this.target = target;
+            this.remaining = remaining;
+            this.interval = interval;
+        }
+    }
+}
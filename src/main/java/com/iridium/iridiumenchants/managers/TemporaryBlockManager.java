@@ -0,0 +1,233 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.utils.ChunkTokenTable;
+import com.iridium.iridiumenchants.utils.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+
+/**
+ * Keeps track of the blocks placed temporarily by effects like Coat and ReplaceNear, and restores them once they expire.
+ * Real blocks change the world and remember their previous state. Ghost blocks are only sent to the players near them,
+ * so the world isn't changed at all. Players which get near a ghost block later receive it once they move into range.
+ * Expiry is handled by a single {@link TimingWheel} instead of scanning every block every tick.
+ * Only used on the main thread, so no synchronization is needed.
+ */
+public class TemporaryBlockManager {
+
+    private static final int VIEW_UPDATE_INTERVAL = 10;
+
+    private final TimingWheel<TemporaryBlock> wheel = new TimingWheel<>();
+    private final Map<Block, TemporaryBlock> blocks = new HashMap<>();
+    // The ghost blocks of every world by chunk, to find the ones a player has to receive
+    private final Map<UUID, Map<Long, Set<TemporaryBlock>>> ghostChunks = new HashMap<>();
+    private final Map<UUID, PlayerView> views = new HashMap<>();
+
+    /**
+     * Places a temporary block. A temporary block which is already there takes the new material and time,
+     * and is restored first if it changes between a real and a ghost block.
+     *
+     * @param block        The block
+     * @param material     The temporary material
+     * @param ticks        How long the block stays
+     * @param applyPhysics If physics are applied when a real block is restored
+     * @param ghost        If the block is only sent to the nearby players
+     * @return True if a new block was placed, false if an existing one was replaced
+     */
+    public boolean place(Block block, Material material, int ticks, boolean applyPhysics, boolean ghost) {
+        TemporaryBlock temporaryBlock = blocks.get(block);
+        if (temporaryBlock != null) {
+            if ((temporaryBlock.ghostData != null) == ghost) {
+                temporaryBlock.applyPhysics = applyPhysics;
+                if (ghost) {
+                    temporaryBlock.ghostData = material.createBlockData();
+                    for (Player player : getViewers(block)) {
+                        player.sendBlockChange(block.getLocation(), temporaryBlock.ghostData);
+                    }
+                } else {
+                    block.setType(material, false);
+                }
+                wheel.reschedule(temporaryBlock.timer, ticks);
+                return false;
+            }
+            wheel.cancel(temporaryBlock.timer);
+            restore(temporaryBlock, false);
+            place(block, material, ticks, applyPhysics, ghost);
+            return false;
+        }
+        if (ghost) {
+            temporaryBlock = new TemporaryBlock(block, null, material.createBlockData(), false);
+            ghostChunks.computeIfAbsent(block.getWorld().getUID(), uuid -> new HashMap<>())
+                    .computeIfAbsent(getChunkKey(block), key -> new HashSet<>())
+                    .add(temporaryBlock);
+            for (Player player : getViewers(block)) {
+                player.sendBlockChange(block.getLocation(), temporaryBlock.ghostData);
+            }
+        } else {
+            temporaryBlock = new TemporaryBlock(block, block.getState(), null, applyPhysics);
+            block.setType(material, false);
+        }
+        temporaryBlock.timer = wheel.schedule(temporaryBlock, ticks);
+        blocks.put(block, temporaryBlock);
+        return true;
+    }
+
+    /**
+     * Returns if a block was placed temporarily.
+     *
+     * @param block The block
+     * @return True if the block is temporary
+     */
+    public boolean isTemporary(Block block) {
+        return blocks.containsKey(block);
+    }
+
+    /**
+     * Restores a temporary block right away, without applying physics like when it is broken.
+     *
+     * @param block The block
+     * @return True if the block was a real temporary block, false if it was a ghost block or not temporary at all
+     */
+    public boolean restore(Block block) {
+        TemporaryBlock temporaryBlock = blocks.get(block);
+        if (temporaryBlock == null) return false;
+        wheel.cancel(temporaryBlock.timer);
+        restore(temporaryBlock, false);
+        return temporaryBlock.ghostData == null;
+    }
+
+    /**
+     * Restores every temporary block.
+     */
+    public void restoreAll() {
+        for (TemporaryBlock temporaryBlock : new ArrayList<>(blocks.values())) {
+            wheel.cancel(temporaryBlock.timer);
+            restore(temporaryBlock, temporaryBlock.applyPhysics);
+        }
+    }
+
+    /**
+     * Restores the blocks which expired, and sends the ghost blocks to the players which moved into their range.
+     * Has to run every tick.
+     */
+    public void tick() {
+        wheel.advance(temporaryBlock -> restore(temporaryBlock, temporaryBlock.applyPhysics));
+        if (wheel.getTick() % VIEW_UPDATE_INTERVAL == 0) updateViews();
+    }
+
+    /**
+     * Forgets what a player has received, so they get every ghost block again.
+     *
+     * @param player The player
+     */
+    public void forget(Player player) {
+        views.remove(player.getUniqueId());
+    }
+
+    /**
+     * Gets the amount of temporary blocks.
+     *
+     * @return The amount of real and ghost blocks
+     */
+    public int size() {
+        return blocks.size();
+    }
+
+    private void restore(TemporaryBlock temporaryBlock, boolean applyPhysics) {
+        blocks.remove(temporaryBlock.block);
+        if (temporaryBlock.ghostData == null) {
+            temporaryBlock.original.update(true, applyPhysics);
+            return;
+        }
+        Map<Long, Set<TemporaryBlock>> chunks = ghostChunks.get(temporaryBlock.block.getWorld().getUID());
+        if (chunks != null) {
+            long chunkKey = getChunkKey(temporaryBlock.block);
+            Set<TemporaryBlock> ghosts = chunks.get(chunkKey);
+            if (ghosts != null && ghosts.remove(temporaryBlock) && ghosts.isEmpty()) chunks.remove(chunkKey);
+            if (chunks.isEmpty()) ghostChunks.remove(temporaryBlock.block.getWorld().getUID());
+        }
+        BlockData blockData = temporaryBlock.block.getBlockData();
+        for (Player player : getViewers(temporaryBlock.block)) {
+            player.sendBlockChange(temporaryBlock.block.getLocation(), blockData);
+        }
+    }
+
+    private void updateViews() {
+        int viewDistance = Bukkit.getViewDistance();
+        Set<UUID> online = new HashSet<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            online.add(player.getUniqueId());
+            World world = player.getWorld();
+            int chunkX = player.getLocation().getBlockX() >> 4;
+            int chunkZ = player.getLocation().getBlockZ() >> 4;
+            PlayerView view = views.get(player.getUniqueId());
+            if (view != null && view.world.equals(world.getUID()) && view.chunkX == chunkX && view.chunkZ == chunkZ) continue;
+            Map<Long, Set<TemporaryBlock>> chunks = ghostChunks.get(world.getUID());
+            if (chunks != null) {
+                for (Map.Entry<Long, Set<TemporaryBlock>> chunk : chunks.entrySet()) {
+                    int x = (int) (chunk.getKey() >> 32);
+                    int z = (int) (long) chunk.getKey();
+                    if (Math.abs(x - chunkX) > viewDistance || Math.abs(z - chunkZ) > viewDistance) continue;
+                    // Chunks which were already in range have their ghost blocks on the client
+                    if (view != null && view.world.equals(world.getUID())
+                            && Math.abs(x - view.chunkX) <= viewDistance && Math.abs(z - view.chunkZ) <= viewDistance) continue;
+                    for (TemporaryBlock temporaryBlock : chunk.getValue()) {
+                        player.sendBlockChange(temporaryBlock.block.getLocation(), temporaryBlock.ghostData);
+                    }
+                }
+            }
+            views.put(player.getUniqueId(), new PlayerView(world.getUID(), chunkX, chunkZ));
+        }
+        views.keySet().retainAll(online);
+    }
+
+    private List<Player> getViewers(Block block) {
+        int viewDistance = Bukkit.getViewDistance();
+        int chunkX = block.getX() >> 4;
+        int chunkZ = block.getZ() >> 4;
+        List<Player> viewers = new ArrayList<>();
+        for (Player player : block.getWorld().getPlayers()) {
+            if (Math.abs((player.getLocation().getBlockX() >> 4) - chunkX) > viewDistance) continue;
+            if (Math.abs((player.getLocation().getBlockZ() >> 4) - chunkZ) > viewDistance) continue;
+            viewers.add(player);
+        }
+        return viewers;
+    }
+
+    private static long getChunkKey(Block block) {
+        return ChunkTokenTable.getKey(block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    private static class TemporaryBlock {
+        private final Block block;
+        private final BlockState original;
+        private BlockData ghostData;
+        private boolean applyPhysics;
+        private TimingWheel.Timer<TemporaryBlock> timer;
+
+        private TemporaryBlock(Block block, BlockState original, BlockData ghostData, boolean applyPhysics) {
+            this.block = block;
+            this.original = original;
+            this.ghostData = ghostData;
+            this.applyPhysics = applyPhysics;
+        }
+    }
+
+    private static class PlayerView {
+        private final UUID world;
+        private final int chunkX;
+        private final int chunkZ;
+
+        private PlayerView(UUID world, int chunkX, int chunkZ) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import com.iridium.iridiumenchants.registry.EnchantRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+
+/**
+ * Keeps track of which triggers are in use, so events nobody has an enchant for cost nothing.
+ * Trigger listeners are only registered while an enabled enchant uses one of their triggers,
+ * and the equipment of every online player is scanned once per tick to know which triggers can currently fire.
+ * Between an equipment change and the next scan every trigger counts as equipped, so a trigger is only skipped
+ * when it is certain that nobody has it equipped.
+ */
+public class TriggerManager {
+
+    private final Map<Listener, Set<TriggerType>> listeners = new LinkedHashMap<>();
+    private final Set<Listener> registeredListeners = new HashSet<>();
+    private Set<TriggerType> equippedTriggers = EnumSet.allOf(TriggerType.class);
+    private boolean equipmentChanged = true;
+    private int tickCycle = 0;
+
+    /**
+     * Adds a listener which only has to be registered while one of its triggers is used.
+     *
+     * @param listener     The listener
+     * @param triggerTypes The triggers this listener dispatches
+     */
+    public void addListener(Listener listener, TriggerType... triggerTypes) {
+        listeners.put(listener, EnumSet.copyOf(Arrays.asList(triggerTypes)));
+    }
+
+    /**
+     * Registers and unregisters the trigger listeners to match the enchants of the specified registry.
+     *
+     * @param registry The registry which was just published
+     */
+    public void update(EnchantRegistry registry) {
+        for (Map.Entry<Listener, Set<TriggerType>> listener : listeners.entrySet()) {
+            boolean used = listener.getValue().stream().anyMatch(triggerType -> !registry.getEnchants(triggerType).isEmpty());
+            if (used && registeredListeners.add(listener.getKey())) {
+                Bukkit.getPluginManager().registerEvents(listener.getKey(), IridiumEnchants.getInstance());
+            } else if (!used && registeredListeners.remove(listener.getKey())) {
+                HandlerList.unregisterAll(listener.getKey());
+            }
+        }
+        // The enchants behind the triggers changed, assume everything is equipped until the next scan
+        equippedTriggers = EnumSet.allOf(TriggerType.class);
+    }
+
+    /**
+     * Checks if any online player had an enchant with the specified trigger equipped during the last scan,
+     * or could have equipped one since.
+     *
+     * @param triggerType The trigger
+     * @return false if dispatching this trigger can be skipped
+     */
+    public boolean isEquipped(TriggerType triggerType) {
+        return equipmentChanged || equippedTriggers.contains(triggerType);
+    }
+
+    /**
+     * Marks that a player could have equipped an item, so every trigger is dispatched until the next scan.
+     */
+    public void markEquipmentChanged() {
+        equipmentChanged = true;
+    }
+
+    /**
+     * Scans the equipment of every online player and dispatches the passive enchants which are due.
+     */
+    public void tick() {
+        EnchantRegistry registry = IridiumEnchants.getInstance().getRegistry();
+        CustomEnchantManager customEnchantManager = IridiumEnchants.getInstance().getCustomEnchantManager();
+        Set<TriggerType> equipped = EnumSet.noneOf(TriggerType.class);
+        int periodMultiplier = IridiumEnchants.getInstance().getLoadGovernor().getPassivePeriodMultiplier();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            List<ItemStack> itemStackList = Arrays.asList(
+                    player.getItemInHand(),
+                    player.getInventory().getBoots(),
+                    player.getInventory().getLeggings(),
+                    player.getInventory().getChestplate(),
+                    player.getInventory().getHelmet()
+            );
+            for (ItemStack itemStack : itemStackList) {
+                Map<String, Integer> enchants = customEnchantManager.getEnchantmentsFromItem(itemStack);
+                if (enchants.isEmpty()) continue;
+                boolean passive = false;
+                for (String key : enchants.keySet()) {
+                    CompiledEnchant compiledEnchant = registry.getEnchant(key);
+                    if (compiledEnchant == null || !compiledEnchant.isEnabled() || compiledEnchant.getTriggerType() == null) continue;
+                    equipped.add(compiledEnchant.getTriggerType());
+                    passive |= compiledEnchant.getTriggerType() == TriggerType.PASSIVE;
+                }
+                if (passive) {
+                    IridiumEnchants.getInstance().getMetricsManager().recordTrigger(TriggerType.PASSIVE);
+                    customEnchantManager.applyEffects(itemStack, enchants, compiledEnchant ->
+                            compiledEnchant.getTriggerType() == TriggerType.PASSIVE && tickCycle % ((long) compiledEnchant.getTriggerPeriod() * periodMultiplier) == 0, player, player, null);
+                }
+            }
+        }
+        equippedTriggers = equipped;
+        equipmentChanged = false;
+        tickCycle++;
+    }
+}
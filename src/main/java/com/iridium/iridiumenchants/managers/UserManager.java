@@ -1,22 +1,164 @@
 package com.iridium.iridiumenchants.managers;
 
+import com.iridium.iridiumenchants.IridiumEnchants;
 import com.iridium.iridiumenchants.User;
+import com.iridium.iridiumenchants.database.CooldownChange;
+import com.iridium.iridiumenchants.database.CooldownRecord;
+import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 
+/**
+ * Keeps the users of online players in memory.
+ * Users are loaded in the background before their player joins, and only users which changed are saved.
+ * Users of players who left are forgotten once everything they changed has been saved.
+ */
 public class UserManager {
-    private final Map<UUID, User> users = new HashMap<>();
+    // How long a user is kept without their player being online, so preloaded users survive until the player joins
+    private static final long UNLOAD_DELAY = 60000;
+
+    private final Map<UUID, User> users = new ConcurrentHashMap<>();
+    // Cooldowns which are being claimed right now, by uuid and name
+    private final Set<String> claims = new HashSet<>();
+    private boolean flushing;
+    private boolean polling;
+
+    /**
+     * Loads a user from the database before the player joins.
+     * Called from the async pre-login event, so this may block.
+     *
+     * @param uuid The uuid of the player
+     */
+    public void preload(UUID uuid) {
+        if (users.containsKey(uuid)) return;
+        Map<String, Long> cooldowns;
+        try {
+            cooldowns = IridiumEnchants.getInstance().getDatabaseManager().loadCooldowns(uuid).get(10, TimeUnit.SECONDS);
+        } catch (Exception exception) {
+            IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to load the user " + uuid, exception);
+            cooldowns = Collections.emptyMap();
+        }
+        User user = new User(uuid);
+        user.mergeCooldowns(cooldowns);
+        users.putIfAbsent(uuid, user);
+    }
 
     public User getUser(OfflinePlayer offlinePlayer) {
-        if (users.containsKey(offlinePlayer.getUniqueId())) {
-            return users.get(offlinePlayer.getUniqueId());
-        } else {
-            User user = new User(offlinePlayer.getUniqueId());
-            users.put(offlinePlayer.getUniqueId(), user);
-            return user;
+        User user = users.get(offlinePlayer.getUniqueId());
+        if (user != null) return user;
+        User created = new User(offlinePlayer.getUniqueId());
+        User existing = users.putIfAbsent(offlinePlayer.getUniqueId(), created);
+        if (existing != null) return existing;
+        // The player wasn't preloaded (e.g. online during a reload), so load them without blocking
+        IridiumEnchants.getInstance().getDatabaseManager().loadCooldowns(offlinePlayer.getUniqueId()).thenAccept(cooldowns ->
+                Bukkit.getScheduler().runTask(IridiumEnchants.getInstance(), () -> created.mergeCooldowns(cooldowns))
+        );
+        return created;
+    }
+
+    /**
+     * Saves every user which changed since the last flush in the background, then forgets users whose player left.
+     * Does nothing while the previous flush is still running.
+     */
+    public void flush() {
+        if (flushing) return;
+        List<CooldownRecord> cooldownRecords = takeDirtyCooldowns();
+        if (cooldownRecords.isEmpty()) {
+            unloadOfflineUsers();
+            return;
         }
+        flushing = true;
+        IridiumEnchants.getInstance().getDatabaseManager().saveCooldowns(cooldownRecords).whenComplete((result, throwable) -> {
+            if (!IridiumEnchants.getInstance().isEnabled()) return;
+            Bukkit.getScheduler().runTask(IridiumEnchants.getInstance(), () -> {
+                flushing = false;
+                if (throwable != null) {
+                    IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to save " + cooldownRecords.size() + " cooldowns, retrying with the next flush", throwable);
+                    for (CooldownRecord cooldownRecord : cooldownRecords) {
+                        User user = users.get(cooldownRecord.getOwner());
+                        if (user != null) user.markDirty(cooldownRecord.getName());
+                    }
+                }
+                unloadOfflineUsers();
+            });
+        });
+    }
+
+    /**
+     * Starts a cooldown of a user in the shared database unless another server already started it.
+     * The callback runs on the main thread, and is skipped if the same cooldown is already being claimed.
+     *
+     * @param user     The user
+     * @param name     The name of the cooldown
+     * @param expiry   The end of the new cooldown in epoch milliseconds
+     * @param callback Receives 0 if the cooldown was claimed, or the end of the running cooldown
+     */
+    public void claimCooldown(User user, String name, long expiry, Consumer<Long> callback) {
+        String claim = user.getUuid() + ":" + name;
+        if (!claims.add(claim)) return;
+        IridiumEnchants.getInstance().getDatabaseManager().claimCooldown(user.getUuid(), name, expiry).whenComplete((blockedUntil, throwable) -> {
+            if (!IridiumEnchants.getInstance().isEnabled()) return;
+            Bukkit.getScheduler().runTask(IridiumEnchants.getInstance(), () -> {
+                claims.remove(claim);
+                if (throwable != null) {
+                    IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to claim the cooldown " + claim, throwable);
+                    return;
+                }
+                // The database already has the cooldown, so the user is updated without marking it dirty
+                user.mergeCooldowns(Collections.singletonMap(name, blockedUntil == 0 ? expiry : blockedUntil));
+                callback.accept(blockedUntil);
+            });
+        });
+    }
+
+    /**
+     * Applies the cooldowns other servers wrote to the shared database to the cached users.
+     * Does nothing while the previous poll is still running.
+     */
+    public void poll() {
+        if (polling) return;
+        polling = true;
+        IridiumEnchants.getInstance().getDatabaseManager().pollChanges().whenComplete((changes, throwable) -> {
+            if (!IridiumEnchants.getInstance().isEnabled()) return;
+            Bukkit.getScheduler().runTask(IridiumEnchants.getInstance(), () -> {
+                polling = false;
+                if (throwable != null) {
+                    IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to poll the shared cooldowns", throwable);
+                    return;
+                }
+                for (CooldownChange change : changes) {
+                    User user = users.get(change.getOwner());
+                    if (user != null) user.mergeCooldowns(Collections.singletonMap(change.getName(), change.getExpiry()));
+                }
+            });
+        });
+    }
+
+    /**
+     * Saves every user which changed, used when the plugin is disabled.
+     *
+     * @return A future which completes once everything was saved
+     */
+    public CompletableFuture<Void> flushAll() {
+        return IridiumEnchants.getInstance().getDatabaseManager().saveCooldowns(takeDirtyCooldowns());
+    }
+
+    private List<CooldownRecord> takeDirtyCooldowns() {
+        List<CooldownRecord> cooldownRecords = new ArrayList<>();
+        for (User user : users.values()) {
+            if (user.isDirty()) cooldownRecords.addAll(user.takeDirtyCooldowns());
+        }
+        return cooldownRecords;
+    }
+
+    private void unloadOfflineUsers() {
+        long now = System.currentTimeMillis();
+        users.values().removeIf(user -> !user.isDirty() && now - user.getLoadTime() > UNLOAD_DELAY && Bukkit.getPlayer(user.getUuid()) == null);
     }
 }
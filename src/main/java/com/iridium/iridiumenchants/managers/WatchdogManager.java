@@ -0,0 +1,285 @@
+package com.iridium.iridiumenchants.managers;
+
+import com.iridium.iridiumenchants.IridiumEnchants;
+import com.iridium.iridiumenchants.configs.Configuration;
+import com.iridium.iridiumenchants.metrics.EnchantMetrics;
+import com.iridium.iridiumenchants.metrics.LatencyHistogram;
+import com.iridium.iridiumenchants.metrics.SlowExecution;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import com.iridium.iridiumenchants.registry.EnchantRegistry;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the effect executions on the main thread.
+ * Executions which take longer than the slow effect threshold are recorded with their enchant, player and location,
+ * and a daemon thread samples the stack of the main thread while an execution is running late.
+ * Enchants whose p99 in the last window exceeded their budget can be quarantined, which disables them until an admin releases them.
+ */
+public class WatchdogManager {
+
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final int MAX_SLOW_EXECUTIONS = 20;
+    private static final long STACK_SAMPLE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final long LOG_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final Deque<SlowExecution> slowExecutions = new ArrayDeque<>();
+    private final Set<String> quarantined = new ConcurrentSkipListSet<>();
+    private volatile boolean[] quarantinedIds = new boolean[0];
+
+    // The start of the outermost execution on the main thread, read by the watchdog thread
+    private volatile long executionStart = IDLE;
+    private volatile Sample sample;
+    private long thresholdNanos;
+    private int depth;
+    private long nextLog;
+    private Thread mainThread;
+    private Thread watchdogThread;
+
+    /**
+     * Loads the quarantined enchants and starts the watchdog thread if a slow effect threshold is configured.
+     * Has to be called on the main thread.
+     */
+    public void start() {
+        this.mainThread = Thread.currentThread();
+        File file = getFile();
+        if (file.exists()) {
+            try {
+                Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).stream()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty())
+                        .forEach(quarantined::add);
+            } catch (IOException exception) {
+                IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to read " + file.getName(), exception);
+            }
+        }
+        update(IridiumEnchants.getInstance().getRegistry());
+
+        double threshold = IridiumEnchants.getInstance().getConfiguration().slowEffectThreshold;
+        if (threshold <= 0) return;
+        this.thresholdNanos = (long) (threshold * 1_000_000);
+        long interval = Math.max(TimeUnit.NANOSECONDS.toMillis(thresholdNanos) / 2, 1);
+        this.watchdogThread = new Thread(() -> watch(interval), "IridiumEnchants Watchdog");
+        watchdogThread.setDaemon(true);
+        watchdogThread.start();
+    }
+
+    /**
+     * Stops the watchdog thread.
+     */
+    public void stop() {
+        if (watchdogThread != null) watchdogThread.interrupt();
+        watchdogThread = null;
+        thresholdNanos = 0;
+    }
+
+    /**
+     * Marks the start of an effect execution.
+     *
+     * @return The start time to pass to {@link #exit(CompiledEnchant, String, LivingEntity, long)}
+     */
+    public long enter() {
+        long now = System.nanoTime();
+        if (Thread.currentThread() == mainThread && depth++ == 0) executionStart = now;
+        return now;
+    }
+
+    /**
+     * Marks the end of an effect execution and records it if it took longer than the slow effect threshold.
+     *
+     * @param compiledEnchant The enchant of the effect
+     * @param effect          The name of the effect
+     * @param player          The player using the enchant
+     * @param start           The start time from {@link #enter()}
+     * @return The duration of the execution in nanoseconds
+     */
+    public long exit(CompiledEnchant compiledEnchant, String effect, LivingEntity player, long start) {
+        long nanos = System.nanoTime() - start;
+        if (Thread.currentThread() != mainThread) return nanos;
+        if (--depth == 0) executionStart = IDLE;
+        if (thresholdNanos > 0 && nanos >= thresholdNanos) {
+            Sample sample = this.sample;
+            recordSlowExecution(compiledEnchant, effect, player, nanos, sample != null && sample.start == start ? sample.stack : null);
+        }
+        return nanos;
+    }
+
+    /**
+     * Returns if an enchant is quarantined.
+     *
+     * @param compiledEnchant The enchant
+     * @return True if the enchant must not be applied
+     */
+    public boolean isQuarantined(CompiledEnchant compiledEnchant) {
+        boolean[] quarantinedIds = this.quarantinedIds;
+        int id = compiledEnchant.getId();
+        return id < quarantinedIds.length && quarantinedIds[id];
+    }
+
+    /**
+     * Returns if an enchant is quarantined.
+     *
+     * @param key The key of the enchant
+     * @return True if the enchant must not be applied
+     */
+    public boolean isQuarantined(String key) {
+        return quarantined.contains(key);
+    }
+
+    /**
+     * Gets every quarantined enchant.
+     *
+     * @return The keys of the quarantined enchants, sorted
+     */
+    public List<String> getQuarantined() {
+        return new ArrayList<>(quarantined);
+    }
+
+    /**
+     * Releases an enchant from the quarantine.
+     *
+     * @param key The key of the enchant
+     * @return True if the enchant was quarantined
+     */
+    public boolean release(String key) {
+        if (!quarantined.remove(key)) return false;
+        saveQuarantine();
+        return true;
+    }
+
+    /**
+     * Gets the most recent slow executions.
+     * Safe to call from any thread.
+     *
+     * @return The slow executions, newest first
+     */
+    public List<SlowExecution> getSlowExecutions() {
+        synchronized (slowExecutions) {
+            return new ArrayList<>(slowExecutions);
+        }
+    }
+
+    /**
+     * Quarantines every enchant whose p99 in the last window exceeded its budget, then starts a new window.
+     */
+    public void checkBudgets() {
+        Configuration configuration = IridiumEnchants.getInstance().getConfiguration();
+        MetricsManager metricsManager = IridiumEnchants.getInstance().getMetricsManager();
+        boolean changed = false;
+        for (CompiledEnchant compiledEnchant : IridiumEnchants.getInstance().getRegistry().getEnchants().values()) {
+            LatencyHistogram window = metricsManager.getEnchantMetrics(compiledEnchant).getWindow();
+            double budget = configuration.quarantineBudgets.getOrDefault(compiledEnchant.getKey(), configuration.quarantineBudget);
+            if (configuration.quarantine && budget > 0 && window.getCount() >= configuration.quarantineMinSamples
+                    && !quarantined.contains(compiledEnchant.getKey())) {
+                long p99 = window.getPercentile(99);
+                if (p99 > budget * 1_000_000) {
+                    quarantined.add(compiledEnchant.getKey());
+                    changed = true;
+                    IridiumEnchants.getInstance().getLogger().warning(String.format("Quarantined %s, its p99 of %.2fms exceeded its budget of %.2fms",
+                            compiledEnchant.getKey(), p99 / 1_000_000.0, budget));
+                }
+            }
+            window.reset();
+        }
+        if (changed) saveQuarantine();
+    }
+
+    /**
+     * Maps the ids of a new registry to the quarantined enchants.
+     *
+     * @param registry The new registry
+     */
+    public void update(EnchantRegistry registry) {
+        if (registry == null) return;
+        int size = 0;
+        for (CompiledEnchant compiledEnchant : registry.getEnchants().values()) {
+            size = Math.max(size, compiledEnchant.getId() + 1);
+        }
+        boolean[] quarantinedIds = new boolean[size];
+        for (CompiledEnchant compiledEnchant : registry.getEnchants().values()) {
+            quarantinedIds[compiledEnchant.getId()] = quarantined.contains(compiledEnchant.getKey());
+        }
+        this.quarantinedIds = quarantinedIds;
+    }
+
+    private void saveQuarantine() {
+        update(IridiumEnchants.getInstance().getRegistry());
+        // The list GUIs show the quarantine, so their cached pages are outdated
+        IridiumEnchants.getInstance().getItemTemplateManager().clearPages();
+        File file = getFile();
+        try {
+            Files.write(file.toPath(), quarantined, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            IridiumEnchants.getInstance().getLogger().log(Level.WARNING, "Failed to write " + file.getName(), exception);
+        }
+    }
+
+    private void recordSlowExecution(CompiledEnchant compiledEnchant, String effect, LivingEntity player, long nanos, StackTraceElement[] stack) {
+        Location location = player.getLocation();
+        SlowExecution slowExecution = new SlowExecution(LocalDateTime.now(), compiledEnchant.getKey(), effect, player.getName(),
+                String.format("%s %d, %d, %d", location.getWorld() == null ? "?" : location.getWorld().getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ()),
+                nanos, stack);
+        EnchantMetrics enchantMetrics = IridiumEnchants.getInstance().getMetricsManager().getEnchantMetrics(compiledEnchant);
+        enchantMetrics.getSlowExecutions().increment();
+        synchronized (slowExecutions) {
+            slowExecutions.addFirst(slowExecution);
+            if (slowExecutions.size() > MAX_SLOW_EXECUTIONS) slowExecutions.removeLast();
+        }
+
+        long now = System.nanoTime();
+        if (now - nextLog < 0) return;
+        nextLog = now + LOG_INTERVAL;
+        String message = String.format("%s of %s took %.2fms for %s at %s", effect, compiledEnchant.getKey(), nanos / 1_000_000.0,
+                slowExecution.getPlayer(), slowExecution.getLocation());
+        if (stack != null) {
+            message += Arrays.stream(stack).map(element -> "\n\tat " + element).collect(Collectors.joining());
+        }
+        IridiumEnchants.getInstance().getLogger().warning(message);
+    }
+
+    private void watch(long interval) {
+        long nextSample = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException exception) {
+                return;
+            }
+            long start = executionStart;
+            if (start == IDLE) continue;
+            Sample sample = this.sample;
+            if (sample != null && sample.start == start) continue;
+            long now = System.nanoTime();
+            if (now - start < thresholdNanos || now - nextSample < 0) continue;
+            // Sampling needs a safepoint, so it only happens for late executions and at most once per interval
+            StackTraceElement[] stack = mainThread.getStackTrace();
+            if (executionStart == start) this.sample = new Sample(start, stack);
+            nextSample = now + STACK_SAMPLE_INTERVAL;
+        }
+    }
+
+    private File getFile() {
+        return new File(IridiumEnchants.getInstance().getDataFolder(), "quarantine.txt");
+    }
+
+    private static class Sample {
+        private final long start;
+        private final StackTraceElement[] stack;
+
+        private Sample(long start, StackTraceElement[] stack) {
+            this.start = start;
+            this.stack = stack;
+        }
+    }
+}
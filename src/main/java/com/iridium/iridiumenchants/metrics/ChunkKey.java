@@ -0,0 +1,22 @@
+package com.iridium.iridiumenchants.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Identifies a chunk of a world, used as a key for the cost attribution.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ChunkKey {
+    private final String world;
+    private final int x;
+    private final int z;
+
+    @Override
+    public String toString() {
+        return world + " " + x + ", " + z;
+    }
+}
@@ -0,0 +1,16 @@
+package com.iridium.iridiumenchants.metrics;
+
+import lombok.Getter;
+
+/**
+ * The execution latency of an effect type, across every enchant which uses it.
+ */
+@Getter
+public class EffectMetrics {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public EffectMetrics(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,28 @@
+package com.iridium.iridiumenchants.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and the evaluation latency of a single enchant.
+ */
+@Getter
+public class EnchantMetrics {
+    private final String key;
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder chanceWon = new LongAdder();
+    private final LongAdder chanceLost = new LongAdder();
+    private final LongAdder conditionFailures = new LongAdder();
+    private final LongAdder procs = new LongAdder();
+    private final LongAdder slowExecutions = new LongAdder();
+    // The time from the chance roll until every effect was applied
+    private final LatencyHistogram latency = new LatencyHistogram();
+    // The same latency, but reset after every quarantine window
+    private final LatencyHistogram window = new LatencyHistogram();
+
+    public EnchantMetrics(String key) {
+        this.key = key;
+    }
+}
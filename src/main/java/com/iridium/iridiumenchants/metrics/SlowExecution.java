@@ -0,0 +1,22 @@
+package com.iridium.iridiumenchants.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An effect execution which took longer than the slow effect threshold.
+ */
+@Getter
+@AllArgsConstructor
+public class SlowExecution {
+    private final LocalDateTime time;
+    private final String enchant;
+    private final String effect;
+    private final String player;
+    private final String location;
+    private final long nanos;
+    // The stack of the main thread while the execution was running late, null if it wasn't sampled
+    private final StackTraceElement[] stack;
+}
@@ -0,0 +1,183 @@
+package com.iridium.iridiumenchants.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * A weighted Space-Saving sketch, which finds the heaviest keys of a stream in a fixed amount of memory.
+ * It keeps at most capacity counters in a min-heap. A new key takes over the smallest counter and inherits its weight as error,
+ * so every estimate overestimates the true weight by at most its error, and every key heavier than total / capacity is guaranteed to be kept.
+ * Not thread safe.
+ *
+ * @param <K> The type of the keys
+ */
+public class SpaceSaving<K> {
+
+    private final Object[] keys;
+    private final long[] weights;
+    private final long[] errors;
+    private final Map<K, Integer> positions;
+    private int size;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        this.keys = new Object[capacity];
+        this.weights = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Adds weight to a key.
+     *
+     * @param key    The key
+     * @param weight The weight, ignored if it isn't positive
+     */
+    public void add(K key, long weight) {
+        if (weight <= 0 || keys.length == 0) return;
+        total += weight;
+        Integer position = positions.get(key);
+        if (position != null) {
+            weights[position] += weight;
+            siftDown(position);
+            return;
+        }
+        if (size < keys.length) {
+            keys[size] = key;
+            weights[size] = weight;
+            errors[size] = 0;
+            positions.put(key, size);
+            siftUp(size++);
+            return;
+        }
+        // Replace the smallest counter, the new key might have been counted there before
+        positions.remove(keys[0]);
+        keys[0] = key;
+        errors[0] = weights[0];
+        weights[0] += weight;
+        positions.put(key, 0);
+        siftDown(0);
+    }
+
+    /**
+     * Gets the heaviest keys.
+     *
+     * @param limit The maximum amount of keys
+     * @return The estimates of the keys, heaviest first
+     */
+    public List<Estimate<K>> getTop(int limit) {
+        List<Estimate<K>> estimates = new ArrayList<>(size);
+        addEstimates(estimates);
+        estimates.sort(Comparator.comparingLong((Estimate<K> estimate) -> estimate.weight).reversed());
+        return estimates.subList(0, Math.min(limit, estimates.size()));
+    }
+
+    /**
+     * Gets the heaviest keys of two sketches, adding up the estimates of keys which are kept by both.
+     *
+     * @param first  The first sketch
+     * @param second The second sketch
+     * @param limit  The maximum amount of keys
+     * @param <K>    The type of the keys
+     * @return The combined estimates, heaviest first
+     */
+    public static <K> List<Estimate<K>> getTop(SpaceSaving<K> first, SpaceSaving<K> second, int limit) {
+        Set<K> keys = new HashSet<>(first.positions.keySet());
+        keys.addAll(second.positions.keySet());
+        List<Estimate<K>> estimates = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            // A key missing from a full sketch may still have had weight up to its smallest counter
+            Integer firstPosition = first.positions.get(key);
+            Integer secondPosition = second.positions.get(key);
+            long firstError = firstPosition == null ? first.getMinimum() : first.errors[firstPosition];
+            long secondError = secondPosition == null ? second.getMinimum() : second.errors[secondPosition];
+            long firstWeight = firstPosition == null ? first.getMinimum() : first.weights[firstPosition];
+            long secondWeight = secondPosition == null ? second.getMinimum() : second.weights[secondPosition];
+            estimates.add(new Estimate<>(key, firstWeight + secondWeight, firstError + secondError));
+        }
+        estimates.sort(Comparator.comparingLong((Estimate<K> estimate) -> estimate.weight).reversed());
+        return estimates.subList(0, Math.min(limit, estimates.size()));
+    }
+
+    /**
+     * Gets the sum of every added weight.
+     *
+     * @return The total weight
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        positions.clear();
+        size = 0;
+        total = 0;
+    }
+
+    private long getMinimum() {
+        return size < keys.length ? 0 : weights[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addEstimates(List<Estimate<K>> estimates) {
+        for (int i = 0; i < size; i++) {
+            estimates.add(new Estimate<>((K) keys[i], weights[i], errors[i]));
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (weights[parent] <= weights[position]) return;
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = position * 2 + 1;
+            int right = left + 1;
+            if (left < size && weights[left] < weights[smallest]) smallest = left;
+            if (right < size && weights[right] < weights[smallest]) smallest = right;
+            if (smallest == position) return;
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void swap(int first, int second) {
+        Object key = keys[first];
+        long weight = weights[first];
+        long error = errors[first];
+        keys[first] = keys[second];
+        weights[first] = weights[second];
+        errors[first] = errors[second];
+        keys[second] = key;
+        weights[second] = weight;
+        errors[second] = error;
+        positions.put((K) keys[first], first);
+        positions.put((K) keys[second], second);
+    }
+
+    /**
+     * The estimated weight of a key, which overestimates the true weight by at most the error.
+     *
+     * @param <K> The type of the key
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Estimate<K> {
+        private final K key;
+        private final long weight;
+        private final long error;
+    }
+}
@@ -0,0 +1,53 @@
+package com.iridium.iridiumenchants.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+
+@Name("iridiumenchants.AreaOperation")
+@Label("Area Operation")
+@Category("IridiumEnchants")
+@Description("An effect which changes the blocks in an area, like Infusion, Coat or ReplaceNear")
+public class AreaOperationEvent extends Event implements Probes.AreaOperation {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Block Count")
+    public int blockCount;
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Player")
+    public String player;
+
+    /**
+     * Fills in the fields and commits this event if it passes the thresholds of the recording.
+     *
+     * @param operation  The name of the effect
+     * @param blockCount The amount of blocks which were changed
+     * @param location   The center of the area
+     * @param player     The player using the effect
+     */
+    @Override
+    public void finish(String operation, int blockCount, Location location, LivingEntity player) {
+        if (!shouldCommit()) return;
+        this.operation = operation;
+        this.blockCount = blockCount;
+        this.world = location.getWorld() == null ? null : location.getWorld().getName();
+        this.chunkX = location.getBlockX() >> 4;
+        this.chunkZ = location.getBlockZ() >> 4;
+        this.player = player.getUniqueId().toString();
+        commit();
+    }
+}
@@ -0,0 +1,33 @@
+package com.iridium.iridiumenchants.profiling;
+
+import com.iridium.iridiumenchants.TriggerType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.entity.LivingEntity;
+
+@Name("iridiumenchants.Dispatch")
+@Label("Trigger Dispatch")
+@Category("IridiumEnchants")
+@Description("A trigger dispatched to the enchants of an item")
+public class DispatchEvent extends Event implements Probes.Dispatch {
+    @Label("Trigger")
+    public String trigger;
+
+    @Label("Event")
+    public String event;
+
+    @Label("Player")
+    public String player;
+
+    @Override
+    public void finish(TriggerType trigger, org.bukkit.event.Event event, LivingEntity player) {
+        if (!shouldCommit()) return;
+        this.trigger = trigger.name();
+        this.event = event == null ? null : event.getEventName();
+        this.player = player.getUniqueId().toString();
+        commit();
+    }
+}
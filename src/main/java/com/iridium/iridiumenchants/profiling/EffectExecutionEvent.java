@@ -0,0 +1,33 @@
+package com.iridium.iridiumenchants.profiling;
+
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.entity.LivingEntity;
+
+@Name("iridiumenchants.EffectExecution")
+@Label("Effect Execution")
+@Category("IridiumEnchants")
+@Description("The execution of a single effect of an enchant")
+public class EffectExecutionEvent extends Event implements Probes.EffectExecution {
+    @Label("Effect")
+    public String effect;
+
+    @Label("Enchant")
+    public String enchant;
+
+    @Label("Player")
+    public String player;
+
+    @Override
+    public void finish(String effect, CompiledEnchant compiledEnchant, LivingEntity player) {
+        if (!shouldCommit()) return;
+        this.effect = effect;
+        this.enchant = compiledEnchant.getKey();
+        this.player = player.getUniqueId().toString();
+        commit();
+    }
+}
@@ -0,0 +1,42 @@
+package com.iridium.iridiumenchants.profiling;
+
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import com.iridium.iridiumenchants.registry.CompiledLevel;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.entity.LivingEntity;
+
+@Name("iridiumenchants.EnchantEvaluation")
+@Label("Enchant Evaluation")
+@Category("IridiumEnchants")
+@Description("The evaluation of a single enchant, from its proc limit to its last effect")
+public class EnchantEvaluationEvent extends Event implements Probes.EnchantEvaluation {
+    @Label("Enchant Id")
+    public int enchantId;
+
+    @Label("Enchant")
+    public String enchant;
+
+    @Label("Level")
+    public int level;
+
+    @Label("Player")
+    public String player;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Override
+    public void finish(CompiledEnchant compiledEnchant, CompiledLevel level, LivingEntity player, String outcome) {
+        if (!shouldCommit()) return;
+        this.enchantId = compiledEnchant.getId();
+        this.enchant = compiledEnchant.getKey();
+        this.level = level.getLevel();
+        this.player = player.getUniqueId().toString();
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -0,0 +1,125 @@
+package com.iridium.iridiumenchants.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Everything which touches the Java Flight Recorder API.
+ * Only loaded by the {@link com.iridium.iridiumenchants.managers.ProfilingManager} once it knows that JFR exists,
+ * because older Java 8 and some OpenJ9 runtimes don't have it.
+ */
+public class JfrProfiler {
+
+    private static volatile boolean recording;
+    private static final Set<Recording> runningRecordings = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Recording profile;
+
+    public JfrProfiler() {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording changed) {
+                updateRecording(changed);
+            }
+        });
+        if (FlightRecorder.isInitialized()) {
+            FlightRecorder.getFlightRecorder().getRecordings().forEach(JfrProfiler::updateRecording);
+        }
+    }
+
+    /**
+     * Returns if any flight recording is running.
+     *
+     * @return True if events should be created
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    public static Probes.Dispatch dispatch() {
+        DispatchEvent event = new DispatchEvent();
+        return begin(event) ? event : Probes.Dispatch.NONE;
+    }
+
+    public static Probes.EnchantEvaluation enchantEvaluation() {
+        EnchantEvaluationEvent event = new EnchantEvaluationEvent();
+        return begin(event) ? event : Probes.EnchantEvaluation.NONE;
+    }
+
+    public static Probes.EffectExecution effectExecution() {
+        EffectExecutionEvent event = new EffectExecutionEvent();
+        return begin(event) ? event : Probes.EffectExecution.NONE;
+    }
+
+    public static Probes.AreaOperation areaOperation() {
+        AreaOperationEvent event = new AreaOperationEvent();
+        return begin(event) ? event : Probes.AreaOperation.NONE;
+    }
+
+    public static Probes.SupportCall supportCall() {
+        SupportCallEvent event = new SupportCallEvent();
+        return begin(event) ? event : Probes.SupportCall.NONE;
+    }
+
+    /**
+     * Starts a recording with the profile settings, which also enable every event of this plugin.
+     *
+     * @param file The file the recording is written to
+     * @return False if a recording of this plugin is already running
+     * @throws IOException    If the profile settings can't be read
+     * @throws ParseException If the profile settings are invalid
+     */
+    public synchronized boolean start(File file) throws IOException, ParseException {
+        if (profile != null) return false;
+        profile = new Recording(Configuration.getConfiguration("profile"));
+        profile.setName("IridiumEnchants");
+        profile.enable(DispatchEvent.class);
+        profile.enable(EnchantEvaluationEvent.class);
+        profile.enable(EffectExecutionEvent.class);
+        profile.enable(AreaOperationEvent.class);
+        profile.enable(SupportCallEvent.class);
+        profile.setDestination(file.toPath());
+        profile.start();
+        return true;
+    }
+
+    /**
+     * Stops the recording of this plugin and writes it to its file.
+     *
+     * @return False if no recording of this plugin was running
+     */
+    public synchronized boolean stop() {
+        if (profile == null) return false;
+        profile.stop();
+        profile.close();
+        profile = null;
+        return true;
+    }
+
+    private static boolean begin(Event event) {
+        if (!event.isEnabled()) return false;
+        event.begin();
+        return true;
+    }
+
+    private static void updateRecording(Recording changed) {
+        synchronized (runningRecordings) {
+            if (changed.getState() == RecordingState.RUNNING) {
+                runningRecordings.add(changed);
+            } else {
+                runningRecordings.remove(changed);
+            }
+            recording = !runningRecordings.isEmpty();
+        }
+    }
+}
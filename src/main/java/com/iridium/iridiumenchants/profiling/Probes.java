@@ -0,0 +1,54 @@
+package com.iridium.iridiumenchants.profiling;
+
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.registry.CompiledEnchant;
+import com.iridium.iridiumenchants.registry.CompiledLevel;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.Event;
+
+/**
+ * The profiling events as seen by the code which emits them, so that code never loads the JFR classes.
+ * Every probe has a no-op which is used while nothing is recording or JFR isn't available.
+ * The arguments are only formatted once a probe is really committed.
+ */
+public final class Probes {
+
+    private Probes() {
+    }
+
+    public interface Dispatch {
+        Dispatch NONE = (trigger, event, player) -> {
+        };
+
+        void finish(TriggerType trigger, Event event, LivingEntity player);
+    }
+
+    public interface EnchantEvaluation {
+        EnchantEvaluation NONE = (compiledEnchant, level, player, outcome) -> {
+        };
+
+        void finish(CompiledEnchant compiledEnchant, CompiledLevel level, LivingEntity player, String outcome);
+    }
+
+    public interface EffectExecution {
+        EffectExecution NONE = (effect, compiledEnchant, player) -> {
+        };
+
+        void finish(String effect, CompiledEnchant compiledEnchant, LivingEntity player);
+    }
+
+    public interface AreaOperation {
+        AreaOperation NONE = (operation, blockCount, location, player) -> {
+        };
+
+        void finish(String operation, int blockCount, Location location, LivingEntity player);
+    }
+
+    public interface SupportCall {
+        SupportCall NONE = (provider, method, result) -> {
+        };
+
+        void finish(Object provider, String method, boolean result);
+    }
+}
@@ -0,0 +1,31 @@
+package com.iridium.iridiumenchants.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("iridiumenchants.SupportCall")
+@Label("Support Call")
+@Category("IridiumEnchants")
+@Description("A call into the support of another plugin, e.g. a build permission check")
+public class SupportCallEvent extends Event implements Probes.SupportCall {
+    @Label("Provider")
+    public String provider;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Result")
+    public boolean result;
+
+    @Override
+    public void finish(Object provider, String method, boolean result) {
+        if (!shouldCommit()) return;
+        this.provider = provider.getClass().getSimpleName();
+        this.method = method;
+        this.result = result;
+        commit();
+    }
+}
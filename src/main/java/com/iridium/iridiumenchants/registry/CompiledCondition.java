@@ -0,0 +1,22 @@
+package com.iridium.iridiumenchants.registry;
+
+import com.iridium.iridiumenchants.conditions.Condition;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A condition line of a level with its Condition resolved and its arguments split ahead of time.
+ */
+@Getter
+@AllArgsConstructor
+public class CompiledCondition {
+    private final String name;
+    private final Condition condition;
+    private final String[] args;
+
+    public boolean test(LivingEntity player, LivingEntity target, ItemStack itemStack) {
+        return condition.apply(player, target, args, itemStack);
+    }
+}
@@ -0,0 +1,37 @@
+package com.iridium.iridiumenchants.registry;
+
+import com.iridium.iridiumenchants.effects.Effect;
+import com.iridium.iridiumenchants.effects.TemporaryBlockEffect;
+import com.iridium.iridiumenchants.effects.WrapperEffect;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.Event;
+
+/**
+ * An effect line of a level with its Effect resolved and its arguments split ahead of time.
+ */
+@Getter
+@AllArgsConstructor
+public class CompiledEffect {
+    private final String name;
+    private final Effect effect;
+    private final String[] args;
+    // If the temporary blocks of this effect, or of the effects it wraps, are ghost blocks
+    private final boolean ghost;
+
+    public void apply(LivingEntity player, LivingEntity target, Event event, CompiledEnchant compiledEnchant) {
+        WrapperEffect.apply(effect, player, target, args, event, compiledEnchant, ghost);
+    }
+
+    /**
+     * Returns if an effect places ghost blocks, either itself or through the effects it wraps.
+     *
+     * @param ghostBlocks If the level uses ghost blocks
+     * @param effect      The effect
+     * @return True if the ghost blocks setting applies to the effect
+     */
+    public static boolean isGhost(boolean ghostBlocks, Effect effect) {
+        return ghostBlocks && (effect instanceof TemporaryBlockEffect || effect instanceof WrapperEffect);
+    }
+}
@@ -0,0 +1,40 @@
+package com.iridium.iridiumenchants.registry;
+
+import com.iridium.iridiumenchants.CustomEnchant;
+import com.iridium.iridiumenchants.TriggerType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * A CustomEnchant with its trigger and levels compiled, ready to be dispatched without any parsing.
+ */
+@Getter
+@AllArgsConstructor
+public class CompiledEnchant {
+    /**
+     * The index of this enchant in its registry, stable until the next full reload.
+     */
+    private final int id;
+    private final String key;
+    private final CustomEnchant customEnchant;
+    /**
+     * The trigger of this enchant, null if the configured trigger is unknown.
+     */
+    private final TriggerType triggerType;
+    /**
+     * The amount of ticks between PASSIVE procs.
+     */
+    private final int triggerPeriod;
+    private final boolean enabled;
+    private final Map<Integer, CompiledLevel> levels;
+
+    public String getTrigger() {
+        return customEnchant.trigger;
+    }
+
+    public CompiledLevel getLevel(int level) {
+        return levels.get(level);
+    }
+}
@@ -0,0 +1,52 @@
+package com.iridium.iridiumenchants.registry;
+
+import com.iridium.iridiumenchants.Level;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompiledLevel {
+    // Proc intervals are whole milliseconds, so more procs per second can't be limited
+    public static final int MAX_PROCS_PER_SECOND = 1000;
+
+    private final int level;
+    private final Level source;
+    private final double chance;
+    private final CompiledCondition[] conditions;
+    private final CompiledEffect[] effects;
+    // The minimum time between two procs in milliseconds, 0 for none
+    private final long cooldown;
+    // The time one proc uses up of the per second limit in milliseconds, 0 for no limit
+    private final long procInterval;
+
+    /**
+     * Returns if procs of this level are limited by a cooldown or a maximum amount of procs per second.
+     *
+     * @return True if procs are limited
+     */
+    public boolean isLimited() {
+        return cooldown > 0 || procInterval > 0;
+    }
+
+    /**
+     * Gets the cooldown of a level in milliseconds.
+     *
+     * @param level The level
+     * @return The cooldown, 0 for none
+     */
+    public static long toCooldown(Level level) {
+        return Math.max((long) (level.cooldown * 1000), 0);
+    }
+
+    /**
+     * Gets the time one proc of a level uses up of its per second limit in milliseconds.
+     * Levels above {@link #MAX_PROCS_PER_SECOND} are rejected when the registry is built.
+     *
+     * @param level The level
+     * @return The proc interval, 0 for no limit
+     */
+    public static long toProcInterval(Level level) {
+        return level.maxProcsPerSecond > 0 ? Math.max(1000L / level.maxProcsPerSecond, 1) : 0;
+    }
+}
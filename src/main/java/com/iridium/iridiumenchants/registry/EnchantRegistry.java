@@ -0,0 +1,43 @@
+package com.iridium.iridiumenchants.registry;
+
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.configs.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of all configurations and the enchants compiled from them.
+ * A reload builds a complete new snapshot and publishes it at once, so nothing ever sees a half reloaded state.
+ */
+@Getter
+@AllArgsConstructor
+public class EnchantRegistry {
+    private final long version;
+    private final Configuration configuration;
+    private final Messages messages;
+    private final Commands commands;
+    private final CustomEnchants customEnchants;
+    private final Inventories inventories;
+    private final GKits gKits;
+    private final Map<String, CompiledEnchant> enchants;
+    private final Map<TriggerType, List<CompiledEnchant>> triggers;
+    private final SearchIndex searchIndex;
+
+    public CompiledEnchant getEnchant(String key) {
+        return enchants.get(key);
+    }
+
+    /**
+     * Gets all enabled enchants with the specified trigger.
+     *
+     * @param triggerType The trigger
+     * @return The enchants, in key order
+     */
+    public List<CompiledEnchant> getEnchants(TriggerType triggerType) {
+        return triggers.getOrDefault(triggerType, Collections.emptyList());
+    }
+}
@@ -0,0 +1,43 @@
+package com.iridium.iridiumenchants.registry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * The enchants which were added, changed or removed between two registries.
+ */
+@Getter
+@AllArgsConstructor
+public class RegistryDiff {
+    private final List<String> added;
+    private final List<String> changed;
+    private final List<String> removed;
+
+    public static RegistryDiff between(EnchantRegistry previous, EnchantRegistry next) {
+        Map<String, CompiledEnchant> previousEnchants = previous.getEnchants();
+        Map<String, CompiledEnchant> nextEnchants = next.getEnchants();
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        TreeSet<String> keys = new TreeSet<>(previousEnchants.keySet());
+        keys.addAll(nextEnchants.keySet());
+        for (String key : keys) {
+            CompiledEnchant before = previousEnchants.get(key);
+            CompiledEnchant after = nextEnchants.get(key);
+            if (before == null) {
+                added.add(key);
+            } else if (after == null) {
+                removed.add(key);
+            } else if (!Objects.equals(before.getCustomEnchant(), after.getCustomEnchant())) {
+                changed.add(key);
+            }
+        }
+        return new RegistryDiff(added, changed, removed);
+    }
+}
@@ -0,0 +1,231 @@
+package com.iridium.iridiumenchants.registry;
+
+import com.iridium.iridiumenchants.CustomEnchant;
+import com.iridium.iridiumenchants.Level;
+import com.iridium.iridiumenchants.TriggerType;
+import com.iridium.iridiumenchants.Type;
+import com.iridium.iridiumenchants.conditions.Condition;
+import com.iridium.iridiumenchants.effects.Effect;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A binary copy of the compiled enchants, stored next to the configuration files.
+ * It is keyed by a hash of the files it was compiled from, so it is only used while those files are unchanged.
+ */
+@Getter
+@AllArgsConstructor
+public class RegistrySnapshot {
+
+    private static final int MAGIC = 0x49454E43;
+    private static final int FORMAT_VERSION = 3;
+
+    private final String hash;
+    private final Map<String, CustomEnchant> customEnchants;
+    private final Map<String, CompiledEnchant> enchants;
+
+    /**
+     * Hashes the specified files together with everything else the compiled enchants depend on.
+     *
+     * @param files      The configuration files the enchants are compiled from
+     * @param effects    The registered effects
+     * @param conditions The registered conditions
+     * @param version    The plugin version
+     * @return The hash as a hex string
+     */
+    public static String hash(List<File> files, Set<String> effects, Set<String> conditions, String version) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IOException(exception);
+        }
+        digest.update((FORMAT_VERSION + ":" + version).getBytes(StandardCharsets.UTF_8));
+        digest.update(String.join(",", new TreeSet<>(effects)).getBytes(StandardCharsets.UTF_8));
+        digest.update(String.join(",", new TreeSet<>(conditions)).getBytes(StandardCharsets.UTF_8));
+        List<File> sortedFiles = new ArrayList<>(files);
+        sortedFiles.sort(Comparator.comparing(File::getName));
+        for (File file : sortedFiles) {
+            digest.update(file.getName().getBytes(StandardCharsets.UTF_8));
+            if (file.isFile()) digest.update(Files.readAllBytes(file.toPath()));
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Reads a snapshot, resolving its effects and conditions against the registered ones.
+     *
+     * @param file       The snapshot file
+     * @param hash       The hash of the current configuration files
+     * @param effects    The registered effects
+     * @param conditions The registered conditions
+     * @return The snapshot, or empty if there is none or it was compiled from different files
+     */
+    public static Optional<RegistrySnapshot> read(File file, String hash, Map<String, Effect> effects, Map<String, Condition> conditions) throws IOException {
+        if (!file.isFile()) return Optional.empty();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION || !input.readUTF().equals(hash)) {
+                return Optional.empty();
+            }
+            int size = input.readInt();
+            Map<String, CustomEnchant> customEnchants = new HashMap<>();
+            Map<String, CompiledEnchant> enchants = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                CompiledEnchant compiledEnchant = readEnchant(input, effects, conditions);
+                if (compiledEnchant == null) return Optional.empty();
+                customEnchants.put(compiledEnchant.getKey(), compiledEnchant.getCustomEnchant());
+                enchants.put(compiledEnchant.getKey(), compiledEnchant);
+            }
+            return Optional.of(new RegistrySnapshot(hash, customEnchants, enchants));
+        }
+    }
+
+    /**
+     * Writes this snapshot, replacing the previous one.
+     *
+     * @param file The snapshot file
+     */
+    public void write(File file) throws IOException {
+        File temporaryFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(hash);
+            output.writeInt(enchants.size());
+            for (CompiledEnchant compiledEnchant : enchants.values()) {
+                writeEnchant(output, compiledEnchant);
+            }
+        }
+        if (file.exists() && !file.delete() || !temporaryFile.renameTo(file)) {
+            throw new IOException("Failed to replace " + file.getName());
+        }
+    }
+
+    private static void writeEnchant(DataOutputStream output, CompiledEnchant compiledEnchant) throws IOException {
+        CustomEnchant customEnchant = compiledEnchant.getCustomEnchant();
+        output.writeInt(compiledEnchant.getId());
+        output.writeUTF(compiledEnchant.getKey());
+        writeString(output, customEnchant.displayName);
+        writeString(output, customEnchant.description);
+        writeString(output, customEnchant.type == null ? null : customEnchant.type.name());
+        writeString(output, customEnchant.trigger);
+        writeBoolean(output, customEnchant.enabled);
+        writeBoolean(output, customEnchant.enchantmentTable);
+        writeString(output, compiledEnchant.getTriggerType() == null ? null : compiledEnchant.getTriggerType().name());
+        output.writeInt(compiledEnchant.getTriggerPeriod());
+        output.writeBoolean(compiledEnchant.isEnabled());
+        output.writeInt(compiledEnchant.getLevels().size());
+        for (CompiledLevel compiledLevel : compiledEnchant.getLevels().values()) {
+            Level level = compiledLevel.getSource();
+            output.writeInt(compiledLevel.getLevel());
+            output.writeDouble(level.chance);
+            writeStrings(output, level.tiers);
+            writeStrings(output, level.effects);
+            writeStrings(output, level.conditions);
+            output.writeDouble(level.cooldown);
+            output.writeInt(level.maxProcsPerSecond);
+            output.writeBoolean(level.ghostBlocks);
+            output.writeInt(compiledLevel.getConditions().length);
+            for (CompiledCondition compiledCondition : compiledLevel.getConditions()) {
+                output.writeUTF(compiledCondition.getName());
+                writeStrings(output, Arrays.asList(compiledCondition.getArgs()));
+            }
+            output.writeInt(compiledLevel.getEffects().length);
+            for (CompiledEffect compiledEffect : compiledLevel.getEffects()) {
+                output.writeUTF(compiledEffect.getName());
+                writeStrings(output, Arrays.asList(compiledEffect.getArgs()));
+            }
+        }
+    }
+
+    private static CompiledEnchant readEnchant(DataInputStream input, Map<String, Effect> effects, Map<String, Condition> conditions) throws IOException {
+        int id = input.readInt();
+        String key = input.readUTF();
+        CustomEnchant customEnchant = new CustomEnchant();
+        customEnchant.displayName = readString(input);
+        customEnchant.description = readString(input);
+        String type = readString(input);
+        customEnchant.type = type == null ? null : Type.valueOf(type);
+        customEnchant.trigger = readString(input);
+        customEnchant.enabled = readBoolean(input);
+        customEnchant.enchantmentTable = readBoolean(input);
+        String triggerType = readString(input);
+        int triggerPeriod = input.readInt();
+        boolean enabled = input.readBoolean();
+
+        int levelCount = input.readInt();
+        customEnchant.levels = new HashMap<>();
+        Map<Integer, CompiledLevel> levels = new HashMap<>();
+        for (int i = 0; i < levelCount; i++) {
+            int levelNumber = input.readInt();
+            Level level = new Level(input.readDouble(), readStrings(input), readStrings(input), readStrings(input), input.readDouble(), input.readInt(), input.readBoolean());
+            CompiledCondition[] compiledConditions = new CompiledCondition[input.readInt()];
+            for (int j = 0; j < compiledConditions.length; j++) {
+                String name = input.readUTF();
+                Condition condition = conditions.get(name);
+                if (condition == null) return null;
+                compiledConditions[j] = new CompiledCondition(name, condition, readStrings(input).toArray(new String[0]));
+            }
+            CompiledEffect[] compiledEffects = new CompiledEffect[input.readInt()];
+            for (int j = 0; j < compiledEffects.length; j++) {
+                String name = input.readUTF();
+                Effect effect = effects.get(name);
+                if (effect == null) return null;
+                compiledEffects[j] = new CompiledEffect(name, effect, readStrings(input).toArray(new String[0]),
+                        CompiledEffect.isGhost(level.ghostBlocks, effect));
+            }
+            customEnchant.levels.put(levelNumber, level);
+            levels.put(levelNumber, new CompiledLevel(levelNumber, level, level.chance, compiledConditions, compiledEffects,
+                    CompiledLevel.toCooldown(level), CompiledLevel.toProcInterval(level)));
+        }
+        return new CompiledEnchant(id, key, customEnchant, triggerType == null ? null : TriggerType.valueOf(triggerType),
+                triggerPeriod, enabled, Collections.unmodifiableMap(levels));
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) output.writeUTF(value);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeBoolean(DataOutputStream output, Boolean value) throws IOException {
+        output.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    private static Boolean readBoolean(DataInputStream input) throws IOException {
+        byte value = input.readByte();
+        return value == -1 ? null : value == 1;
+    }
+
+    private static void writeStrings(DataOutputStream output, List<String> values) throws IOException {
+        output.writeInt(values == null ? -1 : values.size());
+        if (values == null) return;
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        if (size == -1) return null;
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(input));
+        }
+        return values;
+    }
+}
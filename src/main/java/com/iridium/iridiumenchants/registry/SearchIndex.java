@@ -0,0 +1,179 @@
+package com.iridium.iridiumenchants.registry;
+
+import com.iridium.iridiumenchants.CustomEnchant;
+import org.bukkit.ChatColor;
+
+import java.util.*;
+
+/**
+ * An index over the key, display name, type and description of every enchant.
+ * Queries of at least three characters are answered through a trigram index. Shorter ones can't use it, so they are
+ * matched anywhere in the fields by a scan over the enchants.
+ * Results are ranked by where the query matched, so a key match always beats a description match.
+ * Tab completion of keys goes through a separate sorted index of the lower case keys.
+ */
+public class SearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int[] FIELD_WEIGHTS = {8, 6, 3, 1};
+
+    private final String[] keys;
+    private final String[][] fields;
+    // The lower case keys in sorted order, and the document of each one
+    private final String[] completionKeys;
+    private final int[] completionDocuments;
+    private final Map<String, int[]> grams;
+
+    /**
+     * Builds the index.
+     *
+     * @param customEnchants The enchants by key
+     */
+    public SearchIndex(Map<String, CustomEnchant> customEnchants) {
+        List<String> sortedKeys = new ArrayList<>(customEnchants.keySet());
+        Collections.sort(sortedKeys);
+        keys = sortedKeys.toArray(new String[0]);
+        fields = new String[keys.length][];
+
+        Map<String, Set<Integer>> gramMap = new HashMap<>();
+        for (int document = 0; document < keys.length; document++) {
+            CustomEnchant customEnchant = customEnchants.get(keys[document]);
+            fields[document] = new String[]{
+                    normalize(keys[document]),
+                    normalize(customEnchant == null ? null : customEnchant.displayName),
+                    normalize(customEnchant == null || customEnchant.type == null ? null : customEnchant.type.name()),
+                    normalize(customEnchant == null ? null : customEnchant.description)
+            };
+            for (String field : fields[document]) {
+                for (int i = 0; i + GRAM_LENGTH <= field.length(); i++) {
+                    gramMap.computeIfAbsent(field.substring(i, i + GRAM_LENGTH), g -> new TreeSet<>()).add(document);
+                }
+            }
+        }
+
+        Integer[] byLowerCaseKey = new Integer[keys.length];
+        for (int document = 0; document < keys.length; document++) {
+            byLowerCaseKey[document] = document;
+        }
+        Arrays.sort(byLowerCaseKey, Comparator.comparing(document -> keys[document].toLowerCase(Locale.ROOT)));
+        completionKeys = new String[keys.length];
+        completionDocuments = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            completionDocuments[i] = byLowerCaseKey[i];
+            completionKeys[i] = keys[byLowerCaseKey[i]].toLowerCase(Locale.ROOT);
+        }
+        grams = new HashMap<>();
+        gramMap.forEach((gram, documents) -> grams.put(gram, toArray(documents)));
+    }
+
+    /**
+     * Searches the enchants.
+     *
+     * @param query The query
+     * @param limit The maximum amount of results
+     * @return The keys of the matching enchants, best match first
+     */
+    public List<String> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) return Arrays.asList(keys).subList(0, Math.min(limit, keys.length));
+
+        int[] candidates = normalizedQuery.length() >= GRAM_LENGTH ? getGramCandidates(normalizedQuery) : getSubstringCandidates(normalizedQuery);
+        List<int[]> scored = new ArrayList<>();
+        for (int document : candidates) {
+            int score = score(document, normalizedQuery);
+            if (score > 0) scored.add(new int[]{document, score});
+        }
+        scored.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+
+        List<String> results = new ArrayList<>(Math.min(limit, scored.size()));
+        for (int i = 0; i < scored.size() && i < limit; i++) {
+            results.add(keys[scored.get(i)[0]]);
+        }
+        return results;
+    }
+
+    /**
+     * Completes an enchant key, ignoring the case.
+     *
+     * @param prefix The start of the key
+     * @param limit  The maximum amount of results
+     * @return The keys starting with the prefix, in alphabetical order
+     */
+    public List<String> complete(String prefix, int limit) {
+        String lowerCasePrefix = prefix.toLowerCase(Locale.ROOT);
+        int start = Arrays.binarySearch(completionKeys, lowerCasePrefix);
+        if (start < 0) start = -(start + 1);
+        List<String> results = new ArrayList<>();
+        for (int i = start; i < completionKeys.length && results.size() < limit && completionKeys[i].startsWith(lowerCasePrefix); i++) {
+            results.add(keys[completionDocuments[i]]);
+        }
+        return results;
+    }
+
+    private int score(int document, String query) {
+        if (fields[document][0].equals(query)) return 1000;
+        int score = 0;
+        for (int field = 0; field < FIELD_WEIGHTS.length; field++) {
+            String text = fields[document][field];
+            int index = text.indexOf(query);
+            if (index == 0) {
+                score += FIELD_WEIGHTS[field] * 4;
+            } else if (index > 0) {
+                score += FIELD_WEIGHTS[field] * (text.charAt(index - 1) == ' ' ? 2 : 1);
+            }
+        }
+        return score;
+    }
+
+    private int[] getGramCandidates(String query) {
+        int[] candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            int[] documents = grams.get(query.substring(i, i + GRAM_LENGTH));
+            if (documents == null) return new int[0];
+            candidates = candidates == null ? documents : intersect(candidates, documents);
+            if (candidates.length == 0) break;
+        }
+        return candidates == null ? new int[0] : candidates;
+    }
+
+    private int[] getSubstringCandidates(String query) {
+        int[] candidates = new int[keys.length];
+        int size = 0;
+        for (int document = 0; document < keys.length; document++) {
+            for (String field : fields[document]) {
+                if (field.contains(query)) {
+                    candidates[size++] = document;
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(candidates, size);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                result[size++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] toArray(Set<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        String stripped = ChatColor.stripColor(ChatColor.translateAlternateColorCodes('&', text));
+        return stripped.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+}
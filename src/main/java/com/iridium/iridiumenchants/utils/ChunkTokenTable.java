@@ -0,0 +1,165 @@
+package com.iridium.iridiumenchants.utils;
+
+/**
+ * An open addressing hash table of token buckets keyed by chunk, stored in primitive arrays.
+ * Buckets which would be full again are equivalent to a missing bucket, so they are dropped when the table is purged.
+ * Times are read from {@link CooldownTable#currentTime()}.
+ * Not thread safe.
+ */
+public class ChunkTokenTable {
+
+    private static final long PURGE_INTERVAL = 60000;
+
+    private long[] keys;
+    private double[] tokens;
+    // 0 marks an empty slot, which is why the clock starts at 1
+    private long[] updated;
+    private int mask;
+    private int size;
+    private long nextPurge;
+
+    public ChunkTokenTable() {
+        allocate(16);
+        this.nextPurge = CooldownTable.currentTime() + PURGE_INTERVAL;
+    }
+
+    /**
+     * Gets the key of a chunk.
+     *
+     * @param chunkX The x coordinate of the chunk
+     * @param chunkZ The z coordinate of the chunk
+     * @return The key
+     */
+    public static long getKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Takes tokens from the bucket of a chunk if it has enough of them.
+     *
+     * @param key   The key of the chunk
+     * @param cost  The amount of tokens
+     * @param rate  The tokens refilled per second
+     * @param burst The maximum amount of tokens
+     * @param now   The current time from {@link CooldownTable#currentTime()}
+     * @return True if the tokens were taken
+     */
+    public boolean tryAcquire(long key, double cost, double rate, double burst, long now) {
+        if (now >= nextPurge) purge(rate, burst, now);
+        int index = indexOf(key);
+        if (index < 0) {
+            if (cost > burst) return false;
+            if ((size + 1) * 4 > updated.length * 3) {
+                // Drop idle buckets first, the table only grows if that doesn't free enough space
+                purge(rate, burst, now);
+                if ((size + 1) * 2 > updated.length) rehash(updated.length * 2);
+            }
+            insert(key, burst - cost, now);
+            return true;
+        }
+        double available = Math.min(burst, tokens[index] + (now - updated[index]) * rate / 1000);
+        updated[index] = now;
+        if (available < cost) {
+            tokens[index] = available;
+            return false;
+        }
+        tokens[index] = available - cost;
+        return true;
+    }
+
+    /**
+     * Gets the tokens in the bucket of a chunk without taking any.
+     *
+     * @param key   The key of the chunk
+     * @param rate  The tokens refilled per second
+     * @param burst The maximum amount of tokens
+     * @param now   The current time from {@link CooldownTable#currentTime()}
+     * @return The available tokens
+     */
+    public double getAvailable(long key, double rate, double burst, long now) {
+        int index = indexOf(key);
+        if (index < 0) return burst;
+        return Math.min(burst, tokens[index] + (now - updated[index]) * rate / 1000);
+    }
+
+    /**
+     * Removes every bucket which has refilled completely.
+     *
+     * @param rate  The tokens refilled per second
+     * @param burst The maximum amount of tokens
+     * @param now   The current time from {@link CooldownTable#currentTime()}
+     */
+    public void purge(double rate, double burst, long now) {
+        nextPurge = now + PURGE_INTERVAL;
+        long[] oldKeys = keys;
+        double[] oldTokens = tokens;
+        long[] oldUpdated = updated;
+        int live = 0;
+        for (int i = 0; i < oldUpdated.length; i++) {
+            if (oldUpdated[i] != 0 && !isFull(oldTokens[i], oldUpdated[i], rate, burst, now)) live++;
+        }
+        if (live == size) return;
+        int capacity = 16;
+        while (capacity < live * 2) capacity <<= 1;
+        allocate(capacity);
+        for (int i = 0; i < oldUpdated.length; i++) {
+            if (oldUpdated[i] != 0 && !isFull(oldTokens[i], oldUpdated[i], rate, burst, now)) {
+                insert(oldKeys[i], oldTokens[i], oldUpdated[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of buckets in this table, including full ones which haven't been removed yet.
+     *
+     * @return The amount of buckets
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean isFull(double tokens, long updated, double rate, double burst, long now) {
+        return tokens + (now - updated) * rate / 1000 >= burst;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        tokens = new double[capacity];
+        updated = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldTokens = tokens;
+        long[] oldUpdated = updated;
+        allocate(capacity);
+        for (int i = 0; i < oldUpdated.length; i++) {
+            if (oldUpdated[i] != 0) insert(oldKeys[i], oldTokens[i], oldUpdated[i]);
+        }
+    }
+
+    private void insert(long key, double tokens, long updated) {
+        int index = hash(key) & mask;
+        while (this.updated[index] != 0) index = (index + 1) & mask;
+        this.keys[index] = key;
+        this.tokens[index] = tokens;
+        this.updated[index] = updated;
+        size++;
+    }
+
+    private int indexOf(long key) {
+        int index = hash(key) & mask;
+        while (updated[index] != 0) {
+            if (keys[index] == key) return index;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,197 @@
+package com.iridium.iridiumenchants.utils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An open addressing hash table from UUIDs to cooldown deadlines, stored in primitive arrays.
+ * Deadlines are read from a monotonic clock, so changing the system time doesn't affect running cooldowns.
+ * Expired entries are removed when they are looked up, and every entry is checked at most once per purge interval.
+ * Not thread safe.
+ */
+public class CooldownTable {
+
+    private static final long ORIGIN = System.nanoTime();
+    private static final long PURGE_INTERVAL = 60000;
+
+    private long[] mostBits;
+    private long[] leastBits;
+    // 0 marks an empty slot, which is why the clock starts at 1
+    private long[] deadlines;
+    private int mask;
+    private int size;
+    private long nextPurge;
+
+    public CooldownTable() {
+        allocate(16);
+        this.nextPurge = currentTime() + PURGE_INTERVAL;
+    }
+
+    /**
+     * Gets the current time of the monotonic clock used for every deadline.
+     *
+     * @return The current time in milliseconds, always 1 or more
+     */
+    public static long currentTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ORIGIN) + 1;
+    }
+
+    /**
+     * Gets the remaining time of a cooldown.
+     *
+     * @param uuid The owner of the cooldown
+     * @param now  The current time from {@link #currentTime()}
+     * @return The remaining time in milliseconds, 0 if there is no cooldown
+     */
+    public long getRemaining(UUID uuid, long now) {
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index < 0) return 0;
+        long remaining = deadlines[index] - now;
+        if (remaining > 0) return remaining;
+        removeAt(index);
+        return 0;
+    }
+
+    /**
+     * Gets the deadline of a cooldown.
+     *
+     * @param uuid The owner of the cooldown
+     * @return The deadline, 0 if there is no cooldown
+     */
+    public long getDeadline(UUID uuid) {
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        return index < 0 ? 0 : deadlines[index];
+    }
+
+    /**
+     * Sets the deadline of a cooldown, replacing the previous one.
+     *
+     * @param uuid     The owner of the cooldown
+     * @param deadline The deadline from {@link #currentTime()} plus the duration
+     * @param now      The current time from {@link #currentTime()}
+     */
+    public void put(UUID uuid, long deadline, long now) {
+        if (now >= nextPurge) purge(now);
+        if (deadline <= now) {
+            remove(uuid);
+            return;
+        }
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        int index = indexOf(most, least);
+        if (index >= 0) {
+            deadlines[index] = deadline;
+            return;
+        }
+        if ((size + 1) * 4 > deadlines.length * 3) {
+            // Drop expired entries first, the table only grows if that doesn't free enough space
+            purge(now);
+            if ((size + 1) * 2 > deadlines.length) rehash(deadlines.length * 2);
+        }
+        insert(most, least, deadline);
+    }
+
+    /**
+     * Removes a cooldown.
+     *
+     * @param uuid The owner of the cooldown
+     */
+    public void remove(UUID uuid) {
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index >= 0) removeAt(index);
+    }
+
+    /**
+     * Removes every expired cooldown.
+     *
+     * @param now The current time from {@link #currentTime()}
+     */
+    public void purge(long now) {
+        nextPurge = now + PURGE_INTERVAL;
+        long[] oldMostBits = mostBits;
+        long[] oldLeastBits = leastBits;
+        long[] oldDeadlines = deadlines;
+        int live = 0;
+        for (long deadline : oldDeadlines) {
+            if (deadline > now) live++;
+        }
+        if (live == size) return;
+        int capacity = 16;
+        while (capacity < live * 2) capacity <<= 1;
+        allocate(capacity);
+        for (int i = 0; i < oldDeadlines.length; i++) {
+            if (oldDeadlines[i] > now) insert(oldMostBits[i], oldLeastBits[i], oldDeadlines[i]);
+        }
+    }
+
+    /**
+     * Gets the amount of cooldowns in this table, including expired ones which haven't been removed yet.
+     *
+     * @return The amount of cooldowns
+     */
+    public int size() {
+        return size;
+    }
+
+    private void allocate(int capacity) {
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        deadlines = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMostBits = mostBits;
+        long[] oldLeastBits = leastBits;
+        long[] oldDeadlines = deadlines;
+        allocate(capacity);
+        for (int i = 0; i < oldDeadlines.length; i++) {
+            if (oldDeadlines[i] != 0) insert(oldMostBits[i], oldLeastBits[i], oldDeadlines[i]);
+        }
+    }
+
+    private void insert(long most, long least, long deadline) {
+        int index = hash(most, least) & mask;
+        while (deadlines[index] != 0) index = (index + 1) & mask;
+        mostBits[index] = most;
+        leastBits[index] = least;
+        deadlines[index] = deadline;
+        size++;
+    }
+
+    private int indexOf(long most, long least) {
+        int index = hash(most, least) & mask;
+        while (deadlines[index] != 0) {
+            if (mostBits[index] == most && leastBits[index] == least) return index;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the entry at an index and shifts the following entries of the same probe sequence back, so no tombstones are needed.
+     */
+    private void removeAt(int index) {
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (deadlines[next] != 0) {
+            int home = hash(mostBits[next], leastBits[next]) & mask;
+            // Move the entry into the gap unless its home slot lies cyclically between the gap and its position
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                mostBits[gap] = mostBits[next];
+                leastBits[gap] = leastBits[next];
+                deadlines[gap] = deadlines[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        deadlines[gap] = 0;
+        size--;
+    }
+
+    private static int hash(long most, long least) {
+        long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,40 @@
+package com.iridium.iridiumenchants.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long each phase of a longer task takes, e.g. enabling the plugin.
+ */
+public class PhaseTimer {
+
+    private final String name;
+    private final long start = System.nanoTime();
+    private final List<String> phases = new ArrayList<>();
+    private long phaseStart = start;
+
+    public PhaseTimer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Ends the current phase.
+     *
+     * @param phase The name of the phase which just ended
+     */
+    public void phase(String phase) {
+        long now = System.nanoTime();
+        phases.add(phase + ": " + TimeUnit.NANOSECONDS.toMillis(now - phaseStart) + "ms");
+        phaseStart = now;
+    }
+
+    /**
+     * Gets the total time and the time of every phase.
+     *
+     * @return A single line summary
+     */
+    public String getSummary() {
+        return name + " took " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms (" + String.join(", ", phases) + ")";
+    }
+}
@@ -1,17 +1,49 @@
 package com.iridium.iridiumenchants.utils;
 
+import com.iridium.iridiumcore.utils.Placeholder;
+
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 
 public class TimeUtils {
 
     public static String formatDuration(String format, Duration duration) {
-        long hours = duration.toHours();
-        long minutes = duration.toMinutes() % 60;
-        long seconds = duration.getSeconds() % 60;
+        return formatCountdown(format, duration.toMillis());
+    }
+
+    /**
+     * Formats the remaining time of a countdown, replacing %days%, %hours%, %minutes% and %seconds%.
+     * If the format has no %days%, the days are counted as hours instead.
+     *
+     * @param format          The format
+     * @param remainingMillis The remaining time in milliseconds, negative values count as zero
+     * @return The formatted countdown
+     */
+    public static String formatCountdown(String format, long remainingMillis) {
+        String formatted = format;
+        for (Placeholder placeholder : getCountdownPlaceholders(remainingMillis, format.contains("%days%"))) {
+            formatted = placeholder.process(formatted);
+        }
+        return formatted;
+    }
 
-        return format.replace("%hours%", String.valueOf(hours))
-            .replace("%minutes%", String.valueOf(minutes))
-            .replace("%seconds%", String.valueOf(seconds));
+    /**
+     * Gets the %days%, %hours%, %minutes% and %seconds% placeholders of a countdown.
+     *
+     * @param remainingMillis The remaining time in milliseconds, negative values count as zero
+     * @param withDays        false if the days should be counted as hours
+     * @return The placeholders
+     */
+    public static List<Placeholder> getCountdownPlaceholders(long remainingMillis, boolean withDays) {
+        long totalSeconds = Math.max(remainingMillis, 0) / 1000;
+        long hours = totalSeconds / 3600;
+        return Arrays.asList(
+                new Placeholder("days", String.valueOf(withDays ? hours / 24 : 0)),
+                new Placeholder("hours", String.valueOf(withDays ? hours % 24 : hours)),
+                new Placeholder("minutes", String.valueOf(totalSeconds / 60 % 60)),
+                new Placeholder("seconds", String.valueOf(totalSeconds % 60))
+        );
     }
 
 }
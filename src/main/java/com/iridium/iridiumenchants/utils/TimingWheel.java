@@ -0,0 +1,185 @@
+package com.iridium.iridiumenchants.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel of tick timers.
+ * Every level has 64 slots, and each slot of a level covers a whole revolution of the level below it.
+ * A timer is linked into the lowest level which reaches its deadline, and moves down a level whenever the wheel reaches
+ * its slot, so scheduling and cancelling are O(1) and advancing only visits the timers which are due or moving down.
+ * Delays are capped at {@link #MAX_DELAY} ticks.
+ * Not thread safe.
+ *
+ * @param <T> The type of the values held by the timers
+ */
+public class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+    public static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+    private final Timer<T>[] slots;
+    private final List<T> due = new ArrayList<>();
+    private long tick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel() {
+        this.slots = new Timer[SLOTS * LEVELS];
+    }
+
+    /**
+     * Schedules a timer.
+     *
+     * @param value The value which expires
+     * @param delay The delay in ticks, at least 1
+     * @return The timer, which can be cancelled or rescheduled
+     */
+    public Timer<T> schedule(T value, long delay) {
+        Timer<T> timer = new Timer<>(value);
+        link(timer, tick + clamp(delay));
+        return timer;
+    }
+
+    /**
+     * Moves a timer to a new deadline, which also schedules it again if it already expired.
+     *
+     * @param timer The timer
+     * @param delay The new delay in ticks from now, at least 1
+     */
+    public void reschedule(Timer<T> timer, long delay) {
+        if (timer.scheduled) unlink(timer);
+        link(timer, tick + clamp(delay));
+    }
+
+    /**
+     * Cancels a timer, does nothing if it already expired.
+     *
+     * @param timer The timer
+     */
+    public void cancel(Timer<T> timer) {
+        if (timer.scheduled) unlink(timer);
+    }
+
+    /**
+     * Advances the wheel by one tick.
+     *
+     * @param expired Receives the values of every timer which expired
+     */
+    public void advance(Consumer<T> expired) {
+        tick++;
+        // The higher levels move their timers down whenever the levels below them complete a revolution
+        for (int level = 1; level < LEVELS && (tick & ((1L << (BITS * level)) - 1)) == 0; level++) {
+            cascade(level * SLOTS + (int) ((tick >>> (BITS * level)) & MASK));
+        }
+        // Due timers are unlinked before any of them expires, so the callback may schedule and cancel freely
+        Timer<T> timer = slots[(int) (tick & MASK)];
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            if (timer.deadline <= tick) {
+                unlink(timer);
+                due.add(timer.value);
+            }
+            timer = next;
+        }
+        try {
+            for (int i = 0; i < due.size(); i++) {
+                expired.accept(due.get(i));
+            }
+        } finally {
+            // A callback which throws drops the rest of this tick, instead of running it again on every later tick
+            due.clear();
+        }
+    }
+
+    /**
+     * Gets the current tick of the wheel.
+     *
+     * @return The amount of ticks advanced so far
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the amount of scheduled timers.
+     *
+     * @return The amount of timers
+     */
+    public int size() {
+        return size;
+    }
+
+    private static long clamp(long delay) {
+        return Math.min(Math.max(delay, 1), MAX_DELAY);
+    }
+
+    private void cascade(int slot) {
+        Timer<T> timer = slots[slot];
+        slots[slot] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            size--;
+            link(timer, timer.deadline);
+            timer = next;
+        }
+    }
+
+    private void link(Timer<T> timer, long deadline) {
+        long delta = deadline - tick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) level++;
+        int slot = level * SLOTS + (int) ((deadline >>> (BITS * level)) & MASK);
+        timer.deadline = deadline;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = slots[slot];
+        if (timer.next != null) timer.next.prev = timer;
+        slots[slot] = timer;
+        timer.scheduled = true;
+        size++;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.slot] = timer.next;
+        }
+        if (timer.next != null) timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+        timer.scheduled = false;
+        size--;
+    }
+
+    /**
+     * A scheduled value.
+     *
+     * @param <T> The type of the value
+     */
+    public static class Timer<T> {
+        private final T value;
+        private long deadline;
+        private int slot;
+        private boolean scheduled;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(T value) {
+            this.value = value;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isScheduled() {
+            return scheduled;
+        }
+    }
+}
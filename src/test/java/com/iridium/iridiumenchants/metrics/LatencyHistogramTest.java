@@ -0,0 +1,82 @@
+package com.iridium.iridiumenchants.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void keepsSmallDurationsExact() {
+        for (int nanos = 0; nanos < 16; nanos++) {
+            int bucket = LatencyHistogram.getBucket(nanos);
+            assertEquals(nanos, bucket);
+            assertEquals(nanos, LatencyHistogram.getUpperBound(bucket));
+        }
+    }
+
+    @Test
+    void splitsEveryPowerOfTwoIntoEightBuckets() {
+        assertEquals(LatencyHistogram.getBucket(16), LatencyHistogram.getBucket(17));
+        assertNotEquals(LatencyHistogram.getBucket(17), LatencyHistogram.getBucket(18));
+        assertEquals(LatencyHistogram.getBucket(1024), LatencyHistogram.getBucket(1024 + 127));
+        assertEquals(LatencyHistogram.getBucket(1024) + 1, LatencyHistogram.getBucket(1024 + 128));
+        assertEquals(LatencyHistogram.getBucket(2047) + 1, LatencyHistogram.getBucket(2048));
+    }
+
+    @Test
+    void boundsEveryDurationWithinAnEighth() {
+        int previous = -1;
+        for (long nanos = 1; nanos < 1L << 41; nanos += Math.max(nanos / 61, 1)) {
+            int bucket = LatencyHistogram.getBucket(nanos);
+            assertTrue(bucket >= previous, "buckets are monotonic at " + nanos);
+            previous = bucket;
+            long upper = LatencyHistogram.getUpperBound(bucket);
+            long lower = bucket == 0 ? 0 : LatencyHistogram.getUpperBound(bucket - 1) + 1;
+            assertTrue(lower <= nanos && nanos <= upper, nanos + " outside of " + lower + ".." + upper);
+            assertTrue(upper - nanos <= nanos / 8, "error at " + nanos);
+        }
+    }
+
+    @Test
+    void clampsHugeDurationsIntoTheLastBucket() {
+        int last = LatencyHistogram.getBucket((1L << 41) - 1);
+        assertEquals((1L << 41) - 1, LatencyHistogram.getUpperBound(last));
+        assertEquals(last, LatencyHistogram.getBucket(1L << 41));
+        assertEquals(last, LatencyHistogram.getBucket(Long.MAX_VALUE));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        long hour = TimeUnit.HOURS.toNanos(1);
+        histogram.record(hour);
+        // The last bucket has no upper bound, so it reports the maximum
+        assertEquals(hour, histogram.getPercentile(50));
+    }
+
+    @Test
+    void reportsPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        histogram.record(-5);
+        assertEquals(1001, histogram.getCount());
+        assertEquals(500500000L, histogram.getTotal());
+        assertEquals(1000000, histogram.getMax());
+        assertWithin(500000, histogram.getPercentile(50));
+        assertWithin(990000, histogram.getPercentile(99));
+        assertEquals(1000000, histogram.getPercentile(100));
+        assertEquals(0, histogram.getPercentile(0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 8, actual + " is not within an eighth above " + expected);
+    }
+}
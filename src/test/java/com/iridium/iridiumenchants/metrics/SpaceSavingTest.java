@@ -0,0 +1,117 @@
+package com.iridium.iridiumenchants.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsExactlyBelowCapacity() {
+        SpaceSaving<String> sketch = new SpaceSaving<>(4);
+        sketch.add("a", 5);
+        sketch.add("b", 9);
+        sketch.add("a", 7);
+        sketch.add("c", 0);
+        sketch.add("c", -3);
+        List<SpaceSaving.Estimate<String>> top = sketch.getTop(10);
+        assertEquals(2, top.size());
+        assertEstimate(top.get(0), "a", 12, 0);
+        assertEstimate(top.get(1), "b", 9, 0);
+        assertEquals(21, sketch.getTotal());
+    }
+
+    @Test
+    void evictsTheSmallestCounter() {
+        SpaceSaving<String> sketch = new SpaceSaving<>(3);
+        sketch.add("a", 10);
+        sketch.add("b", 5);
+        sketch.add("c", 1);
+        // The new key takes over the smallest counter and inherits its weight as error
+        sketch.add("d", 2);
+        List<SpaceSaving.Estimate<String>> top = sketch.getTop(3);
+        assertEstimate(top.get(0), "a", 10, 0);
+        assertEstimate(top.get(1), "b", 5, 0);
+        assertEstimate(top.get(2), "d", 3, 1);
+        // Now d is the smallest counter, growing b keeps the heap order intact
+        sketch.add("b", 20);
+        sketch.add("e", 1);
+        top = sketch.getTop(3);
+        assertEstimate(top.get(0), "b", 25, 0);
+        assertEstimate(top.get(1), "a", 10, 0);
+        assertEstimate(top.get(2), "e", 4, 3);
+    }
+
+    @Test
+    void boundsTheErrorOfEveryEstimate() {
+        int capacity = 32;
+        SpaceSaving<Integer> sketch = new SpaceSaving<>(capacity);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 200000; i++) {
+            // A few heavy keys in a long tail of light ones
+            int key = random.nextInt(10) < 3 ? random.nextInt(5) : 5 + random.nextInt(5000);
+            long weight = 1 + random.nextInt(100);
+            sketch.add(key, weight);
+            exact.merge(key, weight, Long::sum);
+        }
+        long total = sketch.getTotal();
+        assertEquals(exact.values().stream().mapToLong(Long::longValue).sum(), total);
+        List<SpaceSaving.Estimate<Integer>> top = sketch.getTop(capacity);
+        assertEquals(capacity, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            SpaceSaving.Estimate<Integer> estimate = top.get(i);
+            long weight = exact.get(estimate.getKey());
+            assertTrue(estimate.getWeight() >= weight, "underestimated " + estimate.getKey());
+            assertTrue(estimate.getWeight() - estimate.getError() <= weight, "error too small for " + estimate.getKey());
+            assertTrue(estimate.getError() <= total / capacity, "error above total / capacity for " + estimate.getKey());
+            if (i > 0) assertTrue(top.get(i - 1).getWeight() >= estimate.getWeight());
+        }
+        // Every key heavier than total / capacity has to be kept
+        exact.forEach((key, weight) -> {
+            if (weight > total / capacity) {
+                assertTrue(top.stream().anyMatch(estimate -> estimate.getKey().equals(key)), "lost heavy key " + key);
+            }
+        });
+    }
+
+    @Test
+    void combinesTwoSketches() {
+        SpaceSaving<String> first = new SpaceSaving<>(2);
+        SpaceSaving<String> second = new SpaceSaving<>(2);
+        first.add("a", 10);
+        first.add("b", 4);
+        second.add("a", 3);
+        second.add("c", 6);
+        List<SpaceSaving.Estimate<String>> top = SpaceSaving.getTop(first, second, 10);
+        assertEstimate(top.get(0), "a", 13, 0);
+        // Keys missing from a full sketch may have had up to its smallest counter there
+        assertEstimate(top.get(1), "c", 10, 4);
+        assertEstimate(top.get(2), "b", 7, 3);
+        assertEquals(2, SpaceSaving.getTop(first, second, 2).size());
+    }
+
+    @Test
+    void clearsEverything() {
+        SpaceSaving<String> sketch = new SpaceSaving<>(2);
+        sketch.add("a", 1);
+        sketch.add("b", 2);
+        sketch.add("c", 3);
+        sketch.clear();
+        assertEquals(0, sketch.getTotal());
+        assertTrue(sketch.getTop(5).isEmpty());
+        sketch.add("a", 1);
+        assertEstimate(sketch.getTop(5).get(0), "a", 1, 0);
+    }
+
+    private static void assertEstimate(SpaceSaving.Estimate<String> estimate, String key, long weight, long error) {
+        assertEquals(key, estimate.getKey());
+        assertEquals(weight, estimate.getWeight());
+        assertEquals(error, estimate.getError());
+    }
+}
@@ -0,0 +1,81 @@
+package com.iridium.iridiumenchants.registry;
+
+import com.iridium.iridiumenchants.CustomEnchant;
+import com.iridium.iridiumenchants.Type;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private static SearchIndex searchIndex;
+
+    @BeforeAll
+    static void buildIndex() {
+        Map<String, CustomEnchant> customEnchants = new HashMap<>();
+        customEnchants.put("Haste", enchant("&eHaste", Type.TOOL, "Gives you haste while mining"));
+        customEnchants.put("Lifesteal", enchant("&cLife Steal", Type.SWORD, "Heals you when you hit"));
+        customEnchants.put("Frost", enchant("&bFrost", Type.BOOTS, "Walk on water, it freezes under you"));
+        customEnchants.put("Glowing", enchant("&eGlowing", Type.HELMET, "Gives you night vision"));
+        customEnchants.put("hasteTwo", enchant("&eHaste II", Type.TOOL, "Even more haste"));
+        customEnchants.put("Blank", null);
+        searchIndex = new SearchIndex(customEnchants);
+    }
+
+    @Test
+    void ranksKeyMatchesFirst() {
+        assertEquals(Arrays.asList("Haste", "hasteTwo"), searchIndex.search("haste", 10));
+        assertEquals(Collections.singletonList("Lifesteal"), searchIndex.search("life steal", 10));
+        // Equal scores keep the order of the keys
+        assertEquals(Arrays.asList("Frost", "Glowing", "Haste", "Lifesteal"), searchIndex.search("you", 10));
+    }
+
+    @Test
+    void searchesNamesTypesAndDescriptions() {
+        assertEquals(Collections.singletonList("Frost"), searchIndex.search("freezes", 10));
+        assertEquals(Collections.singletonList("Glowing"), searchIndex.search("HELMET", 10));
+        assertEquals(Collections.singletonList("Lifesteal"), searchIndex.search("&cLife", 10));
+        assertTrue(searchIndex.search("quantum", 10).isEmpty());
+        // Every trigram is there, but not next to each other
+        assertTrue(searchIndex.search("hasmin", 10).isEmpty());
+    }
+
+    @Test
+    void matchesShortQueriesAnywhere() {
+        // "ow" only appears inside of words, which a prefix index wouldn't find
+        assertEquals(Collections.singletonList("Glowing"), searchIndex.search("ow", 10));
+        assertTrue(searchIndex.search("e", 10).containsAll(Arrays.asList("Haste", "Lifesteal", "Frost", "Glowing", "hasteTwo")));
+        assertEquals(Arrays.asList("Haste", "hasteTwo"), searchIndex.search("ha", 2));
+    }
+
+    @Test
+    void listsEveryKeyForAnEmptyQuery() {
+        assertEquals(Arrays.asList("Blank", "Frost", "Glowing", "Haste", "Lifesteal", "hasteTwo"), searchIndex.search(" ", 10));
+        assertEquals(2, searchIndex.search("", 2).size());
+    }
+
+    @Test
+    void completesKeysByPrefix() {
+        assertEquals(Arrays.asList("Haste", "hasteTwo"), searchIndex.complete("HA", 10));
+        assertEquals(Collections.singletonList("Haste"), searchIndex.complete("ha", 1));
+        assertEquals(Collections.singletonList("Lifesteal"), searchIndex.complete("l", 10));
+        // Completion only looks at the keys, not the names and descriptions
+        assertTrue(searchIndex.complete("steal", 10).isEmpty());
+        assertTrue(searchIndex.complete("z", 10).isEmpty());
+        assertEquals(6, searchIndex.complete("", 10).size());
+    }
+
+    private static CustomEnchant enchant(String displayName, Type type, String description) {
+        CustomEnchant customEnchant = new CustomEnchant();
+        customEnchant.displayName = displayName;
+        customEnchant.type = type;
+        customEnchant.description = description;
+        return customEnchant;
+    }
+}
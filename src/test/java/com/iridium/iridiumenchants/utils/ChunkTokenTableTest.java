@@ -0,0 +1,88 @@
+package com.iridium.iridiumenchants.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkTokenTableTest {
+
+    private static final long NOW = 1000;
+    private static final double RATE = 10;
+    private static final double BURST = 5;
+
+    @Test
+    void keepsNegativeCoordinatesApart() {
+        Set<Long> keys = new HashSet<>();
+        for (int x = -2; x <= 2; x++) {
+            for (int z = -2; z <= 2; z++) {
+                assertTrue(keys.add(ChunkTokenTable.getKey(x, z)), x + " " + z);
+            }
+        }
+        assertNotEquals(ChunkTokenTable.getKey(Integer.MIN_VALUE, -1), ChunkTokenTable.getKey(-1, Integer.MIN_VALUE));
+    }
+
+    @Test
+    void refillsAtTheRateUpToTheBurst() {
+        ChunkTokenTable table = new ChunkTokenTable();
+        long key = ChunkTokenTable.getKey(3, -7);
+        for (int i = 0; i < BURST; i++) {
+            assertTrue(table.tryAcquire(key, 1, RATE, BURST, NOW));
+        }
+        assertFalse(table.tryAcquire(key, 1, RATE, BURST, NOW));
+        // 10 tokens per second is one every 100 milliseconds
+        assertFalse(table.tryAcquire(key, 1, RATE, BURST, NOW + 99));
+        assertTrue(table.tryAcquire(key, 1, RATE, BURST, NOW + 100));
+        assertEquals(BURST, table.getAvailable(key, RATE, BURST, NOW + 100000));
+        // A cost above the burst is denied without creating a bucket
+        assertFalse(table.tryAcquire(ChunkTokenTable.getKey(0, 0), BURST + 1, RATE, BURST, NOW));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void peeksWithoutCharging() {
+        ChunkTokenTable table = new ChunkTokenTable();
+        long key = ChunkTokenTable.getKey(1, 1);
+        assertEquals(BURST, table.getAvailable(key, RATE, BURST, NOW));
+        assertEquals(0, table.size());
+        assertTrue(table.tryAcquire(key, 2, RATE, BURST, NOW));
+        assertEquals(BURST - 2, table.getAvailable(key, RATE, BURST, NOW));
+        assertEquals(BURST - 2, table.getAvailable(key, RATE, BURST, NOW));
+        assertEquals(BURST - 1.5, table.getAvailable(key, RATE, BURST, NOW + 50), 1e-9);
+    }
+
+    @Test
+    void purgesOnlyFullBuckets() {
+        ChunkTokenTable table = new ChunkTokenTable();
+        for (int x = 0; x < 100; x++) {
+            // Even chunks are drained, odd ones only lose a single token
+            table.tryAcquire(ChunkTokenTable.getKey(x, 0), x % 2 == 0 ? BURST : 1, RATE, BURST, NOW);
+        }
+        assertEquals(100, table.size());
+        // After 100 milliseconds only the odd chunks have refilled
+        table.purge(RATE, BURST, NOW + 100);
+        assertEquals(50, table.size());
+        for (int x = 0; x < 100; x++) {
+            double expected = x % 2 == 0 ? 1 : BURST;
+            assertEquals(expected, table.getAvailable(ChunkTokenTable.getKey(x, 0), RATE, BURST, NOW + 100), 1e-9, "chunk " + x);
+        }
+    }
+
+    @Test
+    void growsWithoutLosingBalances() {
+        ChunkTokenTable table = new ChunkTokenTable();
+        for (int x = -50; x < 50; x++) {
+            for (int z = -50; z < 50; z++) {
+                assertTrue(table.tryAcquire(ChunkTokenTable.getKey(x, z), 1 + Math.floorMod(x + z, 4), RATE, BURST, NOW));
+            }
+        }
+        assertEquals(10000, table.size());
+        for (int x = -50; x < 50; x++) {
+            for (int z = -50; z < 50; z++) {
+                assertEquals(BURST - 1 - Math.floorMod(x + z, 4), table.getAvailable(ChunkTokenTable.getKey(x, z), RATE, BURST, NOW));
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.iridium.iridiumenchants.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooldownTableTest {
+
+    private static final long NOW = 1000;
+
+    @Test
+    void findsCollidingEntriesAfterRemovals() {
+        CooldownTable table = new CooldownTable();
+        // The hash only depends on most ^ least, so all of these share a home slot
+        List<UUID> uuids = colliding(0x1234L, 10);
+        for (int i = 0; i < uuids.size(); i++) {
+            table.put(uuids.get(i), NOW + 100 + i, NOW);
+        }
+        assertEquals(10, table.size());
+        table.remove(uuids.get(0));
+        table.remove(uuids.get(4));
+        table.remove(uuids.get(9));
+        assertEquals(7, table.size());
+        for (int i = 0; i < uuids.size(); i++) {
+            long expected = i == 0 || i == 4 || i == 9 ? 0 : NOW + 100 + i;
+            assertEquals(expected, table.getDeadline(uuids.get(i)), "entry " + i);
+        }
+    }
+
+    @Test
+    void wrapsProbeSequencesAroundTheEnd() {
+        CooldownTable table = new CooldownTable();
+        // Home slot 15 of the initial 16 slots, so the collisions continue at slot 0
+        long xor = 0;
+        while ((hash(xor) & 15) != 15) xor++;
+        List<UUID> uuids = colliding(xor, 6);
+        UUID other = new UUID(0, 0);
+        for (int i = 0; i < uuids.size(); i++) {
+            table.put(uuids.get(i), NOW + 10 + i, NOW);
+        }
+        table.put(other, NOW + 50, NOW);
+        table.remove(uuids.get(0));
+        table.remove(uuids.get(2));
+        for (int i = 0; i < uuids.size(); i++) {
+            assertEquals(i == 0 || i == 2 ? 0 : NOW + 10 + i, table.getDeadline(uuids.get(i)), "entry " + i);
+        }
+        assertEquals(NOW + 50, table.getDeadline(other));
+        assertEquals(5, table.size());
+    }
+
+    @Test
+    void growsWithoutLosingEntries() {
+        CooldownTable table = new CooldownTable();
+        Random random = new Random(7);
+        Map<UUID, Long> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            UUID uuid = i % 10 == 0 ? new UUID(i, i ^ 0x42L) : new UUID(random.nextLong(), random.nextLong());
+            long deadline = NOW + 1 + random.nextInt(100000);
+            table.put(uuid, deadline, NOW);
+            expected.put(uuid, deadline);
+        }
+        assertEquals(expected.size(), table.size());
+        expected.forEach((uuid, deadline) -> assertEquals((long) deadline, table.getDeadline(uuid)));
+        List<UUID> keys = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < keys.size(); i += 2) {
+            table.remove(keys.get(i));
+            expected.remove(keys.get(i));
+        }
+        assertEquals(expected.size(), table.size());
+        for (UUID uuid : keys) {
+            assertEquals(expected.getOrDefault(uuid, 0L), table.getDeadline(uuid));
+        }
+    }
+
+    @Test
+    void replacesAndExpiresCooldowns() {
+        CooldownTable table = new CooldownTable();
+        UUID uuid = UUID.randomUUID();
+        table.put(uuid, NOW + 100, NOW);
+        table.put(uuid, NOW + 200, NOW);
+        assertEquals(1, table.size());
+        assertEquals(150, table.getRemaining(uuid, NOW + 50));
+        // A deadline which already passed removes the cooldown
+        table.put(uuid, NOW, NOW);
+        assertEquals(0, table.size());
+
+        table.put(uuid, NOW + 100, NOW);
+        assertEquals(0, table.getRemaining(uuid, NOW + 100));
+        assertEquals(0, table.size());
+
+        List<UUID> uuids = colliding(99L, 8);
+        for (int i = 0; i < uuids.size(); i++) {
+            table.put(uuids.get(i), NOW + (i % 2 == 0 ? 10 : 1000), NOW);
+        }
+        table.purge(NOW + 500);
+        assertEquals(4, table.size());
+        for (int i = 0; i < uuids.size(); i++) {
+            assertEquals(i % 2 == 0 ? 0 : NOW + 1000, table.getDeadline(uuids.get(i)));
+        }
+    }
+
+    @Test
+    void matchesAMapUnderRandomOperations() {
+        CooldownTable table = new CooldownTable();
+        Random random = new Random(13);
+        // A small key space with many collisions, so entries are moved back on almost every removal
+        List<UUID> uuids = colliding(5L, 40);
+        for (int i = 0; i < 40; i++) uuids.add(new UUID(random.nextLong(), random.nextLong()));
+        Map<UUID, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            UUID uuid = uuids.get(random.nextInt(uuids.size()));
+            if (random.nextInt(3) == 0) {
+                table.remove(uuid);
+                expected.remove(uuid);
+            } else {
+                long deadline = NOW + 1 + random.nextInt(1000);
+                table.put(uuid, deadline, NOW);
+                expected.put(uuid, deadline);
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        for (UUID uuid : uuids) {
+            assertEquals(expected.getOrDefault(uuid, 0L), table.getDeadline(uuid));
+        }
+    }
+
+    private static List<UUID> colliding(long xor, int count) {
+        List<UUID> uuids = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            uuids.add(new UUID(i, i ^ xor));
+        }
+        return uuids;
+    }
+
+    // The same hash as the table, to find keys with a given home slot
+    private static int hash(long xor) {
+        long hash = xor * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
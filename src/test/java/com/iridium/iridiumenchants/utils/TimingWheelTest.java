@@ -0,0 +1,152 @@
+package com.iridium.iridiumenchants.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void expiresExactlyAtLevelBoundaries() {
+        long[] delays = {1, 2, 63, 64, 65, 4095, 4096, 4097, 262143, 262144, 262145};
+        // Starting off a boundary moves the deadlines into other slots of every level
+        for (long offset : new long[]{0, 1, 37, 4000}) {
+            TimingWheel<Long> wheel = new TimingWheel<>();
+            advance(wheel, offset, new ArrayList<>());
+            for (long delay : delays) {
+                wheel.schedule(delay, delay);
+            }
+            Map<Long, Long> expiredAt = new HashMap<>();
+            for (long i = 0; i < 262145; i++) {
+                wheel.advance(delay -> assertNull(expiredAt.put(delay, wheel.getTick())));
+            }
+            for (long delay : delays) {
+                assertEquals(offset + delay, expiredAt.get(delay), "delay " + delay + " from tick " + offset);
+            }
+            assertEquals(0, wheel.size());
+        }
+    }
+
+    @Test
+    void clampsToMaxDelay() {
+        TimingWheel<String> wheel = new TimingWheel<>();
+        wheel.schedule("max", TimingWheel.MAX_DELAY);
+        wheel.schedule("over", TimingWheel.MAX_DELAY + 1000);
+        wheel.schedule("zero", 0);
+        List<String> expired = new ArrayList<>();
+        wheel.advance(expired::add);
+        assertEquals(Collections.singletonList("zero"), expired);
+        expired.clear();
+        advance(wheel, TimingWheel.MAX_DELAY - 2, expired);
+        assertTrue(expired.isEmpty());
+        assertEquals(2, wheel.size());
+        wheel.advance(expired::add);
+        assertEquals(TimingWheel.MAX_DELAY, wheel.getTick());
+        assertEquals(2, expired.size());
+        assertTrue(expired.contains("max") && expired.contains("over"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelsAndReschedules() {
+        TimingWheel<String> wheel = new TimingWheel<>();
+        TimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", 5000);
+        TimingWheel.Timer<String> moved = wheel.schedule("moved", 10);
+        wheel.cancel(cancelled);
+        wheel.reschedule(moved, 4100);
+        assertFalse(cancelled.isScheduled());
+        assertEquals(1, wheel.size());
+        List<String> expired = new ArrayList<>();
+        advance(wheel, 4099, expired);
+        assertTrue(expired.isEmpty());
+        wheel.advance(expired::add);
+        assertEquals(Collections.singletonList("moved"), expired);
+        advance(wheel, 5000, expired);
+        assertEquals(Collections.singletonList("moved"), expired);
+        // An expired timer can be scheduled again
+        wheel.reschedule(moved, 3);
+        assertTrue(moved.isScheduled());
+        advance(wheel, 3, expired);
+        assertEquals(2, expired.size());
+    }
+
+    @Test
+    void callbacksMayScheduleCancelAndReschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>();
+        Map<String, TimingWheel.Timer<String>> timers = new HashMap<>();
+        timers.put("repeat", wheel.schedule("repeat", 64));
+        timers.put("later", wheel.schedule("later", 5000));
+        timers.put("sooner", wheel.schedule("sooner", 5000));
+        List<String> expired = new ArrayList<>();
+        List<Long> ticks = new ArrayList<>();
+        int[] repeats = {0};
+        for (int i = 0; i < 6000; i++) {
+            wheel.advance(value -> {
+                expired.add(value);
+                ticks.add(wheel.getTick());
+                if (value.equals("repeat") && ++repeats[0] < 3) {
+                    wheel.reschedule(timers.get("repeat"), 64);
+                    if (repeats[0] == 1) {
+                        wheel.cancel(timers.get("later"));
+                        wheel.reschedule(timers.get("sooner"), 10);
+                        // Scheduled during the tick, so it expires on the next one and not right away
+                        timers.put("next", wheel.schedule("next", 1));
+                    }
+                }
+            });
+        }
+        assertEquals(Arrays.asList("repeat", "next", "sooner", "repeat", "repeat"), expired);
+        assertEquals(Arrays.asList(64L, 65L, 74L, 128L, 192L), ticks);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void keepsSizeAcrossCascades() {
+        TimingWheel<Integer> wheel = new TimingWheel<>();
+        Random random = new Random(42);
+        List<TimingWheel.Timer<Integer>> timers = new ArrayList<>();
+        int[] deadlines = new int[20000];
+        int scheduled = 0;
+        for (int i = 0; i < deadlines.length; i++) {
+            int delay = 1 + random.nextInt(i % 2 == 0 ? 300000 : 5000);
+            deadlines[i] = delay;
+            timers.add(wheel.schedule(i, delay));
+            scheduled++;
+        }
+        // Some timers move between levels before they cascade down
+        for (int i = 0; i < deadlines.length; i += 7) {
+            int delay = 1 + random.nextInt(300000);
+            wheel.reschedule(timers.get(i), delay);
+            deadlines[i] = delay;
+        }
+        for (int i = 3; i < deadlines.length; i += 11) {
+            wheel.cancel(timers.get(i));
+            deadlines[i] = -1;
+            scheduled--;
+        }
+        assertEquals(scheduled, wheel.size());
+        int[] remaining = {scheduled};
+        for (int i = 0; i < 300001; i++) {
+            wheel.advance(value -> {
+                assertEquals(deadlines[value], wheel.getTick());
+                remaining[0]--;
+            });
+            assertEquals(remaining[0], wheel.size());
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    private static <T> void advance(TimingWheel<T> wheel, long ticks, List<T> expired) {
+        for (long i = 0; i < ticks; i++) {
+            wheel.advance(expired::add);
+        }
+    }
+}